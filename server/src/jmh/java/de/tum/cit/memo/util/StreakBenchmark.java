@@ -0,0 +1,94 @@
+package de.tum.cit.memo.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous streak computation, which walked every day of the window
+ * through a {@code LinkedHashMap<LocalDate, Integer>}, with {@link ActivityCalendar}.
+ * Both start from the same date-ordered rows the stats query returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreakBenchmark {
+
+    /** Share of days in the window with at least one vote. */
+    @Param({"0.1", "0.5", "0.9"})
+    private double activity;
+
+    /** Window length; 366 is the stats page, longer ones model multi-year history. */
+    @Param({"366", "1827"})
+    private int days;
+
+    private LocalDate today;
+    private LocalDate since;
+    private List<LocalDate> activeDays;
+
+    @Setup
+    public void setUp() {
+        today = LocalDate.of(2026, 6, 30);
+        since = today.minusDays(days - 1L);
+        Random random = new Random(42);
+        activeDays = new ArrayList<>();
+        for (LocalDate d = since; !d.isAfter(today); d = d.plusDays(1)) {
+            if (random.nextDouble() < activity) {
+                activeDays.add(d);
+            }
+        }
+    }
+
+    @Benchmark
+    public void linkedHashMap(Blackhole blackhole) {
+        Map<LocalDate, Integer> countMap = new LinkedHashMap<>();
+        for (LocalDate day : activeDays) {
+            countMap.put(day, 1);
+        }
+
+        LocalDate checkDate = countMap.containsKey(today) ? today : today.minusDays(1);
+        int currentStreak = 0;
+        while (countMap.containsKey(checkDate) && countMap.get(checkDate) > 0) {
+            currentStreak++;
+            checkDate = checkDate.minusDays(1);
+        }
+
+        int longest = 0;
+        int current = 0;
+        for (LocalDate d = since; !d.isAfter(today); d = d.plusDays(1)) {
+            if (countMap.containsKey(d) && countMap.get(d) > 0) {
+                current++;
+                longest = Math.max(longest, current);
+            } else {
+                current = 0;
+            }
+        }
+
+        blackhole.consume(currentStreak);
+        blackhole.consume(longest);
+    }
+
+    @Benchmark
+    public void activityCalendar(Blackhole blackhole) {
+        ActivityCalendar calendar = new ActivityCalendar(since, today);
+        for (LocalDate day : activeDays) {
+            calendar.markActive(day);
+        }
+        blackhole.consume(calendar.currentStreak(today));
+        blackhole.consume(calendar.longestStreak(since, today));
+    }
+}
@@ -1,5 +1,6 @@
 package de.tum.cit.memo.config;
 
+import java.time.Duration;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,4 +22,166 @@ public class MemoProperties {
      * before being deleted by the cleanup scheduler.
      */
     private long consentTtlDays = 7;
+
+    private Scheduling scheduling = new Scheduling();
+
+    private Imports imports = new Imports();
+
+    private RoleCache roleCache = new RoleCache();
+
+    private JwtCache jwtCache = new JwtCache();
+
+    private ChangeFeed changeFeed = new ChangeFeed();
+
+    @Getter
+    @Setter
+    public static class ChangeFeed {
+
+        /**
+         * How long relationship change log entries are kept. Consumers that fall
+         * further behind must reload all relationships.
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        /** How often entries past the retention period are deleted. */
+        private Duration pruneInterval = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class JwtCache {
+
+        /** Verified bearer tokens remembered per instance. */
+        private long maximumSize = 10_000;
+
+        /** How often the issuer's JWKS is fetched to notice rotated signing keys. */
+        private Duration jwksCheckInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class RoleCache {
+
+        /** Users whose role or absence is cached per instance. */
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a cached role is trusted. Changes made through the API are
+         * propagated at once; this only bounds changes made around it.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Imports {
+
+        /** Import jobs processed at the same time. */
+        private int workers = 1;
+
+        /** Uploaded imports that may wait for a worker; further uploads are rejected. */
+        private int queueCapacity = 8;
+
+        /** Rows inserted and committed per transaction. */
+        private int chunkSize = 1000;
+
+        /** How long a finished job's status stays available. */
+        private Duration retention = Duration.ofHours(24);
+    }
+
+    @Getter
+    @Setter
+    public static class Scheduling {
+
+        /**
+         * How often the in-memory competency graph index is rebuilt from the
+         * database to pick up changes made by other instances.
+         */
+        private Duration graphIndexRefreshInterval = Duration.ofMinutes(5);
+
+        /**
+         * How often the in-memory consensus candidate index is rebuilt from the
+         * database to pick up votes recorded by other instances.
+         */
+        private Duration consensusIndexRefreshInterval = Duration.ofMinutes(1);
+
+        /**
+         * How often the in-memory contributor leaderboard is rebuilt from the
+         * database to pick up votes recorded by other instances.
+         */
+        private Duration leaderboardRefreshInterval = Duration.ofMinutes(10);
+
+        /**
+         * How often the in-memory near-duplicate index over competency texts is
+         * rebuilt from the database to pick up changes made by other instances.
+         */
+        private Duration duplicateIndexRefreshInterval = Duration.ofMinutes(30);
+
+        private TaskQueue taskQueue = new TaskQueue();
+
+        private WriteBehind writeBehind = new WriteBehind();
+
+        private Skips skips = new Skips();
+    }
+
+    @Getter
+    @Setter
+    public static class Skips {
+
+        /** How long a skipped task stays hidden from the user who skipped it. */
+        private Duration ttl = Duration.ofHours(12);
+
+        /** Skips remembered per user; the oldest are forgotten first. */
+        private int maxPerUser = 500;
+
+        /**
+         * Store skips in Postgres and read them from there on every lookup, so they
+         * survive restarts and are seen by other instances at once. Otherwise they
+         * only live in memory.
+         */
+        private boolean persist = false;
+
+        /** How often expired persisted skips are deleted. */
+        private Duration cleanupInterval = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class WriteBehind {
+
+        /**
+         * Buffer vote counter and degree deltas in memory and flush them in grouped
+         * updates, instead of updating the hot rows on every vote.
+         */
+        private boolean enabled = false;
+
+        /** How often buffered deltas are written to the database. */
+        private Duration flushInterval = Duration.ofMillis(250);
+    }
+
+    @Getter
+    @Setter
+    public static class TaskQueue {
+
+        /**
+         * Serve tasks from the shared Postgres queue instead of computing them per
+         * request. Needed when several instances schedule against one database.
+         */
+        private boolean enabled = false;
+
+        /** How long a dequeued task stays reserved for the user it was handed to. */
+        private Duration leaseTtl = Duration.ofMinutes(2);
+
+        /** The producer refills once fewer than this many tasks are available. */
+        private int lowWatermark = 200;
+
+        /** How often the producer checks whether the queue needs refilling. */
+        private Duration refillInterval = Duration.ofSeconds(5);
+
+        /** Maximum number of tasks enqueued per refill round. */
+        private int refillBatchSize = 500;
+
+        /** Unleased tasks older than this are dropped so stale pairs get recomputed. */
+        private Duration staleAfter = Duration.ofMinutes(30);
+    }
 }
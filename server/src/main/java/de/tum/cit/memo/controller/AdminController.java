@@ -2,27 +2,41 @@ package de.tum.cit.memo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.tum.cit.memo.dto.CompetencyImportRow;
+import de.tum.cit.memo.dto.DuplicateCluster;
+import de.tum.cit.memo.dto.ImportJobResponse;
 import de.tum.cit.memo.dto.ImportResult;
+import de.tum.cit.memo.dto.MergeCompetenciesRequest;
+import de.tum.cit.memo.dto.MergeResult;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.enums.ExportCompression;
+import de.tum.cit.memo.service.CompetencyImportJobs;
+import de.tum.cit.memo.service.CompetencyImportReader;
+import de.tum.cit.memo.service.CompetencyMergeService;
 import de.tum.cit.memo.service.CompetencyService;
+import de.tum.cit.memo.service.ContributorStatsService;
+import de.tum.cit.memo.service.GraphExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.io.InputStream;
 import java.util.List;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVRecord;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -32,7 +46,14 @@ import org.springframework.web.multipart.MultipartFile;
 @SuppressWarnings("null")
 public class AdminController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
     private final CompetencyService competencyService;
+    private final CompetencyImportJobs importJobs;
+    private final CompetencyMergeService mergeService;
+    private final ContributorStatsService contributorStatsService;
+    private final GraphExportService graphExportService;
     private final ObjectMapper objectMapper;
 
     @PostMapping("/competencies/import")
@@ -44,52 +65,92 @@ public class AdminController {
     }
 
     @PostMapping(value = "/competencies/import/file", consumes = "multipart/form-data")
-    @Operation(summary = "Bulk import competencies from uploaded CSV or JSON file")
-    public ResponseEntity<ImportResult> importFile(
+    @Operation(summary = "Start a background import of competencies from an uploaded CSV or JSON file",
+        description = "Returns the queued job; poll /api/admin/competencies/import/jobs/{id} for progress.")
+    public ResponseEntity<ImportJobResponse> importFile(
         @RequestParam("file") MultipartFile file
     ) throws IOException {
         String originalFilename = file.getOriginalFilename();
-        List<CompetencyImportRow> rows;
-        if (originalFilename != null && originalFilename.endsWith(".csv")) {
-            rows = parseCsv(file);
-        } else {
-            rows = parseJson(file);
+        boolean csv = originalFilename != null && originalFilename.endsWith(".csv");
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.accepted().body(importJobs.submit(in, csv));
         }
-        return ResponseEntity.ok(competencyService.bulkImportCompetencies(rows));
     }
 
-    private List<CompetencyImportRow> parseCsv(MultipartFile file) throws IOException {
-        List<CompetencyImportRow> rows = new ArrayList<>();
-        CSVFormat format = CSVFormat.DEFAULT.builder()
-            .setHeader()
-            .setSkipHeaderRecord(true)
-            .setTrim(true)
+    @GetMapping("/competencies/import/jobs/{id}")
+    @Operation(summary = "Get the progress of a background competency import")
+    public ResponseEntity<ImportJobResponse> getImportJob(@PathVariable String id) {
+        return ResponseEntity.ok(importJobs.getStatus(id));
+    }
+
+    @PostMapping(value = "/competencies/import/stream", consumes = {"text/csv", "application/json"})
+    @Operation(summary = "Bulk import competencies from a raw CSV or JSON request body",
+        description = "Reads the body as it arrives instead of buffering an upload, for catalogs with hundreds of thousands of rows. "
+            + "The format follows the Content-Type.")
+    public ResponseEntity<ImportResult> importRawStream(
+        HttpServletRequest request
+    ) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV);
+        return ResponseEntity.ok(importStream(request.getInputStream(), csv));
+    }
+
+    @GetMapping("/competencies/title-collisions")
+    @Operation(summary = "List competencies whose title duplicates an older one",
+        description = "These predate case-insensitive title dedup and have no dedup key until they are merged, renamed or deleted.")
+    public ResponseEntity<List<Competency>> getTitleCollisions() {
+        return ResponseEntity.ok(competencyService.getTitleCollisions());
+    }
+
+    @GetMapping("/competencies/duplicates")
+    @Operation(summary = "List clusters of near-duplicate competencies",
+        description = "Groups competencies whose title and description share most of their character shingles, largest cluster first. "
+            + "Similarity is an estimated Jaccard index between 0 and 1.")
+    public ResponseEntity<List<DuplicateCluster>> getDuplicateClusters(
+        @RequestParam(defaultValue = "0.5") double minSimilarity,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(competencyService.getDuplicateClusters(minSimilarity, limit));
+    }
+
+    @PostMapping("/competencies/merge")
+    @Operation(summary = "Merge a duplicate competency into another one",
+        description = "Moves the duplicate's relationships, votes and resource links to the survivor and deletes the duplicate. "
+            + "Votes on a pair both competencies share are combined; relationships between the two are dropped.")
+    public ResponseEntity<MergeResult> mergeCompetencies(
+        @Valid @RequestBody MergeCompetenciesRequest request
+    ) {
+        return ResponseEntity.ok(mergeService.merge(request));
+    }
+
+    @PostMapping("/stats/daily-counts/rebuild")
+    @Operation(summary = "Rebuild the daily vote rollup from the vote log",
+        description = "Returns the number of user-day rows written. Only needed to repair drift; the rollup is maintained on every vote.")
+    public ResponseEntity<Integer> rebuildDailyCounts() {
+        return ResponseEntity.ok(contributorStatsService.rebuildDailyCounts());
+    }
+
+    @GetMapping("/graph/export")
+    @Operation(summary = "Download the whole competency graph in a compact binary adjacency format",
+        description = "Competencies get dense ids in id order; relationships are laid out as compressed sparse rows "
+            + "with delta-encoded destinations and varint vote counts. See GraphExportService for the byte layout.")
+    public ResponseEntity<StreamingResponseBody> exportGraph(
+        @RequestParam(defaultValue = "GZIP") ExportCompression compression
+    ) {
+        boolean gzip = compression == ExportCompression.GZIP;
+        ContentDisposition disposition = ContentDisposition.attachment()
+            .filename(gzip ? "memo-graph.csr.gz" : "memo-graph.csr")
             .build();
-        try (var reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
-             var parser = format.parse(reader)) {
-            for (CSVRecord record : parser) {
-            String title;
-            if (record.size() > 0) {
-                title = record.get(0);
-            } else {
-                title = "";
-            }
-            String description;
-            if (record.size() > 1) {
-                description = record.get(1);
-            } else {
-                description = null;
-            }
-                rows.add(new CompetencyImportRow(title, description));
-            }
-        }
-        return rows;
+        return ResponseEntity.ok()
+            .contentType(gzip ? APPLICATION_GZIP : MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+            .body(out -> graphExportService.export(out, compression));
     }
 
-    private List<CompetencyImportRow> parseJson(MultipartFile file) throws IOException {
-        return objectMapper.readValue(
-            file.getInputStream(),
-            objectMapper.getTypeFactory().constructCollectionType(List.class, CompetencyImportRow.class)
-        );
+    private ImportResult importStream(InputStream in, boolean csv) throws IOException {
+        try (CompetencyImportReader rows = csv
+            ? CompetencyImportReader.csv(in)
+            : CompetencyImportReader.json(in, objectMapper)) {
+            return competencyService.importCompetencies(rows);
+        }
     }
 }
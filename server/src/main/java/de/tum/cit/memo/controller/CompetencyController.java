@@ -1,14 +1,17 @@
 package de.tum.cit.memo.controller;
 
 import de.tum.cit.memo.dto.CreateCompetencyRequest;
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.dto.UpdateCompetencyRequest;
 import de.tum.cit.memo.entity.Competency;
 import de.tum.cit.memo.service.CompetencyService;
+import de.tum.cit.memo.service.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +33,7 @@ import java.util.List;
 public class CompetencyController {
 
     private final CompetencyService competencyService;
+    private final NdjsonExporter ndjsonExporter;
 
     @PostMapping
     @Operation(summary = "Create a new competency")
@@ -45,10 +50,22 @@ public class CompetencyController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all competencies")
-    public ResponseEntity<List<Competency>> getAllCompetencies() {
-        List<Competency> competencies = competencyService.getAllCompetencies();
-        return ResponseEntity.ok(competencies);
+    @Operation(summary = "List competencies page by page, ordered by ID",
+        description = "Pass nextCursor from the previous page as after; it is null on the last page. "
+            + "limit is capped at " + CursorPage.MAX_LIMIT + ".")
+    public ResponseEntity<CursorPage<Competency>> getCompetencyPage(
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(competencyService.getCompetencyPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all competencies as newline-delimited JSON, ordered by ID")
+    public ResponseEntity<StreamingResponseBody> streamCompetencies() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(competencyService::streamCompetencies));
     }
 
     @GetMapping("/random")
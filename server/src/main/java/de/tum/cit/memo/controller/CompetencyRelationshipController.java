@@ -1,18 +1,23 @@
 package de.tum.cit.memo.controller;
 
+import de.tum.cit.memo.dto.ChangeFeedPage;
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.entity.CompetencyRelationship;
 import de.tum.cit.memo.service.CompetencyRelationshipService;
+import de.tum.cit.memo.service.NdjsonExporter;
+import de.tum.cit.memo.service.RelationshipChangeFeed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * CRUD endpoints for competency relationships (voting happens via
@@ -25,6 +30,8 @@ import java.util.List;
 public class CompetencyRelationshipController {
 
     private final CompetencyRelationshipService relationshipService;
+    private final NdjsonExporter ndjsonExporter;
+    private final RelationshipChangeFeed changeFeed;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get competency relationship by ID")
@@ -34,10 +41,34 @@ public class CompetencyRelationshipController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all competency relationships")
-    public ResponseEntity<List<CompetencyRelationship>> getAllRelationships() {
-        List<CompetencyRelationship> relationships = relationshipService.getAllRelationships();
-        return ResponseEntity.ok(relationships);
+    @Operation(summary = "List competency relationships page by page, ordered by ID",
+        description = "Pass nextCursor from the previous page as after; it is null on the last page. "
+            + "limit is capped at " + CursorPage.MAX_LIMIT + ".")
+    public ResponseEntity<CursorPage<CompetencyRelationship>> getRelationshipPage(
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(relationshipService.getRelationshipPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all competency relationships as newline-delimited JSON, ordered by ID")
+    public ResponseEntity<StreamingResponseBody> streamRelationships() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(relationshipService::streamRelationships));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "List competency relationships changed since a cursor, with their current state",
+        description = "Pass cursor from the previous page as since; it is also returned when nothing changed. "
+            + "Without since, the feed starts at the oldest retained change. limit is capped at "
+            + CursorPage.MAX_LIMIT + " log entries.")
+    public ResponseEntity<ChangeFeedPage> getChanges(
+        @RequestParam(required = false) String since,
+        @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(changeFeed.getChanges(since, limit));
     }
 
     @DeleteMapping("/{id}")
@@ -1,13 +1,16 @@
 package de.tum.cit.memo.controller;
 
 import de.tum.cit.memo.dto.CreateCompetencyResourceLinkRequest;
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.entity.CompetencyResourceLink;
 import de.tum.cit.memo.service.CompetencyResourceLinkService;
+import de.tum.cit.memo.service.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +18,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/competency-resource-links")
@@ -26,6 +29,7 @@ import java.util.List;
 public class CompetencyResourceLinkController {
 
     private final CompetencyResourceLinkService linkService;
+    private final NdjsonExporter ndjsonExporter;
 
     @PostMapping
     @Operation(summary = "Create a new competency-resource link")
@@ -42,10 +46,22 @@ public class CompetencyResourceLinkController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all competency-resource links")
-    public ResponseEntity<List<CompetencyResourceLink>> getAllLinks() {
-        List<CompetencyResourceLink> links = linkService.getAllLinks();
-        return ResponseEntity.ok(links);
+    @Operation(summary = "List competency-resource links page by page, ordered by ID",
+        description = "Pass nextCursor from the previous page as after; it is null on the last page. "
+            + "limit is capped at " + CursorPage.MAX_LIMIT + ".")
+    public ResponseEntity<CursorPage<CompetencyResourceLink>> getLinkPage(
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(linkService.getLinkPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all competency-resource links as newline-delimited JSON, ordered by ID")
+    public ResponseEntity<StreamingResponseBody> streamLinks() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(linkService::streamLinks));
     }
 
     @DeleteMapping("/{id}")
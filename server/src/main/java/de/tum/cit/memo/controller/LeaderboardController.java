@@ -0,0 +1,42 @@
+package de.tum.cit.memo.controller;
+
+import de.tum.cit.memo.dto.LeaderboardEntry;
+import de.tum.cit.memo.dto.LeaderboardResponse;
+import de.tum.cit.memo.enums.LeaderboardPeriod;
+import de.tum.cit.memo.service.ContributorLeaderboard;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+@Tag(name = "Leaderboard", description = "Contributor rankings by vote count")
+public class LeaderboardController {
+
+    private final ContributorLeaderboard leaderboard;
+
+    @GetMapping
+    @Operation(summary = "Get the top contributors", description = "Returns up to limit (1-100) contributors ranked by votes in the period (ALL_TIME, LAST_7_DAYS or LAST_30_DAYS, in UTC days). Equal vote counts share a rank.")
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboard.top(period, limit));
+    }
+
+    @GetMapping("/me")
+    @Operation(summary = "Get the current user's rank", description = "Returns the user's rank and vote count in the period. Returns 204 if they have no votes in it.")
+    public ResponseEntity<LeaderboardEntry> getOwnRank(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period) {
+        return leaderboard.rank(userId, period)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
+    }
+}
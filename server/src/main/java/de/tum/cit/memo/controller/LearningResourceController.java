@@ -1,14 +1,17 @@
 package de.tum.cit.memo.controller;
 
 import de.tum.cit.memo.dto.CreateLearningResourceRequest;
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.dto.UpdateLearningResourceRequest;
 import de.tum.cit.memo.entity.LearningResource;
 import de.tum.cit.memo.service.LearningResourceService;
+import de.tum.cit.memo.service.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -30,6 +34,7 @@ import java.util.List;
 public class LearningResourceController {
 
     private final LearningResourceService learningResourceService;
+    private final NdjsonExporter ndjsonExporter;
 
     @PostMapping
     @Operation(summary = "Create a new learning resource")
@@ -54,10 +59,22 @@ public class LearningResourceController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all learning resources")
-    public ResponseEntity<List<LearningResource>> getAllLearningResources() {
-        List<LearningResource> resources = learningResourceService.getAllLearningResources();
-        return ResponseEntity.ok(resources);
+    @Operation(summary = "List learning resources page by page, ordered by ID",
+        description = "Pass nextCursor from the previous page as after; it is null on the last page. "
+            + "limit is capped at " + CursorPage.MAX_LIMIT + ".")
+    public ResponseEntity<CursorPage<LearningResource>> getLearningResourcePage(
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(learningResourceService.getLearningResourcePage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all learning resources as newline-delimited JSON, ordered by ID")
+    public ResponseEntity<StreamingResponseBody> streamLearningResources() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(learningResourceService::streamLearningResources));
     }
 
     @GetMapping("/random")
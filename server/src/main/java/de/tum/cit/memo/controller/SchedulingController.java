@@ -1,6 +1,8 @@
 package de.tum.cit.memo.controller;
 
+import de.tum.cit.memo.dto.BatchVoteRequest;
 import de.tum.cit.memo.dto.RelationshipTaskResponse;
+import de.tum.cit.memo.dto.SkipRequest;
 import de.tum.cit.memo.dto.VoteRequest;
 import de.tum.cit.memo.dto.VoteResponse;
 import de.tum.cit.memo.service.SchedulingService;
@@ -16,8 +18,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/scheduling")
 @RequiredArgsConstructor
@@ -27,7 +32,7 @@ public class SchedulingController {
     private final SchedulingService schedulingService;
 
     @GetMapping("/next-relationship")
-    @Operation(summary = "Get next relationship to vote on", description = "Returns a competency pair for the user to map. Uses coverage (70%) and consensus (30%) pipelines. Returns 204 if no tasks remain.")
+    @Operation(summary = "Get next relationship to vote on", description = "Returns a competency pair for the user to map. Uses coverage (70%) and consensus (30%) pipelines. Pairs recorded via POST /skip are excluded; skippedIds is still accepted but no longer needed. Returns 204 if no tasks remain.")
     public ResponseEntity<RelationshipTaskResponse> getNextRelationship(
             @RequestHeader("X-User-Id") String userId,
             @org.springframework.web.bind.annotation.RequestParam(required = false) java.util.List<String> skippedIds) {
@@ -36,6 +41,28 @@ public class SchedulingController {
                 .orElse(ResponseEntity.noContent().build());
     }
 
+    @GetMapping("/next-relationships")
+    @Operation(summary = "Prefetch several relationships to vote on", description = "Returns up to count (1-50) distinct competency pairs computed in one scheduling pass, so clients can flip through cards without a round-trip each. Returns 204 if no tasks remain.")
+    public ResponseEntity<List<RelationshipTaskResponse>> getNextRelationships(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(defaultValue = "10") int count,
+            @RequestParam(required = false) List<String> skippedIds) {
+        List<RelationshipTaskResponse> tasks = schedulingService.getNextTasks(userId, skippedIds, count);
+        if (tasks.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(tasks);
+    }
+
+    @PostMapping("/skip")
+    @Operation(summary = "Skip a relationship", description = "Records that the user skipped a task. The pair is left out of their next tasks until the skip expires, without the client resending it.")
+    public ResponseEntity<Void> skip(
+            @RequestHeader("X-User-Id") String userId,
+            @Valid @RequestBody SkipRequest request) {
+        schedulingService.skip(userId, request);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/vote")
     @Operation(summary = "Submit a vote on a relationship", description = "Records the user's vote on a competency relationship. Accepts either a relationshipId or originId+destinationId pair (for swapped direction). MATCHES and UNRELATED votes are bidirectional.")
     public ResponseEntity<VoteResponse> submitVote(
@@ -45,6 +72,14 @@ public class SchedulingController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/vote/batch")
+    @Operation(summary = "Submit several votes at once", description = "Applies a queued burst of votes in one transaction. Returns one result per vote, in request order; duplicates report the current counts and unresolvable votes report success=false.")
+    public ResponseEntity<List<VoteResponse>> submitVotes(
+            @RequestHeader("X-User-Id") String userId,
+            @Valid @RequestBody BatchVoteRequest request) {
+        return ResponseEntity.ok(schedulingService.submitVotes(userId, request.getVotes()));
+    }
+
     @DeleteMapping("/vote/{relationshipId}")
     @Operation(summary = "Undo a vote on a relationship", description = "Removes the current user's vote from a relationship. Decrements vote counters and deletes the relationship if no votes remain.")
     public ResponseEntity<Void> unvote(
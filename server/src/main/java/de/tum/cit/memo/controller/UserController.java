@@ -1,14 +1,17 @@
 package de.tum.cit.memo.controller;
 
 import de.tum.cit.memo.dto.CreateUserRequest;
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.dto.UpdateUserRequest;
 import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.service.NdjsonExporter;
 import de.tum.cit.memo.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -21,8 +24,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/users")
@@ -32,6 +34,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final NdjsonExporter ndjsonExporter;
 
     @PostMapping
     @Operation(summary = "Create a new user")
@@ -56,10 +59,22 @@ public class UserController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @Operation(summary = "List users page by page, ordered by ID",
+        description = "Pass nextCursor from the previous page as after; it is null on the last page. "
+            + "limit is capped at " + CursorPage.MAX_LIMIT + ".")
+    public ResponseEntity<CursorPage<User>> getUserPage(
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(userService.getUserPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all users as newline-delimited JSON, ordered by ID")
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(ndjsonExporter.export(userService::streamUsers));
     }
 
     @PutMapping("/{id}")
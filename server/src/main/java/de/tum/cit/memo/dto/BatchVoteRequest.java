@@ -0,0 +1,22 @@
+package de.tum.cit.memo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchVoteRequest {
+
+    @NotEmpty(message = "At least one vote is required")
+    @Size(max = 200, message = "At most 200 votes can be submitted at once")
+    private List<@Valid VoteRequest> votes;
+}
@@ -0,0 +1,32 @@
+package de.tum.cit.memo.dto;
+
+/**
+ * Position in the relationship change log: the writing transaction's 64-bit id,
+ * then the entry id. Entries are ordered by both, so a position from a later
+ * committed transaction never sorts before one that was still running.
+ */
+public record ChangeCursor(long txId, long id) {
+
+    public static final ChangeCursor ORIGIN = new ChangeCursor(0, 0);
+
+    public boolean isBefore(ChangeCursor other) {
+        return txId != other.txId ? txId < other.txId : id < other.id;
+    }
+
+    /** Parses {@link #format()}; null if the text is not a cursor. */
+    public static ChangeCursor parse(String text) {
+        int dot = text.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            return new ChangeCursor(Long.parseLong(text.substring(0, dot)), Long.parseLong(text.substring(dot + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String format() {
+        return txId + "." + id;
+    }
+}
@@ -0,0 +1,12 @@
+package de.tum.cit.memo.dto;
+
+import java.util.List;
+
+/**
+ * One page of the relationship change feed. Unlike {@link CursorPage}, the cursor
+ * is always set: pass it as {@code since} to continue, including after the last
+ * page, to receive changes made later.
+ *
+ * @param hasMore whether further changes are ready right away
+ */
+public record ChangeFeedPage(List<RelationshipChange> changes, String cursor, boolean hasMore) { }
@@ -0,0 +1,35 @@
+package de.tum.cit.memo.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing ordered by id. Pass {@code nextCursor} as {@code after}
+ * to get the following page; it is null on the last page. Since the cursor is
+ * the last id seen rather than an offset, each page is an index range scan and
+ * rows inserted or deleted meanwhile do not shift later pages.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String DEFAULT_LIMIT = "100";
+    public static final int MAX_LIMIT = 1000;
+
+    /** The id to continue after; the empty string sorts before every id. */
+    public static String start(String after) {
+        return after == null ? "" : after;
+    }
+
+    /** Clamps a requested page size to [1, {@value #MAX_LIMIT}]. */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /** Builds a page from up to {@code limit + 1} rows; the extra row only signals that more follow. */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), idOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,19 @@
+package de.tum.cit.memo.dto;
+
+import de.tum.cit.memo.entity.Competency;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCluster {
+
+    /** Competencies that are probably the same; candidates for merging into one. */
+    private List<Competency> competencies;
+}
@@ -0,0 +1,31 @@
+package de.tum.cit.memo.dto;
+
+import de.tum.cit.memo.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private String id;
+    private ImportJobStatus status;
+    private int rowsProcessed;
+    private int imported;
+    private int skipped;
+    private int invalid;
+    private List<String> errors;
+    private List<PossibleDuplicate> possibleDuplicates;
+    /** Why the job stopped; rows committed before the failure stay imported. */
+    private String failureReason;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
@@ -2,4 +2,9 @@ package de.tum.cit.memo.dto;
 
 import java.util.List;
 
-public record ImportResult(int imported, int skipped, List<String> errors) { }
+/**
+ * @param possibleDuplicates imported competencies that look like an existing one;
+ *                           they are imported anyway and can be merged later
+ */
+public record ImportResult(int imported, int skipped, List<String> errors,
+                           List<PossibleDuplicate> possibleDuplicates) { }
@@ -0,0 +1,18 @@
+package de.tum.cit.memo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+
+    /** One-based; contributors with equal vote counts share a rank. */
+    private int rank;
+    private String userId;
+    private long votes;
+}
@@ -0,0 +1,20 @@
+package de.tum.cit.memo.dto;
+
+import de.tum.cit.memo.enums.LeaderboardPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardResponse {
+
+    private LeaderboardPeriod period;
+    private int totalContributors;
+    private List<LeaderboardEntry> entries;
+}
@@ -0,0 +1,23 @@
+package de.tum.cit.memo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MergeCompetenciesRequest {
+
+    @NotBlank(message = "Survivor ID is required")
+    @Schema(description = "Competency that is kept and receives everything attached to the duplicate")
+    private String survivorId;
+
+    @NotBlank(message = "Duplicate ID is required")
+    @Schema(description = "Competency that is merged away and deleted")
+    private String duplicateId;
+}
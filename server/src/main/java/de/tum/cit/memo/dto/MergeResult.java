@@ -0,0 +1,15 @@
+package de.tum.cit.memo.dto;
+
+/**
+ * Outcome of merging a duplicate competency into a survivor.
+ *
+ * @param relationshipsMoved    duplicate's relationships re-pointed to the survivor
+ * @param relationshipsCombined duplicate's relationships folded into the survivor's relationship on the same pair
+ * @param relationshipsDropped  relationships between the duplicate and the survivor, which would become self-loops
+ * @param votesMoved            votes moved onto the survivor's relationships
+ * @param votesDropped          votes on dropped relationships, or by users who had already voted on the survivor's pair
+ * @param resourceLinksMoved    resource links re-pointed to the survivor
+ */
+public record MergeResult(String survivorId, int relationshipsMoved, int relationshipsCombined,
+                          int relationshipsDropped, int votesMoved, int votesDropped,
+                          int resourceLinksMoved) { }
@@ -0,0 +1,8 @@
+package de.tum.cit.memo.dto;
+
+/**
+ * An imported title whose text closely resembles an existing competency.
+ *
+ * @param similarity estimated Jaccard similarity of the texts' shingles, in [0, 1]
+ */
+public record PossibleDuplicate(String title, String similarToId, String similarToTitle, double similarity) { }
@@ -0,0 +1,12 @@
+package de.tum.cit.memo.dto;
+
+import de.tum.cit.memo.entity.CompetencyRelationship;
+
+/**
+ * A relationship that changed since the requested cursor, with its current
+ * state. Several changes to one relationship within a page are reported once.
+ *
+ * @param deleted      whether the relationship no longer exists
+ * @param relationship the current row; null if deleted
+ */
+public record RelationshipChange(String relationshipId, boolean deleted, CompetencyRelationship relationship) { }
@@ -0,0 +1,38 @@
+package de.tum.cit.memo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkipRequest {
+
+    @Schema(description = "Skipped relationship ID, if the task had one")
+    @Size(max = 30)
+    private String relationshipId;
+
+    @Schema(description = "Origin competency ID of the skipped pair")
+    @Size(max = 30)
+    private String originId;
+
+    @Schema(description = "Destination competency ID of the skipped pair")
+    @Size(max = 30)
+    private String destinationId;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either relationshipId or both originId and destinationId must be provided")
+    private boolean isIdentifiable() {
+        boolean hasRelationshipId = relationshipId != null && !relationshipId.isBlank();
+        boolean hasOriginAndDestination = originId != null && !originId.isBlank()
+                && destinationId != null && !destinationId.isBlank();
+        return hasRelationshipId || hasOriginAndDestination;
+    }
+}
@@ -1,5 +1,6 @@
 package de.tum.cit.memo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -29,6 +30,14 @@ public class Competency {
     @Column(nullable = false)
     private String title;
 
+    /**
+     * Unique dedup key, see {@link de.tum.cit.memo.util.TitleNormalizer}. NULL only
+     * for pre-existing duplicates that still have to be merged or renamed.
+     */
+    @JsonIgnore
+    @Column(columnDefinition = "TEXT")
+    private String normalizedTitle;
+
     @Column(columnDefinition = "TEXT")
     private String description;
 
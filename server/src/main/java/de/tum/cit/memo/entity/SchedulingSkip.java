@@ -0,0 +1,41 @@
+package de.tum.cit.memo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A relationship or pair a user skipped, hidden from their tasks until
+ * {@code expiresAt}.
+ */
+@Entity
+@Table(name = "scheduling_skips")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulingSkip {
+
+    @Id
+    @Column(length = 30)
+    private String id;
+
+    @NotBlank
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    @NotBlank
+    @Column(name = "skip_key", nullable = false, length = 61)
+    private String skipKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
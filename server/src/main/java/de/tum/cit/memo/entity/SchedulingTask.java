@@ -0,0 +1,59 @@
+package de.tum.cit.memo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * A precomputed pair waiting in the shared scheduling queue.
+ * Leased to one user at a time until {@code leaseExpiresAt}.
+ */
+@Entity
+@Table(name = "scheduling_tasks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulingTask {
+
+    @Id
+    @Column(length = 30)
+    private String id;
+
+    @NotBlank
+    @Column(name = "origin_id", nullable = false, length = 30)
+    private String originId;
+
+    @NotBlank
+    @Column(name = "destination_id", nullable = false, length = 30)
+    private String destinationId;
+
+    @Column(name = "relationship_id", length = 30)
+    private String relationshipId;
+
+    @NotBlank
+    @Column(nullable = false, length = 20)
+    private String pipeline;
+
+    @Column(nullable = false)
+    private double priority;
+
+    @Column(name = "leased_by", length = 36)
+    private String leasedBy;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+}
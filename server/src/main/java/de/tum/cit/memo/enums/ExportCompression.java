@@ -0,0 +1,6 @@
+package de.tum.cit.memo.enums;
+
+public enum ExportCompression {
+    NONE,
+    GZIP
+}
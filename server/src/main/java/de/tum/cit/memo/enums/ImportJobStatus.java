@@ -0,0 +1,8 @@
+package de.tum.cit.memo.enums;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
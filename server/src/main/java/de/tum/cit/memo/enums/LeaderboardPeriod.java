@@ -0,0 +1,18 @@
+package de.tum.cit.memo.enums;
+
+public enum LeaderboardPeriod {
+    ALL_TIME(0),
+    LAST_7_DAYS(7),
+    LAST_30_DAYS(30);
+
+    /** Number of UTC days counted, including today; 0 for the whole history. */
+    private final int days;
+
+    LeaderboardPeriod(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,10 @@
+package de.tum.cit.memo.repository;
+
+/**
+ * Spring Data projection of a competency's id and current degree.
+ */
+public interface CompetencyDegree {
+    String getId();
+
+    int getDegree();
+}
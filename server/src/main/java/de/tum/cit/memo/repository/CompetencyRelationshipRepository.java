@@ -1,21 +1,32 @@
 package de.tum.cit.memo.repository;
 
 import de.tum.cit.memo.entity.CompetencyRelationship;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CompetencyRelationshipRepository extends JpaRepository<CompetencyRelationship, String> {
+public interface CompetencyRelationshipRepository extends JpaRepository<CompetencyRelationship, String>,
+    CompetencyRelationshipRepositoryCustom {
 
   Optional<CompetencyRelationship> findByOriginIdAndDestinationId(String originId, String destinationId);
 
   boolean existsByOriginIdAndDestinationId(String originId, String destinationId);
 
+  /** Superset lookup for a set of pairs; callers filter to the exact pairs they need. */
+  List<CompetencyRelationship> findByOriginIdInAndDestinationIdIn(Collection<String> originIds,
+      Collection<String> destinationIds);
+
   /** High-entropy relationships this user hasn't voted on yet. */
   @Query("""
       SELECT r FROM CompetencyRelationship r
@@ -36,6 +47,19 @@ public interface CompetencyRelationshipRepository extends JpaRepository<Competen
       @Param("skippedIds") List<String> skippedIds,
       org.springframework.data.domain.Pageable pageable);
 
+  /** High-entropy relationships in the consensus band, regardless of who voted. */
+  @Query("""
+      SELECT r FROM CompetencyRelationship r
+      WHERE r.totalVotes BETWEEN :minVotes AND :maxVotes
+        AND r.entropy > :minEntropy
+      ORDER BY r.entropy DESC
+      """)
+  List<CompetencyRelationship> findConsensusCandidates(
+      @Param("minVotes") int minVotes,
+      @Param("maxVotes") int maxVotes,
+      @Param("minEntropy") double minEntropy,
+      org.springframework.data.domain.Pageable pageable);
+
   /** All relationships where both endpoints are within the given ID pool. */
   @Query("SELECT r FROM CompetencyRelationship r WHERE r.originId IN :ids AND r.destinationId IN :ids")
   List<CompetencyRelationship> findIntraPoolRelationships(@Param("ids") List<String> ids);
@@ -52,4 +76,90 @@ public interface CompetencyRelationshipRepository extends JpaRepository<Competen
   List<CompetencyRelationship> findUnvotedByUserAndNotSkipped(@Param("userId") String userId,
       @Param("skippedIds") List<String> skippedIds,
       org.springframework.data.domain.Pageable pageable);
+
+  /** Keyset page of relationships after the given id, for scans filtered in memory. */
+  List<CompetencyRelationship> findByIdGreaterThanOrderByIdAsc(String afterId,
+      org.springframework.data.domain.Pageable pageable);
+
+  /** Keyset page of relationship ids and endpoints after the given id, without loading entities. */
+  @Query("""
+      SELECT r.id AS id, r.originId AS originId, r.destinationId AS destinationId
+      FROM CompetencyRelationship r
+      WHERE r.id > :afterId
+      ORDER BY r.id
+      """)
+  List<RelationshipEndpoints> findEndpointsAfter(@Param("afterId") String afterId,
+      org.springframework.data.domain.Pageable pageable);
+
+  /** Streams every directed endpoint pair; must be consumed inside a transaction. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT r.originId AS originId, r.destinationId AS destinationId FROM CompetencyRelationship r")
+  Stream<RelationshipPair> streamAllPairs();
+
+  /**
+   * Adds the given deltas to the vote counters (clamped at zero) and derives
+   * total_votes and entropy in the same statement. The row lock taken by the
+   * UPDATE serializes concurrent voters, so no increments are lost.
+   */
+  @Query(value = """
+      UPDATE competency_relationships
+      SET vote_assumes = GREATEST(vote_assumes + :assumesDelta, 0),
+          vote_extends = GREATEST(vote_extends + :extendsDelta, 0),
+          vote_matches = GREATEST(vote_matches + :matchesDelta, 0),
+          vote_unrelated = GREATEST(vote_unrelated + :unrelatedDelta, 0),
+          total_votes = GREATEST(vote_assumes + :assumesDelta, 0)
+              + GREATEST(vote_extends + :extendsDelta, 0)
+              + GREATEST(vote_matches + :matchesDelta, 0)
+              + GREATEST(vote_unrelated + :unrelatedDelta, 0),
+          entropy = relationship_entropy(
+              GREATEST(vote_assumes + :assumesDelta, 0),
+              GREATEST(vote_extends + :extendsDelta, 0),
+              GREATEST(vote_matches + :matchesDelta, 0),
+              GREATEST(vote_unrelated + :unrelatedDelta, 0)),
+          updated_at = CURRENT_TIMESTAMP
+      WHERE id = :id
+      RETURNING id, origin_id, destination_id, vote_assumes, vote_extends, vote_matches,
+                vote_unrelated, total_votes, entropy
+      """, nativeQuery = true)
+  Optional<RelationshipCounters> applyVoteDelta(@Param("id") String id,
+      @Param("assumesDelta") int assumesDelta,
+      @Param("extendsDelta") int extendsDelta,
+      @Param("matchesDelta") int matchesDelta,
+      @Param("unrelatedDelta") int unrelatedDelta);
+
+  /** Current counters read straight from the table, bypassing the persistence context. */
+  @Query(value = """
+      SELECT id, origin_id, destination_id, vote_assumes, vote_extends, vote_matches,
+             vote_unrelated, total_votes, entropy
+      FROM competency_relationships
+      WHERE id = :id
+      """, nativeQuery = true)
+  Optional<RelationshipCounters> findCountersById(@Param("id") String id);
+
+  /** Current counters of several relationships, read straight from the table. */
+  @Query(value = """
+      SELECT id, origin_id, destination_id, vote_assumes, vote_extends, vote_matches,
+             vote_unrelated, total_votes, entropy
+      FROM competency_relationships
+      WHERE id IN (:ids)
+      """, nativeQuery = true)
+  List<RelationshipCounters> findCountersByIdIn(@Param("ids") Collection<String> ids);
+
+  /**
+   * Deletes the relationship only if it has no votes left. Guards against a
+   * vote that was recorded after the counters were last read.
+   */
+  @Modifying
+  @Query(value = """
+      DELETE FROM competency_relationships r
+      WHERE r.id = :id
+        AND r.total_votes = 0
+        AND NOT EXISTS (SELECT 1 FROM competency_relationships_votes v WHERE v.relationship_id = r.id)
+      """, nativeQuery = true)
+  int deleteIfUnvoted(@Param("id") String id);
+
+  /** Streams all relationships in id order; must be consumed inside a transaction. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT r FROM CompetencyRelationship r ORDER BY r.id")
+  Stream<CompetencyRelationship> streamAllOrderedById();
 }
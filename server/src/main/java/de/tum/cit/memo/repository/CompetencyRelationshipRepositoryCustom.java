@@ -0,0 +1,43 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.dto.ChangeCursor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JDBC access to the graph that bypasses the persistence context: cursors over
+ * the whole graph for the binary export, and the trigger-written change log.
+ * Export rows are fetched in batches and handed over one at a time; both scans
+ * must run in the same transaction to see the same snapshot.
+ */
+public interface CompetencyRelationshipRepositoryCustom {
+
+    /**
+     * Every competency in id order with columns {@code id} and {@code out_degree}
+     * (relationships it is the origin of). Row {@code n} has dense id {@code n}.
+     */
+    void scanExportNodes(RowCallbackHandler handler);
+
+    /**
+     * Every relationship ordered by dense origin, then dense destination id, with
+     * columns {@code origin}, {@code destination}, {@code vote_assumes},
+     * {@code vote_extends}, {@code vote_matches}, {@code vote_unrelated} and
+     * {@code entropy}.
+     */
+    void scanExportEdges(RowCallbackHandler handler);
+
+    /**
+     * Up to {@code limit} change log entries after {@code after}, in log order.
+     * Only entries of transactions older than every running one are returned, so
+     * no entry can later appear before the last one returned.
+     */
+    List<RelationshipChangeEntry> findSettledChangesAfter(ChangeCursor after, int limit);
+
+    /** The last pruned position; cursors before it may have missed entries. */
+    ChangeCursor findChangeHorizon();
+
+    /** Deletes settled entries logged before {@code cutoff} and advances the horizon past them. */
+    int pruneChangesBefore(Instant cutoff);
+}
@@ -0,0 +1,109 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.dto.ChangeCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CompetencyRelationshipRepositoryCustomImpl implements CompetencyRelationshipRepositoryCustom {
+
+    /** Rows per round-trip; the driver only uses a cursor inside a transaction. */
+    private static final int EXPORT_FETCH_SIZE = 10_000;
+
+    private static final String EXPORT_NODES = """
+            SELECT c.id, COUNT(r.id)::INT AS out_degree
+            FROM competencies c
+            LEFT JOIN competency_relationships r ON r.origin_id = c.id
+            GROUP BY c.id
+            ORDER BY c.id
+            """;
+
+    /** Dense ids are computed in the database, so the server never holds an id map. */
+    private static final String EXPORT_EDGES = """
+            WITH dense AS (
+                SELECT id, (ROW_NUMBER() OVER (ORDER BY id) - 1)::INT AS n FROM competencies
+            )
+            SELECT o.n AS origin, d.n AS destination,
+                   r.vote_assumes, r.vote_extends, r.vote_matches, r.vote_unrelated, r.entropy
+            FROM competency_relationships r
+            JOIN dense o ON o.id = r.origin_id
+            JOIN dense d ON d.id = r.destination_id
+            ORDER BY o.n, d.n
+            """;
+
+    // xid8 has no JDBC type; it is exchanged as text
+    private static final String SETTLED_CHANGES = """
+            SELECT tx_id::TEXT AS tx_id, id, relationship_id, deleted
+            FROM relationship_changes
+            WHERE (tx_id, id) > (CAST(? AS XID8), ?)
+              AND tx_id < pg_snapshot_xmin(pg_current_snapshot())
+            ORDER BY tx_id, id
+            LIMIT ?
+            """;
+
+    private static final String CHANGE_HORIZON = """
+            SELECT tx_id::TEXT AS tx_id, id FROM relationship_changes_horizon
+            """;
+
+    /** Data-modifying CTEs always run; the horizon only moves forward. */
+    private static final String PRUNE_CHANGES = """
+            WITH pruned AS (
+                DELETE FROM relationship_changes
+                WHERE changed_at < ? AND tx_id < pg_snapshot_xmin(pg_current_snapshot())
+                RETURNING tx_id, id
+            ), advanced AS (
+                UPDATE relationship_changes_horizon h
+                SET tx_id = last.tx_id, id = last.id
+                FROM (SELECT tx_id, id FROM pruned ORDER BY tx_id DESC, id DESC LIMIT 1) last
+                WHERE (last.tx_id, last.id) > (h.tx_id, h.id)
+            )
+            SELECT COUNT(*)::INT FROM pruned
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void scanExportNodes(RowCallbackHandler handler) {
+        scan(EXPORT_NODES, handler);
+    }
+
+    @Override
+    public void scanExportEdges(RowCallbackHandler handler) {
+        scan(EXPORT_EDGES, handler);
+    }
+
+    @Override
+    public List<RelationshipChangeEntry> findSettledChangesAfter(ChangeCursor after, int limit) {
+        return jdbcTemplate.query(SETTLED_CHANGES, (rs, rowNum) -> new RelationshipChangeEntry(
+                        new ChangeCursor(Long.parseLong(rs.getString("tx_id")), rs.getLong("id")),
+                        rs.getString("relationship_id"),
+                        rs.getBoolean("deleted")),
+                Long.toString(after.txId()), after.id(), limit);
+    }
+
+    @Override
+    public ChangeCursor findChangeHorizon() {
+        return jdbcTemplate.queryForObject(CHANGE_HORIZON,
+                (rs, rowNum) -> new ChangeCursor(Long.parseLong(rs.getString("tx_id")), rs.getLong("id")));
+    }
+
+    @Override
+    public int pruneChangesBefore(Instant cutoff) {
+        Integer pruned = jdbcTemplate.queryForObject(PRUNE_CHANGES, Integer.class, Timestamp.from(cutoff));
+        return pruned == null ? 0 : pruned;
+    }
+
+    private void scan(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+}
@@ -1,22 +1,59 @@
 package de.tum.cit.memo.repository;
 
 import de.tum.cit.memo.entity.CompetencyRelationshipVote;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CompetencyRelationshipVoteRepository extends JpaRepository<CompetencyRelationshipVote, String> {
+public interface CompetencyRelationshipVoteRepository extends JpaRepository<CompetencyRelationshipVote, String>,
+        CompetencyRelationshipVoteRepositoryCustom {
 
     boolean existsByRelationshipIdAndUserId(String relationshipId, String userId);
 
     Optional<CompetencyRelationshipVote> findByRelationshipIdAndUserId(String relationshipId, String userId);
 
+    @Query("""
+            SELECT v.relationshipId FROM CompetencyRelationshipVote v
+            WHERE v.userId = :userId AND v.relationshipId IN :relationshipIds
+            """)
+    List<String> findVotedRelationshipIds(@Param("userId") String userId,
+            @Param("relationshipIds") Collection<String> relationshipIds);
+
+    long countByUserId(String userId);
+
+    /** Streams the IDs of everything the user voted on; must be consumed inside a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT v.relationshipId FROM CompetencyRelationshipVote v WHERE v.userId = :userId")
+    Stream<String> streamRelationshipIdsByUserId(@Param("userId") String userId);
+
+    @Query("SELECT v.userId FROM CompetencyRelationshipVote v WHERE v.relationshipId = :relationshipId")
+    List<String> findUserIdsByRelationshipId(@Param("relationshipId") String relationshipId);
+
+    /** Voters of every relationship in the consensus band, for rebuilding the candidate index. */
+    @Query("""
+            SELECT v.relationshipId AS relationshipId, v.userId AS userId
+            FROM CompetencyRelationshipVote v, CompetencyRelationship r
+            WHERE r.id = v.relationshipId
+              AND r.totalVotes BETWEEN :minVotes AND :maxVotes
+              AND r.entropy > :minEntropy
+            """)
+    List<RelationshipVoter> findVotersInConsensusBand(@Param("minVotes") int minVotes,
+            @Param("maxVotes") int maxVotes,
+            @Param("minEntropy") double minEntropy);
+
     @Query(value = """
             SELECT CAST(v.created_at AS DATE) AS vote_date,
                    COUNT(*) AS vote_count
@@ -33,4 +70,59 @@ public interface CompetencyRelationshipVoteRepository extends JpaRepository<Comp
             """, nativeQuery = true)
     List<DailyVoteCount> findDailyVoteCountsWithPreWindowTotal(@Param("userId") String userId,
             @Param("since") Instant since);
+
+    /**
+     * Same shape as {@link #findDailyVoteCountsWithPreWindowTotal}, read from the
+     * {@code user_daily_vote_counts} rollup: one row per active day in the window
+     * plus the sentinel row summing the days before it.
+     */
+    @Query(value = """
+            SELECT d.vote_date AS vote_date,
+                   CAST(d.vote_count AS BIGINT) AS vote_count
+            FROM user_daily_vote_counts d
+            WHERE d.user_id = :userId
+              AND d.vote_date >= :since
+            UNION ALL
+            SELECT NULL AS vote_date,
+                   COALESCE(SUM(d.vote_count) FILTER (WHERE d.vote_date < :since), 0) AS vote_count
+            FROM user_daily_vote_counts d
+            WHERE d.user_id = :userId
+            ORDER BY vote_date
+            """, nativeQuery = true)
+    List<DailyVoteCount> findDailyRollupWithPreWindowTotal(@Param("userId") String userId,
+            @Param("since") LocalDate since);
+
+    /** Lifetime vote count per user who has voted, from the daily rollup. */
+    @Query(value = """
+            SELECT d.user_id AS user_id, SUM(d.vote_count) AS vote_count
+            FROM user_daily_vote_counts d
+            GROUP BY d.user_id
+            """, nativeQuery = true)
+    List<UserVoteTotal> findVoteTotalsByUser();
+
+    /** Daily rollup rows of all users from {@code since} on. */
+    @Query(value = """
+            SELECT d.user_id AS user_id, d.vote_date AS vote_date, CAST(d.vote_count AS BIGINT) AS vote_count
+            FROM user_daily_vote_counts d
+            WHERE d.vote_date >= :since
+            """, nativeQuery = true)
+    List<UserDailyVoteCount> findDailyRollupSince(@Param("since") LocalDate since);
+
+    /** Blocks vote writes until the end of the transaction, so a rollup rebuild sees a stable log. */
+    @Modifying
+    @Query(value = "LOCK TABLE competency_relationships_votes IN SHARE MODE", nativeQuery = true)
+    void lockVotesForRollup();
+
+    @Modifying
+    @Query(value = "DELETE FROM user_daily_vote_counts", nativeQuery = true)
+    void deleteDailyRollup();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_daily_vote_counts (user_id, vote_date, vote_count)
+            SELECT user_id, CAST(created_at AS DATE), COUNT(*)
+            FROM competency_relationships_votes
+            GROUP BY user_id, CAST(created_at AS DATE)
+            """, nativeQuery = true)
+    int insertDailyRollupFromVotes();
 }
@@ -0,0 +1,18 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.entity.CompetencyRelationshipVote;
+
+import java.util.List;
+
+/**
+ * JDBC-backed bulk operations on the vote log that bypass the persistence context.
+ */
+public interface CompetencyRelationshipVoteRepositoryCustom {
+
+    /**
+     * Inserts all votes in a single JDBC batch, skipping any that conflict with an
+     * existing (relationship, user) vote. Returns, per input vote, whether it was inserted.
+     * Pending JPA changes must be flushed first so referenced relationships exist.
+     */
+    boolean[] insertAllIfAbsent(List<CompetencyRelationshipVote> votes);
+}
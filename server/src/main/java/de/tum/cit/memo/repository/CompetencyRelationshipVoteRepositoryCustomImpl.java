@@ -0,0 +1,37 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.entity.CompetencyRelationshipVote;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CompetencyRelationshipVoteRepositoryCustomImpl implements CompetencyRelationshipVoteRepositoryCustom {
+
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO competency_relationships_votes (id, relationship_id, user_id, relationship_type, created_at)
+            VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (relationship_id, user_id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean[] insertAllIfAbsent(List<CompetencyRelationshipVote> votes) {
+        boolean[] inserted = new boolean[votes.size()];
+        if (votes.isEmpty()) {
+            return inserted;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, votes, votes.size(), (ps, vote) -> {
+            ps.setString(1, vote.getId());
+            ps.setString(2, vote.getRelationshipId());
+            ps.setString(3, vote.getUserId());
+            ps.setString(4, vote.getRelationshipType().name());
+        })[0];
+        for (int i = 0; i < counts.length; i++) {
+            inserted[i] = counts[i] > 0;
+        }
+        return inserted;
+    }
+}
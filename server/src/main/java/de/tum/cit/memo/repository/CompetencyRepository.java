@@ -1,15 +1,21 @@
 package de.tum.cit.memo.repository;
 
 import de.tum.cit.memo.entity.Competency;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface CompetencyRepository extends JpaRepository<Competency, String> {
+public interface CompetencyRepository extends JpaRepository<Competency, String>, CompetencyRepositoryCustom {
 
     @Query(value = "SELECT * FROM competencies ORDER BY RANDOM() LIMIT :count", nativeQuery = true)
     List<Competency> findRandomCompetencies(@Param("count") int count);
@@ -20,13 +26,58 @@ public interface CompetencyRepository extends JpaRepository<Competency, String>
     @Query("SELECT c.id FROM Competency c ORDER BY c.degree ASC")
     List<String> findIdsByDegreeAsc(org.springframework.data.domain.Pageable pageable);
 
+    /**
+     * Locks the rows in id order before updating them, so two transactions touching
+     * the same competencies (e.g. A→B and the mirrored B→A) cannot deadlock.
+     */
     @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
-    @Query("UPDATE Competency c SET c.degree = c.degree + 1 WHERE c.id IN :ids")
+    @Query(value = """
+            UPDATE competencies c SET degree = c.degree + 1
+            FROM (SELECT id FROM competencies WHERE id IN :ids ORDER BY id FOR UPDATE) locked
+            WHERE c.id = locked.id
+            """, nativeQuery = true)
     void incrementDegree(@Param("ids") List<String> ids);
 
+    /** Same canonical lock order as {@link #incrementDegree(List)}. */
     @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
-    @Query(value = "UPDATE competencies SET degree = GREATEST(degree - 1, 0) WHERE id IN :ids", nativeQuery = true)
+    @Query(value = """
+            UPDATE competencies c SET degree = GREATEST(c.degree - 1, 0)
+            FROM (SELECT id FROM competencies WHERE id IN :ids ORDER BY id FOR UPDATE) locked
+            WHERE c.id = locked.id
+            """, nativeQuery = true)
     void decrementDegree(@Param("ids") List<String> ids);
 
-    boolean existsByTitle(String title);
+    /** Locks a single row; callers updating several must go in ascending id order. */
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Competency c SET c.degree = c.degree + :delta WHERE c.id = :id")
+    void addToDegree(@Param("id") String id, @Param("delta") int delta);
+
+    @Query("SELECT c.id FROM Competency c WHERE c.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    boolean existsByNormalizedTitle(String normalizedTitle);
+
+    /** Which of the given normalized titles already exist; one index lookup for a whole import chunk. */
+    @Query("SELECT c.normalizedTitle FROM Competency c WHERE c.normalizedTitle IN :normalizedTitles")
+    List<String> findExistingNormalizedTitles(@Param("normalizedTitles") Collection<String> normalizedTitles);
+
+    /** Competencies whose title duplicated an older one when normalized titles were introduced. */
+    List<Competency> findByNormalizedTitleIsNullOrderByTitleAsc();
+
+    @Query("SELECT c.id AS id, c.degree AS degree FROM Competency c")
+    List<CompetencyDegree> findAllDegrees();
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description FROM Competency c")
+    List<CompetencyText> findAllTexts();
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description FROM Competency c WHERE c.id IN :ids")
+    List<CompetencyText> findTextsByIdIn(@Param("ids") Collection<String> ids);
+
+    /** Keyset page of competencies after the given id. */
+    List<Competency> findByIdGreaterThanOrderByIdAsc(String afterId, Pageable pageable);
+
+    /** Streams all competencies in id order; must be consumed inside a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c FROM Competency c ORDER BY c.id")
+    Stream<Competency> streamAllOrderedById();
 }
@@ -0,0 +1,42 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.dto.MergeResult;
+import de.tum.cit.memo.entity.Competency;
+
+import java.util.List;
+
+/**
+ * JDBC-backed bulk operations on competencies that bypass the persistence
+ * context: imports through a transaction-scoped staging table, and merges.
+ * All import calls must share one transaction.
+ */
+public interface CompetencyRepositoryCustom {
+
+    /** Creates the staging table; it is dropped when the transaction ends. */
+    void createImportStaging();
+
+    /** Streams the competencies into the staging table with {@code COPY}. */
+    void copyIntoImportStaging(List<Competency> competencies);
+
+    /**
+     * Moves staged competencies whose normalized title does not exist yet into
+     * {@code competencies} and returns the IDs inserted.
+     */
+    List<String> mergeImportStaging();
+
+    /**
+     * Merges the duplicate into the survivor with set-based statements: its
+     * relationships are re-pointed, or folded into the survivor's relationship on
+     * the same pair with counters and entropy recomputed from the vote log; its
+     * resource links move over; affected degrees are recounted and the duplicate
+     * is deleted. Must run in a transaction; other writers on either competency's
+     * relationships wait for it.
+     */
+    MergeResult mergeCompetency(String duplicateId, String survivorId);
+
+    /** Relationships whose counters the merge earlier in this transaction recomputed. */
+    List<String> findMergeRecountedRelationshipIds();
+
+    /** Competencies whose degree the merge earlier in this transaction recomputed. */
+    List<String> findMergeRecountedCompetencyIds(String survivorId);
+}
@@ -0,0 +1,258 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.dto.MergeResult;
+import de.tum.cit.memo.entity.Competency;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CompetencyRepositoryCustomImpl implements CompetencyRepositoryCustom {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE competency_import_staging (
+                id VARCHAR(30) NOT NULL,
+                title TEXT NOT NULL,
+                normalized_title TEXT NOT NULL,
+                description TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING =
+            "COPY competency_import_staging (id, title, normalized_title, description) FROM STDIN (FORMAT csv)";
+
+    private static final String MERGE_STAGING = """
+            INSERT INTO competencies (id, title, normalized_title, description, created_at, degree)
+            SELECT s.id, s.title, s.normalized_title, s.description, CURRENT_TIMESTAMP, 0
+            FROM competency_import_staging s
+            ON CONFLICT (normalized_title) DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String LOCK_MERGED_COMPETENCIES =
+            "SELECT id FROM competencies WHERE id IN (:duplicate, :survivor) ORDER BY id FOR UPDATE";
+
+    /** Also blocks votes on these pairs: their FK check needs a lock that conflicts with FOR UPDATE. */
+    private static final String LOCK_MERGED_RELATIONSHIPS = """
+            SELECT id FROM competency_relationships
+            WHERE origin_id IN (:duplicate, :survivor) OR destination_id IN (:duplicate, :survivor)
+            ORDER BY id
+            FOR UPDATE
+            """;
+
+    private static final String CREATE_MERGE_PLAN = """
+            CREATE TEMP TABLE competency_merge_plan (
+                relationship_id VARCHAR(30) NOT NULL,
+                target_id VARCHAR(30),
+                self_loop BOOLEAN NOT NULL,
+                neighbor_id VARCHAR(30) NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    /**
+     * One row per relationship of the duplicate: the survivor's relationship on the
+     * same pair once the duplicate is replaced (if any), and whether the pair would
+     * connect the survivor to itself.
+     */
+    private static final String FILL_MERGE_PLAN = """
+            INSERT INTO competency_merge_plan (relationship_id, target_id, self_loop, neighbor_id)
+            SELECT r.id, t.id, m.origin_id = m.destination_id,
+                   CASE WHEN r.origin_id = :duplicate THEN r.destination_id ELSE r.origin_id END
+            FROM competency_relationships r
+            CROSS JOIN LATERAL (
+                SELECT CASE WHEN r.origin_id = :duplicate THEN :survivor ELSE r.origin_id END AS origin_id,
+                       CASE WHEN r.destination_id = :duplicate THEN :survivor ELSE r.destination_id END AS destination_id
+            ) m
+            LEFT JOIN competency_relationships t
+                   ON t.origin_id = m.origin_id AND t.destination_id = m.destination_id
+            WHERE r.origin_id = :duplicate OR r.destination_id = :duplicate
+            """;
+
+    private static final String COUNT_MERGE_PLAN = """
+            SELECT COUNT(*) FILTER (WHERE target_id IS NOT NULL) AS combined,
+                   COUNT(*) FILTER (WHERE self_loop) AS dropped,
+                   (SELECT COUNT(*)
+                    FROM competency_relationships_votes v
+                    JOIN competency_merge_plan p ON p.relationship_id = v.relationship_id
+                    WHERE p.target_id IS NOT NULL OR p.self_loop) AS affected_votes
+            FROM competency_merge_plan
+            """;
+
+    /** A user who already voted on the survivor's pair keeps that vote; the other one goes. */
+    private static final String MOVE_MERGED_VOTES = """
+            UPDATE competency_relationships_votes v
+            SET relationship_id = p.target_id
+            FROM competency_merge_plan p
+            WHERE v.relationship_id = p.relationship_id
+              AND p.target_id IS NOT NULL
+              AND NOT EXISTS (
+                  SELECT 1 FROM competency_relationships_votes w
+                  WHERE w.relationship_id = p.target_id AND w.user_id = v.user_id)
+            """;
+
+    /** Remaining votes on these relationships cascade with them. */
+    private static final String DELETE_MERGED_RELATIONSHIPS = """
+            DELETE FROM competency_relationships r
+            USING competency_merge_plan p
+            WHERE r.id = p.relationship_id AND (p.target_id IS NOT NULL OR p.self_loop)
+            """;
+
+    private static final String REPOINT_RELATIONSHIPS = """
+            UPDATE competency_relationships
+            SET origin_id = CASE WHEN origin_id = :duplicate THEN :survivor ELSE origin_id END,
+                destination_id = CASE WHEN destination_id = :duplicate THEN :survivor ELSE destination_id END,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE origin_id = :duplicate OR destination_id = :duplicate
+            """;
+
+    private static final String RECOUNT_MERGED_RELATIONSHIPS = """
+            UPDATE competency_relationships r
+            SET vote_assumes = c.assumes,
+                vote_extends = c.extends_votes,
+                vote_matches = c.matches,
+                vote_unrelated = c.unrelated,
+                total_votes = c.assumes + c.extends_votes + c.matches + c.unrelated,
+                entropy = relationship_entropy(c.assumes, c.extends_votes, c.matches, c.unrelated),
+                updated_at = CURRENT_TIMESTAMP
+            FROM (
+                SELECT p.target_id AS id,
+                       (COUNT(v.id) FILTER (WHERE v.relationship_type = 'ASSUMES'))::INT AS assumes,
+                       (COUNT(v.id) FILTER (WHERE v.relationship_type = 'EXTENDS'))::INT AS extends_votes,
+                       (COUNT(v.id) FILTER (WHERE v.relationship_type = 'MATCHES'))::INT AS matches,
+                       (COUNT(v.id) FILTER (WHERE v.relationship_type = 'UNRELATED'))::INT AS unrelated
+                FROM competency_merge_plan p
+                LEFT JOIN competency_relationships_votes v ON v.relationship_id = p.target_id
+                WHERE p.target_id IS NOT NULL
+                GROUP BY p.target_id
+            ) c
+            WHERE r.id = c.id
+            """;
+
+    private static final String DELETE_DUPLICATE_RESOURCE_LINKS = """
+            DELETE FROM competency_resource_links l
+            WHERE l.competency_id = :duplicate
+              AND EXISTS (
+                  SELECT 1 FROM competency_resource_links s
+                  WHERE s.competency_id = :survivor AND s.resource_id = l.resource_id AND s.user_id = l.user_id)
+            """;
+
+    private static final String REPOINT_RESOURCE_LINKS =
+            "UPDATE competency_resource_links SET competency_id = :survivor WHERE competency_id = :duplicate";
+
+    /** Same definition as the V7 backfill: relationships touching the competency in either direction. */
+    private static final String RECOUNT_MERGED_DEGREES = """
+            UPDATE competencies c
+            SET degree = (SELECT COUNT(*) FROM competency_relationships r WHERE r.origin_id = c.id)
+                       + (SELECT COUNT(*) FROM competency_relationships r WHERE r.destination_id = c.id)
+            WHERE c.id = :survivor OR c.id IN (SELECT neighbor_id FROM competency_merge_plan)
+            """;
+
+    private static final String DELETE_MERGED_COMPETENCY = "DELETE FROM competencies WHERE id = :duplicate";
+
+    private static final String SELECT_RECOUNTED_RELATIONSHIPS =
+            "SELECT DISTINCT target_id FROM competency_merge_plan WHERE target_id IS NOT NULL";
+
+    private static final String SELECT_RECOUNTED_COMPETENCIES =
+            "SELECT CAST(:survivor AS VARCHAR) UNION SELECT neighbor_id FROM competency_merge_plan";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Override
+    public void createImportStaging() {
+        jdbcTemplate.execute(CREATE_STAGING);
+    }
+
+    @Override
+    public void copyIntoImportStaging(List<Competency> competencies) {
+        if (competencies.isEmpty()) {
+            return;
+        }
+        StringBuilder csv = new StringBuilder(competencies.size() * 128);
+        for (Competency competency : competencies) {
+            csv.append(competency.getId()).append(',');
+            appendQuoted(csv, competency.getTitle());
+            csv.append(',');
+            appendQuoted(csv, competency.getNormalizedTitle());
+            csv.append(',');
+            // An unquoted empty field is NULL in COPY's CSV format
+            if (competency.getDescription() != null) {
+                appendQuoted(csv, competency.getDescription());
+            }
+            csv.append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING, new StringReader(csv.toString()));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    @Override
+    public List<String> mergeImportStaging() {
+        return jdbcTemplate.queryForList(MERGE_STAGING, String.class);
+    }
+
+    @Override
+    public MergeResult mergeCompetency(String duplicateId, String survivorId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("duplicate", duplicateId)
+                .addValue("survivor", survivorId);
+        namedJdbcTemplate.query(LOCK_MERGED_COMPETENCIES, params, (RowCallbackHandler) rs -> { });
+        namedJdbcTemplate.query(LOCK_MERGED_RELATIONSHIPS, params, (RowCallbackHandler) rs -> { });
+
+        jdbcTemplate.execute(CREATE_MERGE_PLAN);
+        namedJdbcTemplate.update(FILL_MERGE_PLAN, params);
+        int[] planned = jdbcTemplate.queryForObject(COUNT_MERGE_PLAN, (rs, rowNum) ->
+                new int[] {rs.getInt("combined"), rs.getInt("dropped"), rs.getInt("affected_votes")});
+
+        int votesMoved = jdbcTemplate.update(MOVE_MERGED_VOTES);
+        jdbcTemplate.update(DELETE_MERGED_RELATIONSHIPS);
+        int relationshipsMoved = namedJdbcTemplate.update(REPOINT_RELATIONSHIPS, params);
+        jdbcTemplate.update(RECOUNT_MERGED_RELATIONSHIPS);
+
+        namedJdbcTemplate.update(DELETE_DUPLICATE_RESOURCE_LINKS, params);
+        int resourceLinksMoved = namedJdbcTemplate.update(REPOINT_RESOURCE_LINKS, params);
+
+        namedJdbcTemplate.update(RECOUNT_MERGED_DEGREES, params);
+        namedJdbcTemplate.update(DELETE_MERGED_COMPETENCY, params);
+
+        return new MergeResult(survivorId, relationshipsMoved, planned[0], planned[1],
+                votesMoved, planned[2] - votesMoved, resourceLinksMoved);
+    }
+
+    @Override
+    public List<String> findMergeRecountedRelationshipIds() {
+        return jdbcTemplate.queryForList(SELECT_RECOUNTED_RELATIONSHIPS, String.class);
+    }
+
+    @Override
+    public List<String> findMergeRecountedCompetencyIds(String survivorId) {
+        return namedJdbcTemplate.queryForList(SELECT_RECOUNTED_COMPETENCIES,
+                new MapSqlParameterSource("survivor", survivorId), String.class);
+    }
+
+    private static void appendQuoted(StringBuilder csv, String value) {
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        csv.append('"');
+    }
+}
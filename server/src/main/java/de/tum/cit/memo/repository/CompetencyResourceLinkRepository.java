@@ -1,9 +1,25 @@
 package de.tum.cit.memo.repository;
 
 import de.tum.cit.memo.entity.CompetencyResourceLink;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface CompetencyResourceLinkRepository extends JpaRepository<CompetencyResourceLink, String> {
+
+    /** Keyset page of resource links after the given id. */
+    List<CompetencyResourceLink> findByIdGreaterThanOrderByIdAsc(String afterId, Pageable pageable);
+
+    /** Streams all resource links in id order; must be consumed inside a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l FROM CompetencyResourceLink l ORDER BY l.id")
+    Stream<CompetencyResourceLink> streamAllOrderedById();
 }
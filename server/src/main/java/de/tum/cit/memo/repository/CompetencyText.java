@@ -0,0 +1,12 @@
+package de.tum.cit.memo.repository;
+
+/**
+ * Spring Data projection of the text fields used for near-duplicate detection.
+ */
+public interface CompetencyText {
+    String getId();
+
+    String getTitle();
+
+    String getDescription();
+}
@@ -1,13 +1,18 @@
 package de.tum.cit.memo.repository;
 
 import de.tum.cit.memo.entity.LearningResource;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LearningResourceRepository extends JpaRepository<LearningResource, String> {
@@ -18,4 +23,12 @@ public interface LearningResourceRepository extends JpaRepository<LearningResour
 
     @Query(value = "SELECT * FROM learning_resources ORDER BY RANDOM() LIMIT :count", nativeQuery = true)
     List<LearningResource> findRandomLearningResources(@Param("count") int count);
+
+    /** Keyset page of learning resources after the given id. */
+    List<LearningResource> findByIdGreaterThanOrderByIdAsc(String afterId, Pageable pageable);
+
+    /** Streams all learning resources in id order; must be consumed inside a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r FROM LearningResource r ORDER BY r.id")
+    Stream<LearningResource> streamAllOrderedById();
 }
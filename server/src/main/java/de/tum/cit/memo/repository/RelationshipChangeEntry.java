@@ -0,0 +1,9 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.dto.ChangeCursor;
+
+/**
+ * One {@code relationship_changes} row.
+ */
+public record RelationshipChangeEntry(ChangeCursor position, String relationshipId, boolean deleted) {
+}
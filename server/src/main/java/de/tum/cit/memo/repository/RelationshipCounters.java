@@ -0,0 +1,25 @@
+package de.tum.cit.memo.repository;
+
+/**
+ * Spring Data projection of a relationship's vote counters as returned by
+ * atomic counter updates.
+ */
+public interface RelationshipCounters {
+    String getId();
+
+    String getOriginId();
+
+    String getDestinationId();
+
+    int getVoteAssumes();
+
+    int getVoteExtends();
+
+    int getVoteMatches();
+
+    int getVoteUnrelated();
+
+    int getTotalVotes();
+
+    double getEntropy();
+}
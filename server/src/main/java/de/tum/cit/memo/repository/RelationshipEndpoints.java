@@ -0,0 +1,13 @@
+package de.tum.cit.memo.repository;
+
+/**
+ * Spring Data projection of a relationship's id and directed endpoints, for
+ * scans that should not load whole entities.
+ */
+public interface RelationshipEndpoints {
+    String getId();
+
+    String getOriginId();
+
+    String getDestinationId();
+}
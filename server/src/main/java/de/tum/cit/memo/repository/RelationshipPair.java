@@ -0,0 +1,10 @@
+package de.tum.cit.memo.repository;
+
+/**
+ * Spring Data projection of a relationship's directed endpoint pair.
+ */
+public interface RelationshipPair {
+    String getOriginId();
+
+    String getDestinationId();
+}
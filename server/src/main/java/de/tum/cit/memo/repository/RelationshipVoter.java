@@ -0,0 +1,10 @@
+package de.tum.cit.memo.repository;
+
+/**
+ * Spring Data projection of a single (relationship, voter) pair.
+ */
+public interface RelationshipVoter {
+    String getRelationshipId();
+
+    String getUserId();
+}
@@ -0,0 +1,34 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.entity.SchedulingSkip;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SchedulingSkipRepository extends JpaRepository<SchedulingSkip, String> {
+
+    /** Records a skip, or pushes out the expiry if the user skipped the same key before. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO scheduling_skips (id, user_id, skip_key, expires_at)
+            VALUES (:id, :userId, :skipKey, :expiresAt)
+            ON CONFLICT (user_id, skip_key) DO UPDATE SET expires_at = EXCLUDED.expires_at
+            """, nativeQuery = true)
+    void upsert(@Param("id") String id,
+            @Param("userId") String userId,
+            @Param("skipKey") String skipKey,
+            @Param("expiresAt") Instant expiresAt);
+
+    @Query("SELECT s FROM SchedulingSkip s WHERE s.userId = :userId AND s.expiresAt > :now")
+    List<SchedulingSkip> findActiveByUserId(@Param("userId") String userId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM SchedulingSkip s WHERE s.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,82 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.entity.SchedulingTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface SchedulingTaskRepository extends JpaRepository<SchedulingTask, String> {
+
+    /**
+     * Leases the highest-priority available task of the given pipeline to the user.
+     * SKIP LOCKED lets concurrent dequeuers on any node pass over rows another
+     * transaction is leasing, so every caller gets a different task.
+     */
+    @Query(value = """
+            UPDATE scheduling_tasks t
+            SET leased_by = :userId,
+                lease_expires_at = CURRENT_TIMESTAMP + make_interval(secs => :leaseSeconds)
+            WHERE t.id = (
+                SELECT q.id FROM scheduling_tasks q
+                WHERE q.pipeline = :pipeline
+                  AND (q.lease_expires_at IS NULL OR q.lease_expires_at < CURRENT_TIMESTAMP)
+                  AND (q.relationship_id IS NULL OR NOT EXISTS (
+                      SELECT 1 FROM competency_relationships_votes v
+                      WHERE v.relationship_id = q.relationship_id AND v.user_id = :userId
+                  ))
+                ORDER BY q.priority DESC, q.created_at
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING t.*
+            """, nativeQuery = true)
+    Optional<SchedulingTask> dequeue(@Param("userId") String userId,
+            @Param("pipeline") String pipeline,
+            @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO scheduling_tasks (id, origin_id, destination_id, relationship_id, pipeline, priority, created_at)
+            VALUES (:id, :originId, :destinationId, :relationshipId, :pipeline, :priority, CURRENT_TIMESTAMP)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int enqueueIfAbsent(@Param("id") String id,
+            @Param("originId") String originId,
+            @Param("destinationId") String destinationId,
+            @Param("relationshipId") String relationshipId,
+            @Param("pipeline") String pipeline,
+            @Param("priority") double priority);
+
+    /** Removes the task for an unordered pair once it has been voted on. */
+    @Modifying
+    @Query(value = """
+            DELETE FROM scheduling_tasks
+            WHERE LEAST(origin_id, destination_id) = LEAST(:a, :b)
+              AND GREATEST(origin_id, destination_id) = GREATEST(:a, :b)
+            """, nativeQuery = true)
+    int deleteByPair(@Param("a") String a, @Param("b") String b);
+
+    @Query(value = """
+            SELECT COUNT(*) FROM scheduling_tasks
+            WHERE lease_expires_at IS NULL OR lease_expires_at < CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    long countAvailable();
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM scheduling_tasks
+            WHERE created_at < :threshold
+              AND (lease_expires_at IS NULL OR lease_expires_at < CURRENT_TIMESTAMP)
+            """, nativeQuery = true)
+    int deleteStale(@Param("threshold") Instant threshold);
+
+    /** Transaction-scoped advisory lock so only one node refills the queue at a time. */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
@@ -0,0 +1,14 @@
+package de.tum.cit.memo.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Spring Data projection of one {@code user_daily_vote_counts} row.
+ */
+public interface UserDailyVoteCount {
+    String getUserId();
+
+    LocalDate getVoteDate();
+
+    Long getVoteCount();
+}
@@ -1,14 +1,21 @@
 package de.tum.cit.memo.repository;
 
 import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
@@ -17,7 +24,18 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT u.role FROM User u WHERE u.id = :id")
+    Optional<UserRole> findRoleById(@Param("id") String id);
+
     @Modifying
     @Query("DELETE FROM User u WHERE u.consentAccepted = false AND u.createdAt < :threshold")
     int deleteExpiredUnconsented(@Param("threshold") Instant threshold);
+
+    /** Keyset page of users after the given id. */
+    List<User> findByIdGreaterThanOrderByIdAsc(String afterId, Pageable pageable);
+
+    /** Streams all users in id order; must be consumed inside a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllOrderedById();
 }
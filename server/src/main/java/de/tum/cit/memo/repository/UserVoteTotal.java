@@ -0,0 +1,10 @@
+package de.tum.cit.memo.repository;
+
+/**
+ * Spring Data projection of a user's lifetime vote count.
+ */
+public interface UserVoteTotal {
+    String getUserId();
+
+    Long getVoteCount();
+}
@@ -1,8 +1,7 @@
 package de.tum.cit.memo.security;
 
-import de.tum.cit.memo.entity.User;
 import de.tum.cit.memo.enums.UserRole;
-import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.service.UserRoleCache;
 import java.util.List;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
@@ -19,14 +18,12 @@ import org.springframework.stereotype.Component;
 @SuppressWarnings("null")
 public class DbRoleJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
-    private final UserRepository userRepository;
+    private final UserRoleCache roleCache;
 
     @Override
     public AbstractAuthenticationToken convert(@NonNull Jwt jwt) {
         String subject = Objects.requireNonNullElse(jwt.getSubject(), "");
-        UserRole role = userRepository.findById(subject)
-            .map(User::getRole)
-            .orElse(UserRole.USER);
+        UserRole role = roleCache.role(subject).orElse(UserRole.USER);
         return new JwtAuthenticationToken(jwt,
             List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
     }
@@ -7,6 +7,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -19,7 +20,8 @@ import java.util.List;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, DbRoleJwtAuthenticationConverter jwtConverter) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, DbRoleJwtAuthenticationConverter jwtConverter,
+                                           JwtDecoder jwtDecoder, VerifiedJwtCache verifiedJwtCache) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -28,13 +30,17 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/users/**").hasRole("ADMIN")
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/competencies/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/learning-resources/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
-            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtConverter)));
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt
+                // Wrapped here rather than exposed as a bean, so the auto-configured decoder stays in place
+                .decoder(verifiedJwtCache.wrap(jwtDecoder))
+                .jwtAuthenticationConverter(jwtConverter)));
 
         return http.build();
     }
@@ -0,0 +1,140 @@
+package de.tum.cit.memo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import de.tum.cit.memo.config.MemoProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers tokens the configured {@link JwtDecoder} has already accepted, so a
+ * client sending the same bearer token on every request pays for parsing and
+ * signature verification once per token rather than once per request. Entries
+ * are keyed by the token's SHA-256 digest and expire with its {@code exp}; tokens
+ * without one are not cached, and rejected tokens never are.
+ * <p>
+ * The published JWKS is polled every {@code memo.jwt-cache.jwks-check-interval};
+ * when it changes, e.g. because a signing key was rotated out, all entries are
+ * dropped and tokens are verified against the new keys again. Metrics are
+ * published as {@code cache.*{cache=verified-jwts}}.
+ */
+@Slf4j
+@Component
+public class VerifiedJwtCache {
+
+    private static final Duration MAX_NANOS = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final Cache<TokenDigest, Jwt> verified;
+    private final String jwkSetUri;
+    private final RestClient restClient = RestClient.create();
+    private volatile Set<String> publishedKeys;
+
+    public VerifiedJwtCache(MemoProperties memoProperties, OAuth2ResourceServerProperties resourceServerProperties,
+            MeterRegistry meterRegistry) {
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(memoProperties.getJwtCache().getMaximumSize())
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        this.jwkSetUri = resourceServerProperties.getJwt().getJwkSetUri();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-jwts");
+    }
+
+    /** A decoder that answers repeated tokens from the cache and verifies new ones with {@code delegate}. */
+    public JwtDecoder wrap(JwtDecoder delegate) {
+        return token -> {
+            TokenDigest digest = TokenDigest.of(token);
+            Jwt cached = verified.getIfPresent(digest);
+            if (cached != null) {
+                return cached;
+            }
+            Jwt jwt = delegate.decode(token);
+            if (jwt.getExpiresAt() != null) {
+                verified.put(digest, jwt);
+            }
+            return jwt;
+        };
+    }
+
+    /** Drops every cached token once the signing keys published by the issuer change. */
+    @Scheduled(fixedDelayString = "${memo.jwt-cache.jwks-check-interval:PT5M}")
+    public void checkKeyRotation() {
+        if (jwkSetUri == null || jwkSetUri.isBlank()) {
+            return;
+        }
+        Set<String> keys;
+        try {
+            String body = restClient.get().uri(jwkSetUri).retrieve().body(String.class);
+            keys = JWKSet.parse(body).getKeys().stream()
+                    .map(JWK::toJSONString)
+                    .collect(Collectors.toUnmodifiableSet());
+        } catch (Exception e) {
+            // Keep the cache: the decoder cannot fetch the keys either, and cached tokens still expire
+            log.debug("Could not check JWKS at {} for key rotation", jwkSetUri, e);
+            return;
+        }
+        Set<String> previous = publishedKeys;
+        publishedKeys = keys;
+        if (previous != null && !previous.equals(keys)) {
+            log.info("JWKS changed, dropping {} cached tokens", verified.estimatedSize());
+            verified.invalidateAll();
+        }
+    }
+
+    /** SHA-256 of a bearer token; 32 bytes per entry however long the token is. */
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            MessageDigest sha256;
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+            }
+            ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    private static final class UntilTokenExpires implements Expiry<TokenDigest, Jwt> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest token, Jwt jwt, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            // Durations beyond ~292 years do not fit in nanoseconds
+            return remaining.compareTo(MAX_NANOS) >= 0 ? Long.MAX_VALUE : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest token, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest token, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
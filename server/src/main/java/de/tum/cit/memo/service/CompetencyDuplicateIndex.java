@@ -0,0 +1,311 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.CompetencyText;
+import de.tum.cit.memo.util.MinHash;
+import de.tum.cit.memo.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Resident MinHash LSH index over competency titles and descriptions, for
+ * spotting near-duplicates such as "Understand recursion" and "Understanding
+ * recursive functions" that title normalization cannot catch. Each competency is
+ * filed under its {@value MinHash#BANDS} band keys; a lookup only compares
+ * signatures within the buckets it shares with the text, so it does not scan the
+ * catalog. Mutations are applied after commit; a periodic rebuild reconciles
+ * changes made by other instances. Mutations that arrive while a rebuild is
+ * loading are replayed onto the new index, since the load may have missed them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompetencyDuplicateIndex {
+
+    public static final double DEFAULT_MIN_SIMILARITY = 0.5;
+
+    /** Buckets this large stem from boilerplate text and are not compared pairwise. */
+    private static final int MAX_CLUSTER_BUCKET_SIZE = 500;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final CompetencyRepository competencyRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Index index;
+    /** Mutations seen while a rebuild is loading; null when none is in flight. Guarded by the write lock. */
+    private volatile List<Consumer<Index>> pending;
+
+    /** The most similar indexed competency at or above {@code minSimilarity}, if any. */
+    public Optional<Match> mostSimilar(String title, String description, double minSimilarity) {
+        int[] signature = MinHash.signature(text(title, description));
+        Index idx = ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Match best = null;
+            for (String id : idx.candidates(signature)) {
+                Entry entry = idx.entries.get(id);
+                double similarity = MinHash.similarity(signature, entry.signature());
+                if (similarity >= minSimilarity && (best == null || similarity > best.similarity())) {
+                    best = new Match(id, entry.title(), similarity);
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups competencies linked by pairs with estimated similarity at or above
+     * {@code minSimilarity}, largest group first. Only pairs sharing a bucket are
+     * compared.
+     */
+    public List<List<String>> clusters(double minSimilarity) {
+        Index idx = ensureLoaded();
+        Map<String, String> parents = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String[] bucket : idx.buckets.values()) {
+                if (bucket.length < 2 || bucket.length > MAX_CLUSTER_BUCKET_SIZE) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.length; i++) {
+                    int[] signature = idx.entries.get(bucket[i]).signature();
+                    for (int j = i + 1; j < bucket.length; j++) {
+                        String a = root(parents, bucket[i]);
+                        String b = root(parents, bucket[j]);
+                        if (!a.equals(b)
+                                && MinHash.similarity(signature, idx.entries.get(bucket[j]).signature()) >= minSimilarity) {
+                            parents.put(a, b);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, List<String>> groups = new HashMap<>();
+        for (String id : parents.keySet()) {
+            groups.computeIfAbsent(root(parents, id), r -> new ArrayList<>()).add(id);
+        }
+        List<List<String>> clusters = new ArrayList<>();
+        for (List<String> group : groups.values()) {
+            if (group.size() > 1) {
+                group.sort(Comparator.naturalOrder());
+                clusters.add(group);
+            }
+        }
+        clusters.sort(Comparator.<List<String>>comparingInt(List::size).reversed()
+                .thenComparing(group -> group.get(0)));
+        return clusters;
+    }
+
+    public void competencySaved(String id, String title, String description) {
+        int[] signature = MinHash.signature(text(title, description));
+        TransactionHooks.afterCommit(() -> mutate(idx -> idx.put(id, title, signature)));
+    }
+
+    /** Indexes competencies inserted in bulk; their texts are read back after commit. */
+    public void competenciesAdded(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<String> added = List.copyOf(ids);
+        TransactionHooks.afterCommit(() -> {
+            if (index == null && pending == null) {
+                // Not loaded yet: the first lookup reads everything anyway
+                return;
+            }
+            // Runs after commit while the finished transaction is still bound, so read in a new one
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            tx.setReadOnly(true);
+            for (int from = 0; from < added.size(); from += LOAD_BATCH_SIZE) {
+                List<String> batch = added.subList(from, Math.min(added.size(), from + LOAD_BATCH_SIZE));
+                List<Indexed> indexed = tx.execute(status -> competencyRepository.findTextsByIdIn(batch).stream()
+                        .map(Indexed::of)
+                        .toList());
+                mutate(idx -> indexed.forEach(c -> idx.put(c.id(), c.title(), c.signature())));
+            }
+        });
+    }
+
+    public void competencyRemoved(String id) {
+        TransactionHooks.afterCommit(() -> mutate(idx -> idx.remove(id)));
+    }
+
+    /**
+     * Rebuilds the index from the database. Runs on first use and periodically so
+     * that writes from other nodes are eventually reflected.
+     */
+    @Scheduled(fixedDelayString = "${memo.scheduling.duplicate-index-refresh-interval:PT30M}")
+    public synchronized void refresh() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            swap(null);
+            throw e;
+        }
+        swap(fresh);
+        log.debug("Competency duplicate index loaded: {} competencies, {} buckets",
+                fresh.entries.size(), fresh.buckets.size());
+    }
+
+    private Index ensureLoaded() {
+        Index idx = index;
+        if (idx != null) {
+            return idx;
+        }
+        synchronized (this) {
+            if (index == null) {
+                refresh();
+            }
+            return index;
+        }
+    }
+
+    /** Installs the loaded index, if any, after replaying the mutations it may have missed. */
+    private void swap(Index fresh) {
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                // Replaying is safe even if the load already saw a change: put and remove are idempotent
+                pending.forEach(change -> change.accept(fresh));
+                index = fresh;
+            }
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void mutate(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Index load() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        List<CompetencyText> texts = tx.execute(status -> competencyRepository.findAllTexts());
+        Index idx = new Index();
+        for (CompetencyText text : texts) {
+            Indexed c = Indexed.of(text);
+            idx.put(c.id(), c.title(), c.signature());
+        }
+        return idx;
+    }
+
+    private static String text(String title, String description) {
+        return description == null ? title : title + ' ' + description;
+    }
+
+    /** Union-find lookup with path halving; unseen ids are their own root. */
+    private static String root(Map<String, String> parents, String id) {
+        String current = id;
+        parents.putIfAbsent(current, current);
+        while (!parents.get(current).equals(current)) {
+            String grandparent = parents.get(parents.get(current));
+            parents.put(current, grandparent);
+            current = grandparent;
+        }
+        return current;
+    }
+
+    public record Match(String id, String title, double similarity) {
+    }
+
+    private record Entry(String title, int[] signature) {
+    }
+
+    private record Indexed(String id, String title, int[] signature) {
+
+        static Indexed of(CompetencyText text) {
+            return new Indexed(text.getId(), text.getTitle(),
+                    MinHash.signature(text(text.getTitle(), text.getDescription())));
+        }
+    }
+
+    /**
+     * Signatures by id and LSH buckets by band key. Buckets are almost always
+     * singletons, so they are kept as small arrays copied on change.
+     */
+    private static final class Index {
+
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Map<Long, String[]> buckets = new HashMap<>();
+
+        void put(String id, String title, int[] signature) {
+            remove(id);
+            entries.put(id, new Entry(title, signature));
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                buckets.merge(MinHash.bandKey(signature, band), new String[] {id}, (current, added) -> {
+                    String[] grown = Arrays.copyOf(current, current.length + 1);
+                    grown[current.length] = id;
+                    return grown;
+                });
+            }
+        }
+
+        void remove(String id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                buckets.computeIfPresent(MinHash.bandKey(entry.signature(), band), (key, current) -> {
+                    String[] shrunk = Arrays.stream(current).filter(member -> !member.equals(id))
+                            .toArray(String[]::new);
+                    return shrunk.length == 0 ? null : shrunk;
+                });
+            }
+        }
+
+        Set<String> candidates(int[] signature) {
+            Set<String> candidates = new LinkedHashSet<>();
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                String[] bucket = buckets.get(MinHash.bandKey(signature, band));
+                if (bucket != null) {
+                    candidates.addAll(Arrays.asList(bucket));
+                }
+            }
+            return candidates;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.repository.CompetencyDegree;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.RelationshipPair;
+import de.tum.cit.memo.util.IndexedMinHeap;
+import de.tum.cit.memo.util.LongHashSet;
+import de.tum.cit.memo.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Resident view of the competency graph for the coverage pipeline.
+ * Degrees live in an indexed min-heap and directed pairs in a primitive hash
+ * set, so finding an unconnected low-degree pair needs no database access.
+ * Mutations are applied after commit; a periodic rebuild reconciles changes
+ * made by other instances. Mutations that arrive while a rebuild is loading
+ * are replayed onto the new snapshot, since the load may have missed them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompetencyGraphIndex {
+
+    private final CompetencyRepository competencyRepository;
+    private final CompetencyRelationshipRepository relationshipRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Graph graph;
+    /** Mutations seen while a rebuild is loading; null when none is in flight. Guarded by the write lock. */
+    private List<Consumer<Graph>> pending;
+
+    /** Returns up to {@code count} competency IDs with the lowest degree. */
+    public List<String> lowestDegreeIds(int count) {
+        Graph g = ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] ordinals = g.degrees.smallest(count);
+            List<String> ids = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                ids.add(g.ids.get(ordinal));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Whether a relationship exists between the two competencies in either direction. */
+    public boolean isConnected(String a, String b) {
+        Graph g = ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Integer x = g.ordinals.get(a);
+            Integer y = g.ordinals.get(b);
+            if (x == null || y == null) {
+                return false;
+            }
+            return g.pairs.contains(pairKey(x, y)) || g.pairs.contains(pairKey(y, x));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void competencyAdded(String id) {
+        TransactionHooks.afterCommit(() -> mutate(g -> g.addCompetency(id, 0)));
+    }
+
+    public void competenciesAdded(Collection<String> ids) {
+        TransactionHooks.afterCommit(() -> mutate(g -> ids.forEach(id -> g.addCompetency(id, 0))));
+    }
+
+    public void competencyRemoved(String id) {
+        TransactionHooks.afterCommit(() -> mutate(g -> g.removeCompetency(id)));
+    }
+
+    public void relationshipCreated(String originId, String destinationId) {
+        TransactionHooks.afterCommit(() -> mutate(g -> g.addPair(originId, destinationId)));
+    }
+
+    public void relationshipDeleted(String originId, String destinationId) {
+        TransactionHooks.afterCommit(() -> mutate(g -> g.removePair(originId, destinationId)));
+    }
+
+    /**
+     * Rebuilds the index from the database. Runs at startup and periodically so
+     * that writes from other nodes are eventually reflected.
+     */
+    @Scheduled(fixedDelayString = "${memo.scheduling.graph-index-refresh-interval:PT5M}")
+    public synchronized void refresh() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Graph fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            swap(null);
+            throw e;
+        }
+        swap(fresh);
+        log.debug("Competency graph index loaded: {} competencies, {} relationships",
+                fresh.ids.size(), fresh.pairs.size());
+    }
+
+    private Graph ensureLoaded() {
+        Graph g = graph;
+        if (g != null) {
+            return g;
+        }
+        synchronized (this) {
+            if (graph == null) {
+                refresh();
+            }
+            return graph;
+        }
+    }
+
+    /** Installs the loaded snapshot, if any, after replaying the mutations it may have missed. */
+    private void swap(Graph fresh) {
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                // Replaying is safe even if the load already saw a change: every mutation is idempotent
+                pending.forEach(change -> change.accept(fresh));
+                graph = fresh;
+            }
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void mutate(Consumer<Graph> change) {
+        lock.writeLock().lock();
+        try {
+            if (graph != null) {
+                change.accept(graph);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Graph load() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        return tx.execute(status -> {
+            List<CompetencyDegree> degrees = competencyRepository.findAllDegrees();
+            Graph g = new Graph(degrees.size());
+            for (CompetencyDegree d : degrees) {
+                g.addCompetency(d.getId(), d.getDegree());
+            }
+            try (Stream<RelationshipPair> pairs = relationshipRepository.streamAllPairs()) {
+                pairs.forEach(p -> g.loadPair(p.getOriginId(), p.getDestinationId()));
+            }
+            return g;
+        });
+    }
+
+    private static long pairKey(int origin, int destination) {
+        return ((long) origin << 32) | (destination & 0xFFFFFFFFL);
+    }
+
+    /** Mutable graph snapshot; all access is guarded by the enclosing lock. */
+    private static final class Graph {
+
+        private final Map<String, Integer> ordinals;
+        private final List<String> ids;
+        private final IndexedMinHeap degrees;
+        private final LongHashSet pairs;
+
+        Graph(int expectedCompetencies) {
+            ordinals = new HashMap<>(expectedCompetencies * 2);
+            ids = new ArrayList<>(expectedCompetencies);
+            degrees = new IndexedMinHeap(expectedCompetencies);
+            pairs = new LongHashSet(expectedCompetencies * 4);
+        }
+
+        void addCompetency(String id, int degree) {
+            if (ordinals.containsKey(id)) {
+                return;
+            }
+            int ordinal = ids.size();
+            ids.add(id);
+            ordinals.put(id, ordinal);
+            degrees.insert(ordinal, degree);
+        }
+
+        void removeCompetency(String id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                // Ordinals are never reused, so pairs of the removed node simply become unreachable
+                degrees.remove(ordinal);
+            }
+        }
+
+        /** Records a pair read from the database; degrees were loaded alongside. */
+        void loadPair(String originId, String destinationId) {
+            Integer origin = ordinals.get(originId);
+            Integer destination = ordinals.get(destinationId);
+            if (origin != null && destination != null) {
+                pairs.add(pairKey(origin, destination));
+            }
+        }
+
+        void addPair(String originId, String destinationId) {
+            Integer origin = ordinals.get(originId);
+            Integer destination = ordinals.get(destinationId);
+            if (origin == null || destination == null || !pairs.add(pairKey(origin, destination))) {
+                return;
+            }
+            degrees.update(origin, degrees.priority(origin) + 1);
+            degrees.update(destination, degrees.priority(destination) + 1);
+        }
+
+        void removePair(String originId, String destinationId) {
+            Integer origin = ordinals.get(originId);
+            Integer destination = ordinals.get(destinationId);
+            if (origin == null || destination == null || !pairs.remove(pairKey(origin, destination))) {
+                return;
+            }
+            degrees.update(origin, Math.max(0, degrees.priority(origin) - 1));
+            degrees.update(destination, Math.max(0, degrees.priority(destination) - 1));
+        }
+    }
+}
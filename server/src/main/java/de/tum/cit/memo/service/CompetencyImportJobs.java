@@ -0,0 +1,237 @@
+package de.tum.cit.memo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.cit.memo.config.MemoProperties;
+import de.tum.cit.memo.dto.CompetencyImportRow;
+import de.tum.cit.memo.dto.ImportJobResponse;
+import de.tum.cit.memo.dto.ImportResult;
+import de.tum.cit.memo.dto.PossibleDuplicate;
+import de.tum.cit.memo.enums.ImportJobStatus;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.exception.ResourceNotFoundException;
+import de.tum.cit.memo.util.IdGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs competency file imports in the background. An upload is spooled to a
+ * temporary file and queued on a small dedicated pool, which reads it row by row
+ * and imports {@code memo.imports.chunk-size} rows per transaction through
+ * {@link CompetencyService#importChunk}. Neither a request thread nor a single
+ * long-running transaction is held for the whole file; if a chunk fails, the
+ * chunks committed before it stay imported.
+ * <p>
+ * Progress lives in memory on the instance that accepted the upload and stays
+ * available for {@code memo.imports.retention} after the job finishes.
+ */
+@Slf4j
+@Component
+public class CompetencyImportJobs {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final CompetencyService competencyService;
+    private final ObjectMapper objectMapper;
+    private final MemoProperties.Imports properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public CompetencyImportJobs(CompetencyService competencyService, ObjectMapper objectMapper,
+            MemoProperties memoProperties) {
+        this.competencyService = competencyService;
+        this.objectMapper = objectMapper;
+        this.properties = memoProperties.getImports();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("competency-import-"));
+    }
+
+    /**
+     * Copies the upload to a temporary file and queues its import.
+     *
+     * @throws InvalidOperationException if too many imports are already waiting
+     */
+    public ImportJobResponse submit(InputStream in, boolean csv) throws IOException {
+        Path file = Files.createTempFile("competency-import-", csv ? ".csv" : ".json");
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+
+        Job job = new Job(IdGenerator.generateCuid());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, file, csv));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(file);
+            throw new InvalidOperationException("Too many imports in progress, try again later");
+        }
+        log.info("Queued import job {}", job.id);
+        return job.toResponse();
+    }
+
+    public ImportJobResponse getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job.toResponse();
+    }
+
+    /** Forgets jobs that finished longer than the retention period ago. */
+    @Scheduled(fixedDelayString = "PT1H")
+    public void evictFinished() {
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted chunks roll back; earlier chunks are already committed
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, Path file, boolean csv) {
+        job.started();
+        int rowNumber = 0;
+        try (InputStream in = Files.newInputStream(file);
+                CompetencyImportReader rows = csv
+                        ? CompetencyImportReader.csv(in)
+                        : CompetencyImportReader.json(in, objectMapper)) {
+            List<CompetencyImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+            while (rows.hasNext()) {
+                CompetencyImportRow row = rows.next();
+                rowNumber++;
+                if (row.getTitle() == null || row.getTitle().isBlank()) {
+                    job.invalidRow(rowNumber);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == properties.getChunkSize()) {
+                    commitChunk(job, chunk, rowNumber);
+                }
+            }
+            commitChunk(job, chunk, rowNumber);
+            job.completed();
+            log.info("Import job {} finished: {} rows", job.id, rowNumber);
+        } catch (Exception e) {
+            log.warn("Import job {} failed after {} rows", job.id, rowNumber, e);
+            job.failed(e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private void commitChunk(Job job, List<CompetencyImportRow> chunk, int rowsRead) {
+        ImportResult result = chunk.isEmpty()
+                ? new ImportResult(0, 0, List.of(), List.of())
+                : competencyService.importChunk(chunk);
+        job.chunkCommitted(rowsRead, result);
+        chunk.clear();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    /** Mutable job progress; written by the worker, read by status requests. */
+    private static final class Job {
+
+        private final String id;
+        private final Instant createdAt = Instant.now();
+        private final List<String> errors = new ArrayList<>();
+        private final List<PossibleDuplicate> possibleDuplicates = new ArrayList<>();
+        private ImportJobStatus status = ImportJobStatus.QUEUED;
+        private int rowsProcessed;
+        private int imported;
+        private int skipped;
+        private int invalid;
+        private String failureReason;
+        private Instant startedAt;
+        private volatile Instant finishedAt;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        synchronized void started() {
+            status = ImportJobStatus.RUNNING;
+            startedAt = Instant.now();
+        }
+
+        synchronized void invalidRow(int rowNumber) {
+            if (invalid++ < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + rowNumber + ": title is required");
+            }
+        }
+
+        /** Rows up to {@code rowsRead} are settled once their chunk has committed. */
+        synchronized void chunkCommitted(int rowsRead, ImportResult result) {
+            rowsProcessed = rowsRead;
+            imported += result.imported();
+            skipped += result.skipped();
+            for (PossibleDuplicate duplicate : result.possibleDuplicates()) {
+                if (possibleDuplicates.size() == CompetencyService.MAX_REPORTED_DUPLICATES) {
+                    break;
+                }
+                possibleDuplicates.add(duplicate);
+            }
+        }
+
+        synchronized void completed() {
+            if (invalid > MAX_REPORTED_ERRORS) {
+                errors.add("... and " + (invalid - MAX_REPORTED_ERRORS) + " more rows without a title");
+            }
+            status = ImportJobStatus.COMPLETED;
+            finishedAt = Instant.now();
+        }
+
+        synchronized void failed(String reason) {
+            status = ImportJobStatus.FAILED;
+            failureReason = reason;
+            finishedAt = Instant.now();
+        }
+
+        synchronized ImportJobResponse toResponse() {
+            return ImportJobResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .rowsProcessed(rowsProcessed)
+                    .imported(imported)
+                    .skipped(skipped)
+                    .invalid(invalid)
+                    .errors(List.copyOf(errors))
+                    .possibleDuplicates(List.copyOf(possibleDuplicates))
+                    .failureReason(failureReason)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package de.tum.cit.memo.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.cit.memo.dto.CompetencyImportRow;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Reads import rows one at a time from a CSV (title, description) or JSON array
+ * stream, so an import never holds the whole file in memory.
+ */
+public final class CompetencyImportReader implements Iterator<CompetencyImportRow>, Closeable {
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setTrim(true)
+            .build();
+
+    private final Iterator<CompetencyImportRow> rows;
+    private final Closeable resource;
+
+    private CompetencyImportReader(Iterator<CompetencyImportRow> rows, Closeable resource) {
+        this.rows = rows;
+        this.resource = resource;
+    }
+
+    /** Reads a CSV with a header line; the first column is the title, the optional second the description. */
+    public static CompetencyImportReader csv(InputStream in) throws IOException {
+        CSVParser parser = CSV_FORMAT.parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Iterator<CSVRecord> records = parser.iterator();
+        return new CompetencyImportReader(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public CompetencyImportRow next() {
+                return toRow(records.next());
+            }
+        }, parser);
+    }
+
+    /** Reads a JSON array of {@code {"title": ..., "description": ...}} objects. */
+    public static CompetencyImportReader json(InputStream in, ObjectMapper objectMapper)
+            throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new InvalidOperationException("Expected a JSON array of competencies");
+        }
+        parser.nextToken();
+        MappingIterator<CompetencyImportRow> rows = objectMapper.readerFor(CompetencyImportRow.class).readValues(parser);
+        return new CompetencyImportReader(rows, parser);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return rows.hasNext();
+    }
+
+    @Override
+    public CompetencyImportRow next() {
+        return rows.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        resource.close();
+    }
+
+    private static CompetencyImportRow toRow(CSVRecord record) {
+        String title = record.size() > 0 ? record.get(0) : "";
+        String description = record.size() > 1 ? record.get(1) : null;
+        return new CompetencyImportRow(title, description);
+    }
+}
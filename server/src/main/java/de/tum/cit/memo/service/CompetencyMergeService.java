@@ -0,0 +1,88 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.dto.MergeCompetenciesRequest;
+import de.tum.cit.memo.dto.MergeResult;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.exception.ResourceNotFoundException;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Merges a duplicate competency into the one that survives. The rewrite runs as
+ * a handful of set-based statements in one transaction (see
+ * {@link de.tum.cit.memo.repository.CompetencyRepositoryCustom#mergeCompetency}),
+ * so its cost does not grow with round-trips per relationship or vote. Since
+ * votes move between relationships wholesale, the in-memory indexes and per-user
+ * caches are rebuilt afterwards rather than patched.
+ */
+@Slf4j
+@Service
+public class CompetencyMergeService {
+
+    private final CompetencyRepository competencyRepository;
+    private final VoteCounterBuffer counterBuffer;
+    private final CompetencyGraphIndex graphIndex;
+    private final CompetencyDuplicateIndex duplicateIndex;
+    private final ConsensusCandidateIndex consensusIndex;
+    private final UserVoteFilter voteFilter;
+    private final ContributorStatsService contributorStats;
+    private final ContributorLeaderboard leaderboard;
+    private final TransactionTemplate transactionTemplate;
+
+    public CompetencyMergeService(CompetencyRepository competencyRepository, VoteCounterBuffer counterBuffer,
+            CompetencyGraphIndex graphIndex, CompetencyDuplicateIndex duplicateIndex,
+            ConsensusCandidateIndex consensusIndex, UserVoteFilter voteFilter,
+            ContributorStatsService contributorStats, ContributorLeaderboard leaderboard,
+            PlatformTransactionManager transactionManager) {
+        this.competencyRepository = competencyRepository;
+        this.counterBuffer = counterBuffer;
+        this.graphIndex = graphIndex;
+        this.duplicateIndex = duplicateIndex;
+        this.consensusIndex = consensusIndex;
+        this.voteFilter = voteFilter;
+        this.contributorStats = contributorStats;
+        this.leaderboard = leaderboard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Folds {@code duplicateId} into {@code survivorId} and deletes it. Votes on a
+     * pair both competencies already had are combined, keeping the survivor-side
+     * vote when a user voted on both; relationships between the two competencies
+     * are dropped with their votes.
+     */
+    public MergeResult merge(MergeCompetenciesRequest request) {
+        String survivorId = request.getSurvivorId();
+        String duplicateId = request.getDuplicateId();
+        if (survivorId.equals(duplicateId)) {
+            throw new InvalidOperationException("Cannot merge a competency into itself");
+        }
+
+        // Counters and degrees are recounted from the vote log, so no buffered delta may land on top
+        MergeResult result = counterBuffer.recounting(() -> transactionTemplate.execute(status -> {
+            if (competencyRepository.findExistingIds(List.of(survivorId, duplicateId)).size() != 2) {
+                throw new ResourceNotFoundException("Competency not found");
+            }
+            MergeResult merged = competencyRepository.mergeCompetency(duplicateId, survivorId);
+            if (counterBuffer.isEnabled()) {
+                counterBuffer.discardRecounted(competencyRepository.findMergeRecountedRelationshipIds(),
+                        competencyRepository.findMergeRecountedCompetencyIds(survivorId));
+            }
+            duplicateIndex.competencyRemoved(duplicateId);
+            voteFilter.allVotesChanged();
+            contributorStats.allVotesChanged();
+            leaderboard.allVotesChanged();
+            return merged;
+        }));
+
+        graphIndex.refresh();
+        consensusIndex.refresh();
+        log.info("Merged competency {} into {}: {}", duplicateId, survivorId, result);
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package de.tum.cit.memo.service;
 
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.entity.CompetencyRelationship;
 import de.tum.cit.memo.exception.InvalidOperationException;
 import de.tum.cit.memo.exception.ResourceNotFoundException;
@@ -7,10 +8,12 @@ import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
 import de.tum.cit.memo.repository.CompetencyRepository;
 import de.tum.cit.memo.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * CRUD for competency relationships (voting logic lives in SchedulingService).
@@ -22,6 +25,10 @@ public class CompetencyRelationshipService {
 
     private final CompetencyRelationshipRepository relationshipRepository;
     private final CompetencyRepository competencyRepository;
+    private final CompetencyGraphIndex graphIndex;
+    private final ConsensusCandidateIndex consensusIndex;
+    private final ContributorStatsService contributorStats;
+    private final ContributorLeaderboard leaderboard;
 
     @Transactional
     public CompetencyRelationship createRelationship(String originId, String destinationId) {
@@ -41,8 +48,16 @@ public class CompetencyRelationshipService {
     }
 
     @Transactional(readOnly = true)
-    public List<CompetencyRelationship> getAllRelationships() {
-        return relationshipRepository.findAll();
+    public CursorPage<CompetencyRelationship> getRelationshipPage(String after, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        List<CompetencyRelationship> rows = relationshipRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.start(after),
+            PageRequest.ofSize(size + 1));
+        return CursorPage.of(rows, size, CompetencyRelationship::getId);
+    }
+
+    /** All relationships in id order; must be consumed inside a transaction. */
+    public Stream<CompetencyRelationship> streamRelationships() {
+        return relationshipRepository.streamAllOrderedById();
     }
 
     @Transactional
@@ -52,6 +67,11 @@ public class CompetencyRelationshipService {
 
         competencyRepository.decrementDegree(List.of(relationship.getOriginId(), relationship.getDestinationId()));
         relationshipRepository.deleteById(id);
+        graphIndex.relationshipDeleted(relationship.getOriginId(), relationship.getDestinationId());
+        consensusIndex.relationshipRemoved(id);
+        // Its votes were deleted with it
+        contributorStats.allVotesChanged();
+        leaderboard.allVotesChanged();
     }
 
     private CompetencyRelationship buildAndSave(String originId, String destinationId) {
@@ -63,6 +83,7 @@ public class CompetencyRelationshipService {
 
         CompetencyRelationship saved = relationshipRepository.save(relationship);
         competencyRepository.incrementDegree(List.of(originId, destinationId));
+        graphIndex.relationshipCreated(originId, destinationId);
         return saved;
     }
 
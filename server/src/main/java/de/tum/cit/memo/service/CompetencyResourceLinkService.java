@@ -1,15 +1,18 @@
 package de.tum.cit.memo.service;
 
 import de.tum.cit.memo.dto.CreateCompetencyResourceLinkRequest;
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.entity.CompetencyResourceLink;
 import de.tum.cit.memo.exception.ResourceNotFoundException;
 import de.tum.cit.memo.repository.CompetencyResourceLinkRepository;
 import de.tum.cit.memo.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -38,8 +41,16 @@ public class CompetencyResourceLinkService {
     }
 
     @Transactional(readOnly = true)
-    public List<CompetencyResourceLink> getAllLinks() {
-        return linkRepository.findAll();
+    public CursorPage<CompetencyResourceLink> getLinkPage(String after, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        List<CompetencyResourceLink> rows = linkRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.start(after),
+            PageRequest.ofSize(size + 1));
+        return CursorPage.of(rows, size, CompetencyResourceLink::getId);
+    }
+
+    /** All resource links in id order; must be consumed inside a transaction. */
+    public Stream<CompetencyResourceLink> streamLinks() {
+        return linkRepository.streamAllOrderedById();
     }
 
     @Transactional
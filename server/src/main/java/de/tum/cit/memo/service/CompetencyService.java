@@ -2,35 +2,74 @@ package de.tum.cit.memo.service;
 
 import de.tum.cit.memo.dto.CompetencyImportRow;
 import de.tum.cit.memo.dto.CreateCompetencyRequest;
+import de.tum.cit.memo.dto.CursorPage;
+import de.tum.cit.memo.dto.DuplicateCluster;
 import de.tum.cit.memo.dto.ImportResult;
+import de.tum.cit.memo.dto.PossibleDuplicate;
 import de.tum.cit.memo.dto.UpdateCompetencyRequest;
 import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.exception.ResourceAlreadyExistsException;
 import de.tum.cit.memo.exception.ResourceNotFoundException;
 import de.tum.cit.memo.repository.CompetencyRepository;
 import de.tum.cit.memo.util.IdGenerator;
+import de.tum.cit.memo.util.TitleNormalizer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @SuppressWarnings("null")
 public class CompetencyService {
 
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 100;
+    static final int MAX_REPORTED_DUPLICATES = 100;
+    private static final int MAX_DUPLICATE_CLUSTERS = 500;
+    private static final String NORMALIZED_TITLE_KEY = "competencies_normalized_title_key";
+
     private final CompetencyRepository competencyRepository;
+    private final CompetencyGraphIndex graphIndex;
+    private final CompetencyDuplicateIndex duplicateIndex;
+    private final ConsensusCandidateIndex consensusIndex;
+    private final ContributorStatsService contributorStats;
+    private final ContributorLeaderboard leaderboard;
 
     @Transactional
     public Competency createCompetency(CreateCompetencyRequest request) {
+        String normalizedTitle = TitleNormalizer.normalize(request.getTitle());
+        if (competencyRepository.existsByNormalizedTitle(normalizedTitle)) {
+            throw new ResourceAlreadyExistsException("Competency with this title already exists");
+        }
+
         Competency competency = Competency.builder()
             .id(IdGenerator.generateCuid())
             .title(request.getTitle())
+            .normalizedTitle(normalizedTitle)
             .description(request.getDescription())
             .build();
 
-        return competencyRepository.save(competency);
+        Competency saved = saveWithUniqueTitle(competency);
+        graphIndex.competencyAdded(saved.getId());
+        duplicateIndex.competencySaved(saved.getId(), saved.getTitle(), saved.getDescription());
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -40,8 +79,45 @@ public class CompetencyService {
     }
 
     @Transactional(readOnly = true)
-    public List<Competency> getAllCompetencies() {
-        return competencyRepository.findAll();
+    public CursorPage<Competency> getCompetencyPage(String after, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        List<Competency> rows = competencyRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.start(after),
+            PageRequest.ofSize(size + 1));
+        return CursorPage.of(rows, size, Competency::getId);
+    }
+
+    /** All competencies in id order; must be consumed inside a transaction. */
+    public Stream<Competency> streamCompetencies() {
+        return competencyRepository.streamAllOrderedById();
+    }
+
+    /** Competencies left without a dedup key because their title duplicates an older one. */
+    @Transactional(readOnly = true)
+    public List<Competency> getTitleCollisions() {
+        return competencyRepository.findByNormalizedTitleIsNullOrderByTitleAsc();
+    }
+
+    /**
+     * Clusters of competencies whose title and description look alike, largest
+     * first, for merging by an admin.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateCluster> getDuplicateClusters(double minSimilarity, int limit) {
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new InvalidOperationException("minSimilarity must be in (0, 1]");
+        }
+        if (limit < 1 || limit > MAX_DUPLICATE_CLUSTERS) {
+            throw new InvalidOperationException("limit must be between 1 and " + MAX_DUPLICATE_CLUSTERS);
+        }
+        List<List<String>> clusters = duplicateIndex.clusters(minSimilarity).stream().limit(limit).toList();
+        Map<String, Competency> byId = new HashMap<>();
+        competencyRepository.findAllById(clusters.stream().flatMap(List::stream).toList())
+            .forEach(competency -> byId.put(competency.getId(), competency));
+        return clusters.stream()
+            .map(ids -> ids.stream().map(byId::get).filter(Objects::nonNull).toList())
+            .filter(members -> members.size() > 1)
+            .map(members -> DuplicateCluster.builder().competencies(members).build())
+            .toList();
     }
 
     @Transactional(readOnly = true)
@@ -57,13 +133,21 @@ public class CompetencyService {
         Competency competency = getCompetencyById(id);
 
         if (request.getTitle() != null) {
+            String normalizedTitle = TitleNormalizer.normalize(request.getTitle());
+            if (!normalizedTitle.equals(competency.getNormalizedTitle())
+                && competencyRepository.existsByNormalizedTitle(normalizedTitle)) {
+                throw new ResourceAlreadyExistsException("Competency with this title already exists");
+            }
             competency.setTitle(request.getTitle());
+            competency.setNormalizedTitle(normalizedTitle);
         }
         if (request.getDescription() != null) {
             competency.setDescription(request.getDescription());
         }
 
-        return competencyRepository.save(competency);
+        Competency saved = saveWithUniqueTitle(competency);
+        duplicateIndex.competencySaved(saved.getId(), saved.getTitle(), saved.getDescription());
+        return saved;
     }
 
     @Transactional
@@ -72,32 +156,138 @@ public class CompetencyService {
             throw new ResourceNotFoundException("Competency not found");
         }
         competencyRepository.deleteById(id);
+        graphIndex.competencyRemoved(id);
+        duplicateIndex.competencyRemoved(id);
+        consensusIndex.competencyRemoved(id);
+        // Votes on the competency's relationships were deleted with it
+        contributorStats.allVotesChanged();
+        leaderboard.allVotesChanged();
     }
 
     @Transactional
     public ImportResult bulkImportCompetencies(List<CompetencyImportRow> rows) {
-        List<Competency> toSave = new ArrayList<>();
+        return importCompetencies(rows.iterator());
+    }
+
+    /**
+     * Imports rows as they are read, skipping titles that already exist or repeat
+     * within the import, compared by normalized title. Rows are checked against
+     * existing titles one chunk at a time, copied into a staging table with
+     * {@code COPY} and merged in a single statement at the end, so memory and
+     * round-trips stay flat with file size.
+     */
+    @Transactional
+    public ImportResult importCompetencies(Iterator<CompetencyImportRow> rows) {
+        competencyRepository.createImportStaging();
+        Set<String> seenTitles = new HashSet<>();
+        List<CompetencyImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
         List<String> errors = new ArrayList<>();
-        int skipped = 0;
+        List<PossibleDuplicate> possibleDuplicates = new ArrayList<>();
+        int invalid = 0;
+        int valid = 0;
+        int rowNumber = 0;
 
-        for (int i = 0; i < rows.size(); i++) {
-            CompetencyImportRow row = rows.get(i);
+        while (rows.hasNext()) {
+            CompetencyImportRow row = rows.next();
+            rowNumber++;
             if (row.getTitle() == null || row.getTitle().isBlank()) {
-                errors.add("Row " + (i + 1) + ": title is required");
+                if (invalid++ < MAX_REPORTED_IMPORT_ERRORS) {
+                    errors.add("Row " + rowNumber + ": title is required");
+                }
                 continue;
             }
-            if (competencyRepository.existsByTitle(row.getTitle())) {
-                skipped++;
+            valid++;
+            if (!seenTitles.add(TitleNormalizer.normalize(row.getTitle()))) {
                 continue;
             }
-            toSave.add(Competency.builder()
+            chunk.add(row);
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                stageImportChunk(chunk, possibleDuplicates);
+                chunk.clear();
+            }
+        }
+        stageImportChunk(chunk, possibleDuplicates);
+        if (invalid > MAX_REPORTED_IMPORT_ERRORS) {
+            errors.add("... and " + (invalid - MAX_REPORTED_IMPORT_ERRORS) + " more rows without a title");
+        }
+
+        List<String> imported = competencyRepository.mergeImportStaging();
+        graphIndex.competenciesAdded(imported);
+        duplicateIndex.competenciesAdded(imported);
+        log.info("Imported {} competencies ({} rows, {} skipped, {} invalid)",
+            imported.size(), rowNumber, valid - imported.size(), invalid);
+        return new ImportResult(imported.size(), valid - imported.size(), errors, possibleDuplicates);
+    }
+
+    /**
+     * Imports one chunk of titled rows in its own transaction, so background jobs
+     * commit as they go. Titles that already exist, including those committed by
+     * earlier chunks, or that repeat within the chunk are skipped. The result
+     * carries no errors; rows without a title are left to the caller.
+     */
+    @Transactional
+    public ImportResult importChunk(List<CompetencyImportRow> rows) {
+        Map<String, CompetencyImportRow> byTitle = new LinkedHashMap<>();
+        rows.forEach(row -> byTitle.putIfAbsent(TitleNormalizer.normalize(row.getTitle()), row));
+        List<PossibleDuplicate> possibleDuplicates = new ArrayList<>();
+        competencyRepository.createImportStaging();
+        stageImportChunk(new ArrayList<>(byTitle.values()), possibleDuplicates);
+        List<String> imported = competencyRepository.mergeImportStaging();
+        graphIndex.competenciesAdded(imported);
+        duplicateIndex.competenciesAdded(imported);
+        return new ImportResult(imported.size(), rows.size() - imported.size(), List.of(), possibleDuplicates);
+    }
+
+    /**
+     * Drops titles that already exist with one index lookup, then copies the rest
+     * into staging. Rows resembling an existing competency are still imported but
+     * reported, up to {@value #MAX_REPORTED_DUPLICATES} per import.
+     */
+    private void stageImportChunk(List<CompetencyImportRow> chunk, List<PossibleDuplicate> possibleDuplicates) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Competency> competencies = chunk.stream()
+            .map(row -> Competency.builder()
                 .id(IdGenerator.generateCuid())
                 .title(row.getTitle())
+                .normalizedTitle(TitleNormalizer.normalize(row.getTitle()))
                 .description(row.getDescription())
-                .build());
+                .build())
+            .toList();
+        Set<String> existing = new HashSet<>(competencyRepository.findExistingNormalizedTitles(
+            competencies.stream().map(Competency::getNormalizedTitle).toList()));
+        List<Competency> staged = competencies.stream()
+            .filter(competency -> !existing.contains(competency.getNormalizedTitle()))
+            .toList();
+        for (Competency competency : staged) {
+            if (possibleDuplicates.size() == MAX_REPORTED_DUPLICATES) {
+                break;
+            }
+            duplicateIndex.mostSimilar(competency.getTitle(), competency.getDescription(),
+                CompetencyDuplicateIndex.DEFAULT_MIN_SIMILARITY)
+                .ifPresent(match -> possibleDuplicates.add(new PossibleDuplicate(
+                    competency.getTitle(), match.id(), match.title(), match.similarity())));
         }
+        competencyRepository.copyIntoImportStaging(staged);
+    }
 
-        competencyRepository.saveAll(toSave);
-        return new ImportResult(toSave.size(), skipped, errors);
+    /**
+     * Flushes right away, so that a concurrent request that passed the same
+     * title check surfaces here as a conflict on the unique index instead of
+     * failing at commit.
+     */
+    private Competency saveWithUniqueTitle(Competency competency) {
+        try {
+            return competencyRepository.saveAndFlush(competency);
+        } catch (DataIntegrityViolationException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ConstraintViolationException violation
+                    && NORMALIZED_TITLE_KEY.equals(violation.getConstraintName())) {
+                    throw new ResourceAlreadyExistsException("Competency with this title already exists");
+                }
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,356 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRelationshipVoteRepository;
+import de.tum.cit.memo.repository.RelationshipCounters;
+import de.tum.cit.memo.repository.RelationshipVoter;
+import de.tum.cit.memo.util.AliasTable;
+import de.tum.cit.memo.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Resident, entropy-ordered set of consensus candidates: relationships with
+ * {@value SchedulingService#CONSENSUS_MIN_VOTES}–{@value SchedulingService#CONSENSUS_MAX_VOTES}
+ * votes and entropy above {@value SchedulingService#CONSENSUS_MIN_ENTROPY}. Each
+ * candidate carries its (at most twenty) voters, so filtering out what a user
+ * already voted on needs no anti-join against the vote log.
+ * Updated after each committed vote change and rebuilt periodically to pick up
+ * writes from other instances; updates that arrive while a rebuild is loading
+ * are replayed onto the new state, since the load may have missed them.
+ * <p>
+ * Sampling goes through a Walker alias table over all candidates, weighted by
+ * {@code entropy / (totalVotes + 1)}. The table is rebuilt in epochs, at most once
+ * per {@value #EPOCH_MIN_MILLIS} ms and only when the index changed; samples are
+ * checked against the live index, so votes since the epoch began are respected.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConsensusCandidateIndex {
+
+    private static final Comparator<Candidate> BY_ENTROPY_DESC = Comparator
+            .comparingDouble(Candidate::entropy).reversed()
+            .thenComparing(Candidate::id);
+
+    /** Sampling attempts per requested slot before falling back to an ordered scan. */
+    private static final int SAMPLE_ATTEMPTS_PER_SLOT = 8;
+    private static final long EPOCH_MIN_MILLIS = 1000;
+
+    private final CompetencyRelationshipRepository relationshipRepository;
+    private final CompetencyRelationshipVoteRepository voteRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Object epochLock = new Object();
+    private final Object refreshLock = new Object();
+    private volatile State state;
+    /** Updates seen while a rebuild is loading; null when none is in flight. Guarded by {@code this}. */
+    private volatile List<Consumer<State>> pending;
+    private volatile Epoch epoch;
+
+    /**
+     * Returns up to {@code limit} candidates the user has not voted on, highest
+     * entropy first. Skipped entries may be relationship IDs.
+     */
+    public List<CompetencyRelationship> candidates(String userId, Set<String> skippedIds, int limit) {
+        List<CompetencyRelationship> result = new ArrayList<>(limit);
+        for (Candidate candidate : ensureLoaded().ordered) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (isEligible(candidate, userId, skippedIds)) {
+                result.add(candidate.toRelationship());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Draws up to {@code count} distinct candidates the user has not voted on or
+     * skipped, each with probability proportional to its weight. Falls back to
+     * entropy order once rejections pile up, e.g. when the user voted on most of
+     * the band.
+     */
+    public List<CompetencyRelationship> sample(String userId, Set<String> skippedIds, int count, Random random) {
+        State s = ensureLoaded();
+        Epoch e = currentEpoch(s);
+        Map<String, CompetencyRelationship> picked = new LinkedHashMap<>();
+        int attempts = count * SAMPLE_ATTEMPTS_PER_SLOT;
+        for (int i = 0; i < attempts && picked.size() < count && e.table().size() > 0; i++) {
+            // Look up the live entry: it may have new voters or have left the band
+            Candidate candidate = s.byId.get(e.candidates()[e.table().sample(random)].id());
+            if (candidate != null && isEligible(candidate, userId, skippedIds)) {
+                picked.putIfAbsent(candidate.id(), candidate.toRelationship());
+            }
+        }
+        if (picked.size() < count) {
+            for (Candidate candidate : s.ordered) {
+                if (picked.size() == count) {
+                    break;
+                }
+                if (isEligible(candidate, userId, skippedIds)) {
+                    picked.putIfAbsent(candidate.id(), candidate.toRelationship());
+                }
+            }
+        }
+        return new ArrayList<>(picked.values());
+    }
+
+    /** Number of relationships currently in the consensus band. */
+    public int size() {
+        return ensureLoaded().byId.size();
+    }
+
+    public void voteApplied(RelationshipCounters counters, String userId) {
+        Candidate updated = Candidate.of(counters, Set.of());
+        TransactionHooks.afterCommit(() -> apply(updated, userId, true));
+    }
+
+    public void voteRemoved(RelationshipCounters counters, String userId) {
+        Candidate updated = Candidate.of(counters, Set.of());
+        TransactionHooks.afterCommit(() -> apply(updated, userId, false));
+    }
+
+    public void relationshipRemoved(String relationshipId) {
+        TransactionHooks.afterCommit(() -> mutate(s -> removeIf(s, c -> c.id().equals(relationshipId))));
+    }
+
+    /** Drops candidates whose relationship was removed together with the competency. */
+    public void competencyRemoved(String competencyId) {
+        TransactionHooks.afterCommit(() -> mutate(s -> removeIf(s,
+                c -> c.originId().equals(competencyId) || c.destinationId().equals(competencyId))));
+    }
+
+    /**
+     * Rebuilds the index from the database. Runs on first use and periodically so
+     * that votes recorded by other nodes are eventually reflected.
+     */
+    @Scheduled(fixedDelayString = "${memo.scheduling.consensus-index-refresh-interval:PT1M}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            State fresh;
+            try {
+                fresh = load();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                // Replaying is safe even if the load already saw an update: each one is idempotent
+                pending.forEach(change -> change.accept(fresh));
+                pending = null;
+                state = fresh;
+            }
+            log.debug("Consensus candidate index loaded: {} candidates", fresh.byId.size());
+        }
+    }
+
+    private static boolean isEligible(Candidate candidate, String userId, Set<String> skippedIds) {
+        return !candidate.voters().contains(userId) && !skippedIds.contains(candidate.id());
+    }
+
+    /** Returns the sampling epoch, rebuilding it if the index changed and the epoch is old enough. */
+    private Epoch currentEpoch(State s) {
+        Epoch e = epoch;
+        if (e != null && e.state() == s && (e.version() == s.version
+                || System.currentTimeMillis() - e.builtAt() < EPOCH_MIN_MILLIS)) {
+            return e;
+        }
+        synchronized (epochLock) {
+            e = epoch;
+            if (e != null && e.state() == s && e.version() == s.version) {
+                return e;
+            }
+            long version = s.version;
+            Candidate[] candidates = s.byId.values().toArray(new Candidate[0]);
+            double[] weights = new double[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                weights[i] = candidates[i].weight();
+            }
+            e = new Epoch(s, version, System.currentTimeMillis(), candidates, new AliasTable(weights));
+            epoch = e;
+            return e;
+        }
+    }
+
+    private State ensureLoaded() {
+        State s = state;
+        if (s != null) {
+            return s;
+        }
+        synchronized (refreshLock) {
+            if (state == null) {
+                refresh();
+            }
+            return state;
+        }
+    }
+
+    private void apply(Candidate updated, String userId, boolean voted) {
+        State s = ensureLoaded();
+        // Entering the band: the voters are not known yet, read them once outside the lock.
+        // A rebuild in flight may not have picked up the candidate either.
+        Set<String> entering = updated.inBand() && (pending != null || !s.byId.containsKey(updated.id()))
+                ? Set.copyOf(voteRepository.findUserIdsByRelationshipId(updated.id()))
+                : null;
+        mutate(target -> apply(target, updated, userId, voted, entering));
+    }
+
+    private static void apply(State s, Candidate updated, String userId, boolean voted, Set<String> entering) {
+        Candidate current = s.byId.get(updated.id());
+        if (!updated.inBand()) {
+            if (current != null) {
+                s.remove(current);
+            }
+            return;
+        }
+        if (current != null) {
+            Set<String> voters = new HashSet<>(current.voters());
+            if (voted) {
+                voters.add(userId);
+            } else {
+                voters.remove(userId);
+            }
+            s.put(current, updated.withVoters(voters));
+        } else if (entering != null) {
+            s.put(null, updated.withVoters(entering));
+        }
+        // Otherwise the candidate was present when the vote committed and a later update removed it
+    }
+
+    private static void removeIf(State s, Predicate<Candidate> filter) {
+        s.byId.values().stream().filter(filter).toList().forEach(s::remove);
+    }
+
+    /** Applies the update to the live state and records it for a rebuild in flight. */
+    private synchronized void mutate(Consumer<State> change) {
+        if (state != null) {
+            change.accept(state);
+        }
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    private State load() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        // Reached from after-commit hooks while the finished transaction is still bound
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.setReadOnly(true);
+        return tx.execute(status -> {
+            Map<String, Set<String>> voters = new HashMap<>();
+            for (RelationshipVoter voter : voteRepository.findVotersInConsensusBand(
+                    SchedulingService.CONSENSUS_MIN_VOTES, SchedulingService.CONSENSUS_MAX_VOTES,
+                    SchedulingService.CONSENSUS_MIN_ENTROPY)) {
+                voters.computeIfAbsent(voter.getRelationshipId(), id -> new HashSet<>()).add(voter.getUserId());
+            }
+            State s = new State();
+            for (CompetencyRelationship rel : relationshipRepository.findConsensusCandidates(
+                    SchedulingService.CONSENSUS_MIN_VOTES, SchedulingService.CONSENSUS_MAX_VOTES,
+                    SchedulingService.CONSENSUS_MIN_ENTROPY, Pageable.unpaged())) {
+                s.put(null, Candidate.of(rel, Set.copyOf(voters.getOrDefault(rel.getId(), Set.of()))));
+            }
+            return s;
+        });
+    }
+
+    /** Ordered view for readers plus id lookup for writers; writes are serialized by the index. */
+    private static final class State {
+
+        private final ConcurrentSkipListSet<Candidate> ordered = new ConcurrentSkipListSet<>(BY_ENTROPY_DESC);
+        private final Map<String, Candidate> byId = new ConcurrentHashMap<>();
+        private volatile long version;
+
+        void put(Candidate previous, Candidate next) {
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            byId.put(next.id(), next);
+            ordered.add(next);
+            version++;
+        }
+
+        void remove(Candidate candidate) {
+            ordered.remove(candidate);
+            byId.remove(candidate.id());
+            version++;
+        }
+    }
+
+    /** Immutable sampling snapshot of the candidates at one index version. */
+    private record Epoch(State state, long version, long builtAt, Candidate[] candidates, AliasTable table) {
+    }
+
+    private record Candidate(String id, String originId, String destinationId, int voteAssumes, int voteExtends,
+            int voteMatches, int voteUnrelated, int totalVotes, double entropy, Set<String> voters) {
+
+        static Candidate of(RelationshipCounters c, Set<String> voters) {
+            return new Candidate(c.getId(), c.getOriginId(), c.getDestinationId(), c.getVoteAssumes(),
+                    c.getVoteExtends(), c.getVoteMatches(), c.getVoteUnrelated(), c.getTotalVotes(),
+                    c.getEntropy(), voters);
+        }
+
+        static Candidate of(CompetencyRelationship r, Set<String> voters) {
+            return new Candidate(r.getId(), r.getOriginId(), r.getDestinationId(), r.getVoteAssumes(),
+                    r.getVoteExtends(), r.getVoteMatches(), r.getVoteUnrelated(), r.getTotalVotes(),
+                    r.getEntropy(), voters);
+        }
+
+        Candidate withVoters(Set<String> newVoters) {
+            return new Candidate(id, originId, destinationId, voteAssumes, voteExtends, voteMatches,
+                    voteUnrelated, totalVotes, entropy, Set.copyOf(newVoters));
+        }
+
+        /** Sampling weight: ambiguous relationships with few votes are asked most. */
+        double weight() {
+            return entropy / (totalVotes + 1.0);
+        }
+
+        boolean inBand() {
+            return totalVotes >= SchedulingService.CONSENSUS_MIN_VOTES
+                    && totalVotes <= SchedulingService.CONSENSUS_MAX_VOTES
+                    && entropy > SchedulingService.CONSENSUS_MIN_ENTROPY;
+        }
+
+        /** Detached copy for building task responses; never persisted. */
+        CompetencyRelationship toRelationship() {
+            return CompetencyRelationship.builder()
+                    .id(id)
+                    .originId(originId)
+                    .destinationId(destinationId)
+                    .voteAssumes(voteAssumes)
+                    .voteExtends(voteExtends)
+                    .voteMatches(voteMatches)
+                    .voteUnrelated(voteUnrelated)
+                    .totalVotes(totalVotes)
+                    .entropy(entropy)
+                    .build();
+        }
+    }
+}
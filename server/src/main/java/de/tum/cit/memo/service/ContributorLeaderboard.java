@@ -0,0 +1,296 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.dto.LeaderboardEntry;
+import de.tum.cit.memo.dto.LeaderboardResponse;
+import de.tum.cit.memo.enums.LeaderboardPeriod;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.repository.CompetencyRelationshipVoteRepository;
+import de.tum.cit.memo.repository.UserDailyVoteCount;
+import de.tum.cit.memo.repository.UserVoteTotal;
+import de.tum.cit.memo.util.OrderStatisticTree;
+import de.tum.cit.memo.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory contributor ranking by vote count for each {@link LeaderboardPeriod}.
+ * Each period keeps its scores in an {@link OrderStatisticTree}, so a vote moves one
+ * entry and any user's rank is found in O(log n) without grouping the vote log.
+ * <p>
+ * Built from the daily vote rollup at startup and on a fixed interval (to pick up
+ * other instances' votes and cascading deletes), and adjusted after each committed
+ * vote or unvote in between. Changes that arrive while a rebuild is loading are
+ * replayed onto the new ranking, since its snapshot may predate them. The 7- and
+ * 30-day windows are recomputed from per-user daily counts when the UTC day changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContributorLeaderboard {
+
+    public static final int MAX_LIMIT = 100;
+
+    /** Longest windowed period; per-user daily counts are kept this far back. */
+    private static final int MAX_WINDOW_DAYS = 30;
+
+    private static final Comparator<Score> BY_VOTES_DESC = Comparator
+            .comparingLong(Score::votes).reversed()
+            .thenComparing(Score::userId);
+
+    private final CompetencyRelationshipVoteRepository voteRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /** Guarded by {@code this}. */
+    private State state;
+    /** Vote changes seen by each rebuild still loading. Guarded by {@code this}. */
+    private final Set<List<Change>> loading = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile boolean stale;
+
+    /** Returns the top {@code limit} contributors of the period, highest first. */
+    public synchronized LeaderboardResponse top(LeaderboardPeriod period, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidOperationException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Board board = current().boards.get(period);
+        List<LeaderboardEntry> entries = board.ranking.range(0, limit).stream()
+                .map(score -> toEntry(board, score))
+                .toList();
+        return LeaderboardResponse.builder()
+                .period(period)
+                .totalContributors(board.ranking.size())
+                .entries(entries)
+                .build();
+    }
+
+    /** Returns the user's position in the period, or empty if they have no votes in it. */
+    public synchronized Optional<LeaderboardEntry> rank(String userId, LeaderboardPeriod period) {
+        Board board = current().boards.get(period);
+        Long votes = board.votes.get(userId);
+        return votes == null ? Optional.empty() : Optional.of(toEntry(board, new Score(userId, votes)));
+    }
+
+    public void voteRecorded(String userId) {
+        LocalDate day = LocalDate.now(ZoneOffset.UTC);
+        TransactionHooks.afterCommit(() -> adjust(userId, day, 1));
+    }
+
+    public void voteRemoved(String userId, Instant votedAt) {
+        LocalDate day = votedAt == null ? LocalDate.now(ZoneOffset.UTC) : LocalDate.ofInstant(votedAt, ZoneOffset.UTC);
+        TransactionHooks.afterCommit(() -> adjust(userId, day, -1));
+    }
+
+    /** Forces a rebuild on next use, e.g. after votes were removed by a cascading delete. */
+    public void allVotesChanged() {
+        TransactionHooks.afterCommit(() -> stale = true);
+    }
+
+    /** Rebuilds the ranking from the database; runs at startup and then periodically. */
+    @Scheduled(fixedDelayString = "${memo.scheduling.leaderboard-refresh-interval:PT10M}")
+    public void refresh() {
+        List<Change> missed = new ArrayList<>();
+        State fresh;
+        try {
+            fresh = load(LocalDate.now(ZoneOffset.UTC), missed);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading.remove(missed);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            loading.remove(missed);
+            missed.forEach(change -> apply(fresh, change));
+            state = fresh;
+            stale = false;
+        }
+        log.debug("Leaderboard loaded: {} contributors", fresh.activity.size());
+    }
+
+    private static LeaderboardEntry toEntry(Board board, Score score) {
+        return LeaderboardEntry.builder()
+                .rank(board.rankOf(score.votes()))
+                .userId(score.userId())
+                .votes(score.votes())
+                .build();
+    }
+
+    /** Returns the state for today, loading or rolling the windows forward as needed. */
+    private synchronized State current() {
+        if (state == null || stale) {
+            refresh();
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (!state.day.equals(today)) {
+            state = state.rolledTo(today);
+        }
+        return state;
+    }
+
+    private synchronized void adjust(String userId, LocalDate day, int delta) {
+        Change change = new Change(userId, day, delta);
+        loading.forEach(missed -> missed.add(change));
+        if (state == null || stale) {
+            // The next load, on first use or scheduled, includes the committed change
+            return;
+        }
+        apply(current(), change);
+    }
+
+    private static void apply(State s, Change change) {
+        Activity activity = s.activity.computeIfAbsent(change.userId(), id -> new Activity());
+        activity.total = Math.max(0, activity.total + change.delta());
+        long epochDay = change.day().toEpochDay();
+        if (epochDay > s.day.toEpochDay() - MAX_WINDOW_DAYS) {
+            activity.add(epochDay, change.delta());
+        }
+        s.boards.get(LeaderboardPeriod.ALL_TIME).set(change.userId(), activity.total);
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            if (period.getDays() > 0) {
+                s.boards.get(period).set(change.userId(), activity.since(s.firstDayOf(period)));
+            }
+        }
+        if (activity.total == 0) {
+            s.activity.remove(change.userId());
+        }
+    }
+
+    /**
+     * Reads the ranking from one snapshot. Changes committed from here on are
+     * collected into {@code missed}; one committed in the instant before the
+     * snapshot is taken may be counted twice until the next rebuild.
+     */
+    private State load(LocalDate today, List<Change> missed) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        // Callers may run after commit while the finished transaction is still bound
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.setReadOnly(true);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return tx.execute(status -> {
+            synchronized (this) {
+                loading.add(missed);
+            }
+            Map<String, Activity> activity = new HashMap<>();
+            for (UserVoteTotal total : voteRepository.findVoteTotalsByUser()) {
+                activity.computeIfAbsent(total.getUserId(), id -> new Activity()).total = total.getVoteCount();
+            }
+            for (UserDailyVoteCount row : voteRepository.findDailyRollupSince(today.minusDays(MAX_WINDOW_DAYS - 1L))) {
+                activity.computeIfAbsent(row.getUserId(), id -> new Activity())
+                        .add(row.getVoteDate().toEpochDay(), row.getVoteCount().intValue());
+            }
+            return new State(today, activity);
+        });
+    }
+
+    private record Score(String userId, long votes) {
+    }
+
+    /** A committed vote (+1) or unvote (-1) of a user on a day. */
+    private record Change(String userId, LocalDate day, int delta) {
+    }
+
+    /** Vote counts of one period, ranked. */
+    private static final class Board {
+
+        private final OrderStatisticTree<Score> ranking = new OrderStatisticTree<>(BY_VOTES_DESC);
+        private final Map<String, Long> votes = new HashMap<>();
+
+        void set(String userId, long newVotes) {
+            Long old = votes.remove(userId);
+            if (old != null) {
+                ranking.remove(new Score(userId, old));
+            }
+            if (newVotes > 0) {
+                votes.put(userId, newVotes);
+                ranking.add(new Score(userId, newVotes));
+            }
+        }
+
+        /** One plus the number of users with strictly more votes; "" sorts before every user id. */
+        int rankOf(long userVotes) {
+            return ranking.countLess(new Score("", userVotes)) + 1;
+        }
+    }
+
+    /** A user's lifetime total plus a ring of their last {@value #MAX_WINDOW_DAYS} daily counts. */
+    private static final class Activity {
+
+        private long total;
+        private int[] counts;
+        private long[] days;
+
+        void add(long epochDay, int delta) {
+            if (counts == null) {
+                counts = new int[MAX_WINDOW_DAYS];
+                days = new long[MAX_WINDOW_DAYS];
+            }
+            int slot = (int) Math.floorMod(epochDay, MAX_WINDOW_DAYS);
+            if (days[slot] != epochDay) {
+                if (days[slot] > epochDay) {
+                    return;
+                }
+                days[slot] = epochDay;
+                counts[slot] = 0;
+            }
+            counts[slot] = Math.max(0, counts[slot] + delta);
+        }
+
+        long since(long firstEpochDay) {
+            if (counts == null) {
+                return 0;
+            }
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (days[i] >= firstEpochDay) {
+                    sum += counts[i];
+                }
+            }
+            return sum;
+        }
+    }
+
+    private static final class State {
+
+        private final LocalDate day;
+        private final Map<String, Activity> activity;
+        private final Map<LeaderboardPeriod, Board> boards = new EnumMap<>(LeaderboardPeriod.class);
+
+        State(LocalDate day, Map<String, Activity> activity) {
+            this.day = day;
+            this.activity = activity;
+            for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                Board board = new Board();
+                boards.put(period, board);
+                activity.forEach((userId, a) -> board.set(userId,
+                        period.getDays() == 0 ? a.total : a.since(firstDayOf(period))));
+            }
+        }
+
+        long firstDayOf(LeaderboardPeriod period) {
+            return day.toEpochDay() - period.getDays() + 1;
+        }
+
+        /** Same activity, with the windows recomputed for a new day. */
+        State rolledTo(LocalDate newDay) {
+            return new State(newDay, activity);
+        }
+    }
+}
@@ -1,42 +1,82 @@
 package de.tum.cit.memo.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import de.tum.cit.memo.dto.ContributorStatsResponse;
 import de.tum.cit.memo.dto.ContributorStatsResponse.DailyCount;
 import de.tum.cit.memo.repository.CompetencyRelationshipVoteRepository;
 import de.tum.cit.memo.repository.DailyVoteCount;
-import lombok.RequiredArgsConstructor;
+import de.tum.cit.memo.util.ActivityCalendar;
+import de.tum.cit.memo.util.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
- * Computes contributor statistics on-the-fly from vote timestamps.
+ * Computes contributor statistics from the {@code user_daily_vote_counts} rollup,
+ * which a database trigger keeps in step with the vote log.
  * All date calculations use UTC.
+ * <p>
+ * Responses are cached per user until their votes change or the UTC day ends,
+ * whichever comes first, since {@code currentStreak} and the window move at
+ * midnight. Votes handled by other instances do not invalidate the entry here,
+ * so it is also recomputed {@link #MAX_STALENESS} after it was cached. Cache
+ * metrics are published as {@code cache.*{cache=contributor-stats}}.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ContributorStatsService {
 
+    private static final long MAX_CACHED_USERS = 10_000;
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(1);
+
     private final CompetencyRelationshipVoteRepository voteRepository;
+    private final Cache<String, ContributorStatsResponse> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_USERS)
+            .expireAfter(new UntilEndOfUtcDay())
+            .recordStats()
+            .build();
+
+    public ContributorStatsService(CompetencyRelationshipVoteRepository voteRepository, MeterRegistry meterRegistry) {
+        this.voteRepository = voteRepository;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "contributor-stats");
+    }
 
-    @Transactional(readOnly = true)
     public ContributorStatsResponse getStats(String userId) {
+        return cache.get(userId, this::computeStats);
+    }
+
+    /** Drops the user's cached stats once the current transaction commits. */
+    public void votesChanged(String userId) {
+        TransactionHooks.afterCommit(() -> cache.invalidate(userId));
+    }
+
+    /** Drops all cached stats, e.g. after votes were removed by a cascading delete. */
+    public void allVotesChanged() {
+        TransactionHooks.afterCommit(cache::invalidateAll);
+    }
+
+    private ContributorStatsResponse computeStats(String userId) {
         LocalDate today = LocalDate.now(ZoneOffset.UTC);
         LocalDate since = today.minusDays(365);
-        Instant sinceInstant = since.atStartOfDay(ZoneOffset.UTC).toInstant();
 
         // Single query: daily rows for [since, today] + one sentinel NULL row for
         // pre-window total
-        List<DailyVoteCount> rawCounts = voteRepository.findDailyVoteCountsWithPreWindowTotal(userId, sinceInstant);
+        List<DailyVoteCount> rawCounts = voteRepository.findDailyRollupWithPreWindowTotal(userId, since);
 
-        Map<LocalDate, Integer> countMap = new LinkedHashMap<>();
+        // Rows arrive in date order; build the heatmap list and the streak calendar in one pass
+        ActivityCalendar calendar = new ActivityCalendar(since, today);
+        List<DailyCount> dailyCounts = new ArrayList<>(rawCounts.size());
         long windowVotes = 0;
         long preWindowVotes = 0;
         for (DailyVoteCount row : rawCounts) {
@@ -44,24 +84,22 @@ public class ContributorStatsService {
                 // Sentinel row: holds count of votes before :since
                 preWindowVotes = row.getVoteCount() != null ? row.getVoteCount() : 0;
             } else {
-                countMap.put(row.getVoteDate(), row.getVoteCount().intValue());
-                windowVotes += row.getVoteCount();
+                int count = row.getVoteCount().intValue();
+                dailyCounts.add(DailyCount.builder()
+                        .date(row.getVoteDate())
+                        .count(count)
+                        .build());
+                if (count > 0) {
+                    calendar.markActive(row.getVoteDate());
+                }
+                windowVotes += count;
             }
         }
         long totalVotes = windowVotes + preWindowVotes;
 
-        // Build daily counts list for heatmap
-        List<DailyCount> dailyCounts = new ArrayList<>();
-        for (Map.Entry<LocalDate, Integer> entry : countMap.entrySet()) {
-            dailyCounts.add(DailyCount.builder()
-                    .date(entry.getKey())
-                    .count(entry.getValue())
-                    .build());
-        }
-
         // Calculate streaks
-        int currentStreak = calculateCurrentStreak(countMap, today);
-        int longestStreak = calculateLongestStreak(countMap, since, today);
+        int currentStreak = calendar.currentStreak(today);
+        int longestStreak = calendar.longestStreak(since, today);
 
         // Evaluate badges
         List<String> earnedBadges = evaluateBadges(totalVotes, currentStreak, longestStreak);
@@ -76,36 +114,18 @@ public class ContributorStatsService {
     }
 
     /**
-     * Current streak: count consecutive days ending at today (or yesterday).
-     */
-    private int calculateCurrentStreak(Map<LocalDate, Integer> countMap, LocalDate today) {
-        // Check if the user contributed today; if not, start from yesterday
-        LocalDate checkDate = countMap.containsKey(today) ? today : today.minusDays(1);
-        int streak = 0;
-        while (countMap.containsKey(checkDate) && countMap.get(checkDate) > 0) {
-            streak++;
-            checkDate = checkDate.minusDays(1);
-        }
-        return streak;
-    }
-
-    /**
-     * Longest streak within the daily counts window.
+     * Recomputes the daily rollup from the vote log. The trigger keeps it current,
+     * so this is only needed to repair drift, e.g. after manual edits to the votes.
+     * Vote writes wait until the rebuild commits.
      */
-    private int calculateLongestStreak(Map<LocalDate, Integer> countMap, LocalDate since, LocalDate today) {
-        int longest = 0;
-        int current = 0;
-        LocalDate d = since;
-        while (!d.isAfter(today)) {
-            if (countMap.containsKey(d) && countMap.get(d) > 0) {
-                current++;
-                longest = Math.max(longest, current);
-            } else {
-                current = 0;
-            }
-            d = d.plusDays(1);
-        }
-        return longest;
+    @Transactional
+    public int rebuildDailyCounts() {
+        voteRepository.lockVotesForRollup();
+        voteRepository.deleteDailyRollup();
+        int rows = voteRepository.insertDailyRollupFromVotes();
+        allVotesChanged();
+        log.info("Rebuilt daily vote rollup: {} user-days", rows);
+        return rows;
     }
 
     /**
@@ -139,4 +159,29 @@ public class ContributorStatsService {
 
         return badges;
     }
+
+    /** Expires each entry at the next UTC midnight after it was computed, or sooner once it may be stale. */
+    private static final class UntilEndOfUtcDay implements Expiry<String, ContributorStatsResponse> {
+
+        @Override
+        public long expireAfterCreate(String userId, ContributorStatsResponse stats, long currentTime) {
+            Instant now = Instant.now();
+            Instant midnight = LocalDate.ofInstant(now, ZoneOffset.UTC).plusDays(1)
+                    .atStartOfDay(ZoneOffset.UTC).toInstant();
+            Duration untilMidnight = Duration.between(now, midnight);
+            return (untilMidnight.compareTo(MAX_STALENESS) < 0 ? untilMidnight : MAX_STALENESS).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String userId, ContributorStatsResponse stats, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(userId, stats, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String userId, ContributorStatsResponse stats, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
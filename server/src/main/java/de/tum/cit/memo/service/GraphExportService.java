@@ -0,0 +1,155 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.enums.ExportCompression;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the whole competency graph in a compact binary CSR (compressed sparse
+ * row) layout for model training. Competencies get dense ids {@code 0..n-1} in
+ * id order. All multi-byte numbers are big-endian:
+ * <pre>
+ * header   "MEMOCSR" + version byte (1), int nodeCount, int edgeCount
+ * nodes    nodeCount x (unsigned short length, UTF-8 competency id)
+ * offsets  (nodeCount + 1) x int; node i's outgoing edges are [offsets[i], offsets[i + 1])
+ * edges    edgeCount x (varint destination delta, varint assumes, varint extends,
+ *                       varint matches, varint unrelated, float entropy)
+ * </pre>
+ * Edges are sorted by origin, then destination. The destination is stored as the
+ * gap to the previous destination in the same row, or as is for a row's first
+ * edge. Varints are unsigned LEB128, so typical vote counts take one byte.
+ * <p>
+ * Every section is written straight from a database cursor inside one
+ * repeatable-read transaction, so sections agree with each other and server
+ * memory does not grow with the graph.
+ */
+@Slf4j
+@Service
+public class GraphExportService {
+
+    static final byte[] MAGIC = {'M', 'E', 'M', 'O', 'C', 'S', 'R', 1};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CompetencyRepository competencyRepository;
+    private final CompetencyRelationshipRepository relationshipRepository;
+    private final TransactionTemplate snapshotTransaction;
+
+    public GraphExportService(CompetencyRepository competencyRepository,
+            CompetencyRelationshipRepository relationshipRepository, PlatformTransactionManager transactionManager) {
+        this.competencyRepository = competencyRepository;
+        this.relationshipRepository = relationshipRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public void export(OutputStream target, ExportCompression compression) throws IOException {
+        OutputStream framed = compression == ExportCompression.GZIP
+                ? new GZIPOutputStream(target, BUFFER_SIZE)
+                : target;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(framed, BUFFER_SIZE));
+        try {
+            snapshotTransaction.executeWithoutResult(status -> writeGraph(out));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // Finishes the gzip trailer; the servlet container closes the response itself
+        out.flush();
+        if (framed instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+    }
+
+    private void writeGraph(DataOutputStream out) {
+        long start = System.nanoTime();
+        long nodeCount = competencyRepository.count();
+        long edgeCount = relationshipRepository.count();
+        try {
+            out.write(MAGIC);
+            out.writeInt(Math.toIntExact(nodeCount));
+            out.writeInt(Math.toIntExact(edgeCount));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        relationshipRepository.scanExportNodes(rs -> {
+            byte[] id = rs.getString("id").getBytes(StandardCharsets.UTF_8);
+            write(() -> {
+                out.writeShort(id.length);
+                out.write(id);
+            });
+        });
+
+        write(() -> out.writeInt(0));
+        int[] offset = {0};
+        relationshipRepository.scanExportNodes(rs -> {
+            offset[0] += rs.getInt("out_degree");
+            int end = offset[0];
+            write(() -> out.writeInt(end));
+        });
+
+        int[] row = {-1, 0};
+        relationshipRepository.scanExportEdges(rs -> {
+            int origin = rs.getInt("origin");
+            int destination = rs.getInt("destination");
+            if (origin != row[0]) {
+                row[0] = origin;
+                row[1] = 0;
+            }
+            int gap = destination - row[1];
+            row[1] = destination;
+            int assumes = rs.getInt("vote_assumes");
+            int extendsVotes = rs.getInt("vote_extends");
+            int matches = rs.getInt("vote_matches");
+            int unrelated = rs.getInt("vote_unrelated");
+            float entropy = (float) rs.getDouble("entropy");
+            write(() -> {
+                writeVarint(out, gap);
+                writeVarint(out, assumes);
+                writeVarint(out, extendsVotes);
+                writeVarint(out, matches);
+                writeVarint(out, unrelated);
+                out.writeFloat(entropy);
+            });
+        });
+        log.info("Exported graph with {} competencies and {} relationships in {} ms",
+                nodeCount, edgeCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Unsigned LEB128: seven bits per byte, high bit set on all but the last. */
+    static void writeVarint(DataOutputStream out, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    private static void write(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            // Usually the client went away; ends the scan and rolls back the read
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -1,6 +1,7 @@
 package de.tum.cit.memo.service;
 
 import de.tum.cit.memo.dto.CreateLearningResourceRequest;
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.dto.UpdateLearningResourceRequest;
 import de.tum.cit.memo.entity.LearningResource;
 import de.tum.cit.memo.exception.ResourceAlreadyExistsException;
@@ -8,11 +9,13 @@ import de.tum.cit.memo.exception.ResourceNotFoundException;
 import de.tum.cit.memo.repository.LearningResourceRepository;
 import de.tum.cit.memo.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -48,8 +51,16 @@ public class LearningResourceService {
     }
 
     @Transactional(readOnly = true)
-    public List<LearningResource> getAllLearningResources() {
-        return learningResourceRepository.findAll();
+    public CursorPage<LearningResource> getLearningResourcePage(String after, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        List<LearningResource> rows = learningResourceRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.start(after),
+            PageRequest.ofSize(size + 1));
+        return CursorPage.of(rows, size, LearningResource::getId);
+    }
+
+    /** All learning resources in id order; must be consumed inside a transaction. */
+    public Stream<LearningResource> streamLearningResources() {
+        return learningResourceRepository.streamAllOrderedById();
     }
 
     @Transactional(readOnly = true)
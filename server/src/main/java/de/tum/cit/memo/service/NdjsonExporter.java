@@ -0,0 +1,54 @@
+package de.tum.cit.memo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes query results as newline-delimited JSON while they are read. The rows
+ * come from a repository stream with a JDBC fetch size, consumed in a read-only
+ * transaction on the response thread, and each entity is detached once written,
+ * so neither the driver nor the persistence context holds more than one batch.
+ */
+@Component
+public class NdjsonExporter {
+
+    private final ObjectWriter writer;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public NdjsonExporter(ObjectMapper objectMapper, EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.writer = objectMapper.writer();
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** {@code rows} is called inside the transaction; the stream is closed when the body is written. */
+    public <T> StreamingResponseBody export(Supplier<Stream<T>> rows) {
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get()) {
+                stream.forEach(row -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(row));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        // Usually the client went away; rolls back the read and ends the response
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(row);
+                });
+            }
+        });
+    }
+}
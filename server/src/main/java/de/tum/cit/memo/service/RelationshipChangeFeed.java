@@ -0,0 +1,102 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.config.MemoProperties;
+import de.tum.cit.memo.dto.ChangeCursor;
+import de.tum.cit.memo.dto.ChangeFeedPage;
+import de.tum.cit.memo.dto.CursorPage;
+import de.tum.cit.memo.dto.RelationshipChange;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.RelationshipChangeEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental sync of competency relationships. A database trigger logs every
+ * relationship insert, update and delete in {@code relationship_changes}; this
+ * serves the log page by page from a cursor, with each changed relationship's
+ * current state, so replicas only transfer what changed since their last sync.
+ * <p>
+ * To start, a consumer reads the feed without a cursor while or after loading
+ * all relationships: replaying a change it has already seen is harmless because
+ * every entry carries the current state. Entries are kept for
+ * {@code memo.change-feed.retention}; older cursors are rejected.
+ */
+@Slf4j
+@Service
+public class RelationshipChangeFeed {
+
+    private final CompetencyRelationshipRepository relationshipRepository;
+    private final MemoProperties.ChangeFeed properties;
+
+    public RelationshipChangeFeed(CompetencyRelationshipRepository relationshipRepository,
+            MemoProperties memoProperties) {
+        this.relationshipRepository = relationshipRepository;
+        this.properties = memoProperties.getChangeFeed();
+    }
+
+    /**
+     * Relationships changed after {@code since}, or after the oldest retained
+     * entry if it is null.
+     *
+     * @throws InvalidOperationException if the cursor is malformed or older than the retained log
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage getChanges(String since, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        ChangeCursor horizon = relationshipRepository.findChangeHorizon();
+        ChangeCursor start = since == null ? horizon : ChangeCursor.parse(since);
+        if (start == null) {
+            throw new InvalidOperationException("Invalid change cursor");
+        }
+        if (start.isBefore(horizon)) {
+            throw new InvalidOperationException("Change cursor has expired; reload all relationships and start over");
+        }
+
+        List<RelationshipChangeEntry> entries = relationshipRepository.findSettledChangesAfter(start, size + 1);
+        boolean hasMore = entries.size() > size;
+        if (hasMore) {
+            entries = entries.subList(0, size);
+        }
+        if (entries.isEmpty()) {
+            return new ChangeFeedPage(List.of(), start.format(), false);
+        }
+
+        // Latest entry per relationship, in the order of those latest entries
+        Map<String, RelationshipChangeEntry> latest = new LinkedHashMap<>();
+        for (RelationshipChangeEntry entry : entries) {
+            latest.remove(entry.relationshipId());
+            latest.put(entry.relationshipId(), entry);
+        }
+        Map<String, CompetencyRelationship> current = relationshipRepository.findAllById(latest.keySet()).stream()
+                .collect(Collectors.toMap(CompetencyRelationship::getId, Function.identity()));
+
+        List<RelationshipChange> changes = new ArrayList<>(latest.size());
+        for (String id : latest.keySet()) {
+            CompetencyRelationship relationship = current.get(id);
+            changes.add(new RelationshipChange(id, relationship == null, relationship));
+        }
+        return new ChangeFeedPage(changes, entries.get(entries.size() - 1).position().format(), hasMore);
+    }
+
+    /** Deletes log entries past the retention period. */
+    @Scheduled(fixedDelayString = "${memo.change-feed.prune-interval:PT1H}")
+    @Transactional
+    public void prune() {
+        int pruned = relationshipRepository.pruneChangesBefore(Instant.now().minus(properties.getRetention()));
+        if (pruned > 0) {
+            log.debug("Pruned {} relationship change log entries", pruned);
+        }
+    }
+}
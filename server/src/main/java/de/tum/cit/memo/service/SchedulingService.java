@@ -1,20 +1,26 @@
 package de.tum.cit.memo.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import de.tum.cit.memo.dto.RelationshipTaskResponse;
+import de.tum.cit.memo.dto.SkipRequest;
 import de.tum.cit.memo.dto.VoteCounts;
 import de.tum.cit.memo.dto.VoteRequest;
 import de.tum.cit.memo.dto.VoteResponse;
 import de.tum.cit.memo.entity.Competency;
 import de.tum.cit.memo.entity.CompetencyRelationship;
 import de.tum.cit.memo.entity.CompetencyRelationshipVote;
+import de.tum.cit.memo.entity.SchedulingTask;
 import de.tum.cit.memo.enums.RelationshipType;
 import de.tum.cit.memo.exception.InvalidOperationException;
 import de.tum.cit.memo.exception.ResourceNotFoundException;
 import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
 import de.tum.cit.memo.repository.CompetencyRelationshipVoteRepository;
 import de.tum.cit.memo.repository.CompetencyRepository;
-import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.repository.RelationshipCounters;
+import de.tum.cit.memo.repository.RelationshipEndpoints;
 import de.tum.cit.memo.util.IdGenerator;
+import de.tum.cit.memo.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -22,16 +28,23 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Dual-pipeline scheduling for competency mapping tasks.
@@ -43,47 +56,110 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class SchedulingService {
 
-    private static final double COVERAGE_WEIGHT = 0.7;
-    private static final int LOW_DEGREE_POOL_SIZE = 20;
-    private static final int CONSENSUS_CANDIDATE_LIMIT = 20;
-    private static final int CONSENSUS_MIN_VOTES = 5;
-    private static final int CONSENSUS_MAX_VOTES = 20;
-    private static final double CONSENSUS_MIN_ENTROPY = 0.5;
+    static final double COVERAGE_WEIGHT = 0.7;
+    static final int LOW_DEGREE_POOL_SIZE = 20;
+    static final int CONSENSUS_MIN_VOTES = 5;
+    static final int CONSENSUS_MAX_VOTES = 20;
+    static final double CONSENSUS_MIN_ENTROPY = 0.5;
+    private static final int MAX_PREFETCH_COUNT = 50;
+    private static final int UNVOTED_SCAN_PAGE_SIZE = 2000;
+    private static final int UNVOTED_SCAN_MAX_PAGES = 3;
+    /** Share of filter hits in a page above which confirming them costs more than the anti-join. */
+    private static final double UNVOTED_SCAN_MAX_HIT_RATIO = 0.5;
 
     private final CompetencyRelationshipRepository relationshipRepository;
     private final CompetencyRelationshipVoteRepository voteRepository;
     private final CompetencyRepository competencyRepository;
-    private final UserRepository userRepository;
+    private final UserRoleCache roleCache;
+    private final CompetencyGraphIndex graphIndex;
+    private final SchedulingTaskQueue taskQueue;
+    private final VoteCounterBuffer counterBuffer;
+    private final TransactionRetryExecutor transactionRetry;
+    private final ConsensusCandidateIndex consensusIndex;
+    private final UserVoteFilter voteFilter;
+    private final SkipTracker skipTracker;
+    private final ContributorStatsService contributorStats;
+    private final ContributorLeaderboard leaderboard;
     private final Random random = new Random();
+    /** Where each user's last scan for unvoted relationships stopped. */
+    private final Cache<String, String> unvotedScanCursors = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
 
     /** Returns the next pair for a user to vote on, or empty if none left. */
     @Transactional
     public Optional<RelationshipTaskResponse> getNextTask(String userId, List<String> skippedIds) {
+        return getNextTasks(userId, skippedIds, 1).stream().findFirst();
+    }
+
+    /**
+     * Returns up to {@code count} distinct pairs for a user, computed in one pass
+     * of both pipelines. Each slot is assigned to coverage or consensus by weight;
+     * consensus slots that cannot be filled fall back to coverage. With the shared
+     * task queue enabled, slots are leased from the queue first and only the
+     * remainder is computed in-process.
+     */
+    @Transactional
+    public List<RelationshipTaskResponse> getNextTasks(String userId, List<String> skippedIds, int count) {
+        if (count < 1 || count > MAX_PREFETCH_COUNT) {
+            throw new InvalidOperationException("count must be between 1 and " + MAX_PREFETCH_COUNT);
+        }
         assertUserExists(userId);
-        List<String> skipList;
+        // Skips recorded server-side, plus any the client still sends along
+        Set<String> skipSet = new HashSet<>(skipTracker.skipped(userId));
         if (skippedIds != null) {
-            skipList = skippedIds;
-        } else {
-            skipList = List.of();
+            skipSet.addAll(skippedIds);
         }
+        List<String> skipList = List.copyOf(skipSet);
 
-        if (random.nextDouble() < COVERAGE_WEIGHT) {
-            log.debug("Coverage pipeline for user {}", userId);
-            return coveragePipeline(userId, skipList);
+        int consensusSlots = 0;
+        for (int i = 0; i < count; i++) {
+            if (random.nextDouble() >= COVERAGE_WEIGHT) {
+                consensusSlots++;
+            }
         }
 
-        log.debug("Consensus pipeline for user {}", userId);
-        RelationshipTaskResponse task = consensusPipeline(userId, skipList);
-        if (task != null) {
-            return Optional.of(task);
+        // Undirected pair keys already handed out in this batch
+        Set<String> taken = new HashSet<>();
+        List<Task> tasks = new ArrayList<>(count);
+        if (taskQueue.isEnabled()) {
+            tasks.addAll(dequeueTasks(userId, skipList, count, consensusSlots, taken));
+            long dequeuedConsensus = tasks.stream()
+                    .filter(task -> SchedulingTaskQueue.CONSENSUS.equals(task.pipeline()))
+                    .count();
+            consensusSlots = (int) Math.min(count - tasks.size(),
+                    Math.max(0, consensusSlots - dequeuedConsensus));
+        }
+        if (consensusSlots > 0) {
+            log.debug("Consensus pipeline for user {} ({} slots)", userId, consensusSlots);
+            int before = tasks.size();
+            tasks.addAll(consensusPipeline(userId, skipList, consensusSlots, taken));
+            if (tasks.size() - before < consensusSlots) {
+                log.debug("Not enough consensus candidates, falling back to coverage");
+            }
+        }
+        if (tasks.size() < count) {
+            log.debug("Coverage pipeline for user {} ({} slots)", userId, count - tasks.size());
+            tasks.addAll(coveragePipeline(userId, skipList, count - tasks.size(), taken));
         }
 
-        log.debug("No consensus candidates, falling back to coverage");
-        return coveragePipeline(userId, skipList);
+        Collections.shuffle(tasks, random);
+        return toTaskResponses(tasks);
     }
 
-    @Transactional
+    /** Hides a task from the user until the skip expires; see {@link SkipTracker}. */
+    public void skip(String userId, SkipRequest request) {
+        assertUserExists(userId);
+        skipTracker.skip(userId, request);
+    }
+
+    /** Records a vote; retried when Postgres aborts it with a deadlock or serialization failure. */
     public VoteResponse submitVote(String userId, VoteRequest request) {
+        return transactionRetry.execute("submitVote", () -> doSubmitVote(userId, request));
+    }
+
+    private VoteResponse doSubmitVote(String userId, VoteRequest request) {
         assertUserExists(userId);
 
         CompetencyRelationship rel;
@@ -96,22 +172,143 @@ public class SchedulingService {
         }
         if (!recordVoteIfAbsent(rel.getId(), userId, request.getRelationshipType())) {
             log.debug("Duplicate vote ignored for user {} on {}", userId, rel.getId());
-            return toVoteResponse(rel);
+            RelationshipCounters current = bufferedCounters(List.of(rel.getId())).get(rel.getId());
+            return current != null ? toVoteResponse(current) : toVoteResponse(rel);
         }
 
-        applyVote(rel, request.getRelationshipType());
+        // Counter updates lock the relationship rows, so they are applied in id order:
+        // a concurrent vote on the mirrored pair B→A then waits instead of deadlocking
+        RelationshipType type = request.getRelationshipType();
+        Map<String, int[]> deltas = new TreeMap<>();
+        deltas.put(rel.getId(), delta(type, 1));
 
         // MATCHES and UNRELATED are symmetric, so mirror the vote to B→A
-        RelationshipType type = request.getRelationshipType();
-        if (type == RelationshipType.MATCHES || type == RelationshipType.UNRELATED) {
-            mirrorSymmetricVote(rel, userId, type);
+        if (isSymmetric(type)) {
+            CompetencyRelationship reverse = findOrCreateRelationship(rel.getDestinationId(), rel.getOriginId());
+            if (recordVoteIfAbsent(reverse.getId(), userId, type)) {
+                deltas.put(reverse.getId(), delta(type, 1));
+            }
         }
 
-        return toVoteResponse(rel);
+        Map<String, RelationshipCounters> counters = new HashMap<>();
+        deltas.forEach((relationshipId, delta) ->
+                counters.put(relationshipId, applyCounterDelta(relationshipId, delta)));
+        counters.values().forEach(updated -> consensusIndex.voteApplied(updated, userId));
+        taskQueue.complete(rel.getOriginId(), rel.getDestinationId());
+        contributorStats.votesChanged(userId);
+
+        return toVoteResponse(counters.get(rel.getId()));
+    }
+
+    /**
+     * Applies a burst of votes in one transaction: one lookup per kind of
+     * reference, one JDBC batch for the vote rows and one counter update per
+     * touched relationship. Returns one response per request, in order.
+     */
+    public List<VoteResponse> submitVotes(String userId, List<VoteRequest> requests) {
+        return transactionRetry.execute("submitVotes", () -> doSubmitVotes(userId, requests));
+    }
+
+    private List<VoteResponse> doSubmitVotes(String userId, List<VoteRequest> requests) {
+        assertUserExists(userId);
+
+        Map<String, CompetencyRelationship> byId = new HashMap<>();
+        Set<String> requestedIds = requests.stream()
+                .map(VoteRequest::getRelationshipId)
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toSet());
+        relationshipRepository.findAllById(requestedIds).forEach(rel -> byId.put(rel.getId(), rel));
+
+        List<Pair> pairs = new ArrayList<>(requests.size());
+        Set<Pair> wanted = new HashSet<>();
+        for (VoteRequest request : requests) {
+            Pair pair = resolvePair(request, byId);
+            pairs.add(pair);
+            if (pair != null) {
+                wanted.add(pair);
+                if (isSymmetric(request.getRelationshipType())) {
+                    wanted.add(pair.reversed());
+                }
+            }
+        }
+        Map<Pair, CompetencyRelationship> byPair = findOrCreateRelationships(wanted, byId.values());
+
+        // Replay the requests in order against the user's existing votes, exactly
+        // like sequential submitVote calls would, and collect the resulting rows
+        Set<String> voted = new HashSet<>();
+        if (!byPair.isEmpty()) {
+            voted.addAll(voteRepository.findVotedRelationshipIds(userId,
+                    byPair.values().stream().map(CompetencyRelationship::getId).toList()));
+        }
+        List<CompetencyRelationshipVote> votes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CompetencyRelationship rel = pairs.get(i) == null ? null : byPair.get(pairs.get(i));
+            RelationshipType type = requests.get(i).getRelationshipType();
+            if (rel == null || !voted.add(rel.getId())) {
+                continue;
+            }
+            votes.add(newVote(rel.getId(), userId, type));
+            CompetencyRelationship reverse = byPair.get(pairs.get(i).reversed());
+            if (isSymmetric(type) && reverse != null && voted.add(reverse.getId())) {
+                votes.add(newVote(reverse.getId(), userId, type));
+            }
+        }
+
+        relationshipRepository.flush();
+        boolean[] inserted = voteRepository.insertAllIfAbsent(votes);
+
+        // Sorted by id so concurrent batches lock relationship rows in the same order
+        Map<String, int[]> deltas = new TreeMap<>();
+        for (int i = 0; i < votes.size(); i++) {
+            if (inserted[i]) {
+                CompetencyRelationshipVote vote = votes.get(i);
+                voteFilter.voteRecorded(userId, vote.getRelationshipId());
+                leaderboard.voteRecorded(userId);
+                int[] delta = deltas.computeIfAbsent(vote.getRelationshipId(), id -> new int[4]);
+                delta[counterIndex(vote.getRelationshipType())]++;
+            }
+        }
+        Map<String, RelationshipCounters> counters = new HashMap<>();
+        if (taskQueue.isEnabled()) {
+            byPair.values().stream()
+                    .filter(rel -> deltas.containsKey(rel.getId()))
+                    .forEach(rel -> taskQueue.complete(rel.getOriginId(), rel.getDestinationId()));
+        }
+        deltas.forEach((relationshipId, delta) ->
+                counters.put(relationshipId, applyCounterDelta(relationshipId, delta)));
+        counters.values().forEach(updated -> consensusIndex.voteApplied(updated, userId));
+        if (!deltas.isEmpty()) {
+            contributorStats.votesChanged(userId);
+        }
+
+        Map<String, RelationshipCounters> unchanged = bufferedCounters(byPair.values().stream()
+                .map(CompetencyRelationship::getId)
+                .filter(id -> !counters.containsKey(id))
+                .toList());
+        List<VoteResponse> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CompetencyRelationship rel = pairs.get(i) == null ? null : byPair.get(pairs.get(i));
+            if (rel == null) {
+                responses.add(VoteResponse.builder()
+                        .relationshipId(requests.get(i).getRelationshipId())
+                        .success(false)
+                        .build());
+            } else if (counters.containsKey(rel.getId())) {
+                responses.add(toVoteResponse(counters.get(rel.getId())));
+            } else if (unchanged.containsKey(rel.getId())) {
+                responses.add(toVoteResponse(unchanged.get(rel.getId())));
+            } else {
+                responses.add(toVoteResponse(rel));
+            }
+        }
+        return responses;
     }
 
-    @Transactional
     public void unvote(String userId, String relationshipId) {
+        transactionRetry.run("unvote", () -> doUnvote(userId, relationshipId));
+    }
+
+    private void doUnvote(String userId, String relationshipId) {
         assertUserExists(userId);
 
         CompetencyRelationship rel = relationshipRepository.findById(relationshipId)
@@ -122,58 +319,93 @@ public class SchedulingService {
                         "No vote found for user " + userId + " on relationship " + relationshipId));
 
         voteRepository.delete(vote);
-        removeVote(rel, vote.getRelationshipType());
+        voteFilter.votesRemoved(userId);
+        leaderboard.voteRemoved(userId, vote.getCreatedAt());
+        contributorStats.votesChanged(userId);
+
+        // Applied in relationship id order, the same lock order as submitVote
+        Map<CompetencyRelationship, RelationshipType> removed =
+                new TreeMap<>(Comparator.comparing(CompetencyRelationship::getId));
+        removed.put(rel, vote.getRelationshipType());
 
         // If symmetric, also remove the mirrored vote on the reverse relationship
         RelationshipType type = vote.getRelationshipType();
-        if (type == RelationshipType.MATCHES || type == RelationshipType.UNRELATED) {
+        if (isSymmetric(type)) {
             relationshipRepository.findByOriginIdAndDestinationId(rel.getDestinationId(), rel.getOriginId())
                     .ifPresent(reverse -> {
                         voteRepository.findByRelationshipIdAndUserId(reverse.getId(), userId)
                                 .ifPresent(mirrorVote -> {
                                     voteRepository.delete(mirrorVote);
-                                    removeVote(reverse, mirrorVote.getRelationshipType());
+                                    leaderboard.voteRemoved(userId, mirrorVote.getCreatedAt());
+                                    removed.put(reverse, mirrorVote.getRelationshipType());
                                 });
                     });
         }
+        removed.forEach((removedFrom, removedType) -> removeVote(removedFrom, removedType, userId));
     }
 
-    private void removeVote(CompetencyRelationship rel, RelationshipType type) {
-        switch (type) {
-            case ASSUMES -> rel.setVoteAssumes(Math.max(0, rel.getVoteAssumes() - 1));
-            case EXTENDS -> rel.setVoteExtends(Math.max(0, rel.getVoteExtends() - 1));
-            case MATCHES -> rel.setVoteMatches(Math.max(0, rel.getVoteMatches() - 1));
-            case UNRELATED -> rel.setVoteUnrelated(Math.max(0, rel.getVoteUnrelated() - 1));
-        }
-        rel.recalculateEntropy();
+    private void removeVote(CompetencyRelationship rel, RelationshipType type, String userId) {
+        RelationshipCounters counters = applyVoteDelta(rel.getId(), type, -1);
+        consensusIndex.voteRemoved(counters, userId);
 
-        if (rel.getTotalVotes() == 0) {
+        // With write-behind the flush deletes relationships left without votes
+        if (counters.getTotalVotes() == 0 && !counterBuffer.isEnabled()) {
             competencyRepository.decrementDegree(List.of(rel.getOriginId(), rel.getDestinationId()));
             relationshipRepository.delete(rel);
-        } else {
-            relationshipRepository.save(rel);
+            graphIndex.relationshipDeleted(rel.getOriginId(), rel.getDestinationId());
         }
     }
 
-    private Optional<RelationshipTaskResponse> coveragePipeline(String userId, List<String> skippedIds) {
-        List<String> poolIds = getLowDegreeCompetencyIds();
+    /**
+     * Leases up to {@code count} tasks from the shared queue. The first
+     * {@code consensusSlots} prefer the consensus pipeline, the rest coverage.
+     */
+    private List<Task> dequeueTasks(String userId, List<String> skipList, int count, int consensusSlots,
+            Set<String> taken) {
+        Set<String> skipped = new HashSet<>(skipList);
+        List<SchedulingTask> leased = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String preferred = i < consensusSlots ? SchedulingTaskQueue.CONSENSUS : SchedulingTaskQueue.COVERAGE;
+            Optional<SchedulingTask> task = taskQueue.dequeue(userId, preferred, skipped);
+            if (task.isEmpty()) {
+                log.debug("Scheduling queue drained after {} tasks", leased.size());
+                break;
+            }
+            leased.add(task.get());
+        }
+
+        Map<String, CompetencyRelationship> relationships = relationshipRepository.findAllById(leased.stream()
+                        .map(SchedulingTask::getRelationshipId)
+                        .filter(id -> id != null)
+                        .toList())
+                .stream().collect(Collectors.toMap(CompetencyRelationship::getId, Function.identity()));
+        List<Task> tasks = new ArrayList<>(leased.size());
+        for (SchedulingTask task : leased) {
+            if (taken.add(undirectedPairKey(task.getOriginId(), task.getDestinationId()))) {
+                CompetencyRelationship rel = task.getRelationshipId() == null
+                        ? null : relationships.get(task.getRelationshipId());
+                tasks.add(new Task(rel, task.getOriginId(), task.getDestinationId(), task.getPipeline()));
+            }
+        }
+        return tasks;
+    }
+
+    private List<Task> coveragePipeline(String userId, List<String> skippedIds, int limit, Set<String> taken) {
+        List<Task> tasks = new ArrayList<>(limit);
+        List<String> poolIds = graphIndex.lowestDegreeIds(LOW_DEGREE_POOL_SIZE);
         if (poolIds.size() < 2) {
             log.debug("Not enough competencies to form pairs");
-            return Optional.empty();
+            return tasks;
         }
 
-        Set<String> existingPairs = relationshipRepository.findIntraPoolRelationships(poolIds).stream()
-                .flatMap(r -> Stream.of(pairKey(r.getOriginId(), r.getDestinationId()),
-                        pairKey(r.getDestinationId(), r.getOriginId())))
-                .collect(Collectors.toSet());
-
-        // Also exclude skipped pairs so we don't present them again
+        // Exclude skipped pairs so we don't present them again
+        Set<String> skippedPairs = new HashSet<>();
         if (skippedIds != null && !skippedIds.isEmpty()) {
             for (String skippedId : skippedIds) {
                 String[] parts = skippedId.split(":");
                 if (parts.length == 2) {
-                    existingPairs.add(pairKey(parts[0], parts[1]));
-                    existingPairs.add(pairKey(parts[1], parts[0]));
+                    skippedPairs.add(pairKey(parts[0], parts[1]));
+                    skippedPairs.add(pairKey(parts[1], parts[0]));
                 }
             }
         }
@@ -181,40 +413,139 @@ public class SchedulingService {
         List<String> pool = new ArrayList<>(poolIds);
         Collections.shuffle(pool, random);
 
-        for (int i = 0; i < pool.size(); i++) {
-            for (int j = i + 1; j < pool.size(); j++) {
-                if (!existingPairs.contains(pairKey(pool.get(i), pool.get(j)))) {
-                    return Optional.of(toTaskResponseFromIds(pool.get(i), pool.get(j), "COVERAGE"));
+        // First pass prefers pairs of competencies not yet used in this batch, so a
+        // prefetch spreads over the pool instead of fanning out from one node
+        Set<String> used = new HashSet<>();
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < pool.size(); i++) {
+                for (int j = i + 1; j < pool.size(); j++) {
+                    String a = pool.get(i);
+                    String b = pool.get(j);
+                    if (pass == 0 && (used.contains(a) || used.contains(b))) {
+                        continue;
+                    }
+                    if (!skippedPairs.contains(pairKey(a, b)) && !graphIndex.isConnected(a, b)
+                            && taken.add(undirectedPairKey(a, b))) {
+                        used.add(a);
+                        used.add(b);
+                        tasks.add(new Task(null, a, b, "COVERAGE"));
+                        if (tasks.size() == limit) {
+                            return tasks;
+                        }
+                    }
                 }
             }
         }
 
         log.debug("Pool fully connected, finding any unvoted relationship");
-        return relationshipRepository
-                .findUnvotedByUserAndNotSkipped(userId, skippedIds, PageRequest.of(0, 1))
-                .stream().findFirst()
-                .map(rel -> toTaskResponse(rel, "COVERAGE"));
+        List<CompetencyRelationship> unvoted = findUnvoted(userId, new HashSet<>(skippedIds), skippedPairs,
+                limit + taken.size());
+        for (CompetencyRelationship rel : unvoted) {
+            if (tasks.size() == limit) {
+                break;
+            }
+            if (taken.add(undirectedPairKey(rel.getOriginId(), rel.getDestinationId()))) {
+                tasks.add(Task.of(rel, "COVERAGE"));
+            }
+        }
+        return tasks;
     }
 
-    private RelationshipTaskResponse consensusPipeline(String userId, List<String> skippedIds) {
-        List<CompetencyRelationship> candidates = relationshipRepository
-                .findHighEntropyRelationshipsExcludingUser(
-                        userId, CONSENSUS_MIN_VOTES, CONSENSUS_MAX_VOTES, CONSENSUS_MIN_ENTROPY,
-                        skippedIds, PageRequest.of(0, CONSENSUS_CANDIDATE_LIMIT));
+    /**
+     * Scans relationship ids in keyset pages and drops the user's own votes in
+     * memory via {@link UserVoteFilter}, instead of an anti-join over the whole
+     * vote log. Each user's scan resumes where their last one stopped and wraps
+     * around at the end of the table, so a long prefix of voted ids is not
+     * rescanned on every request. The scan gives up after
+     * {@value #UNVOTED_SCAN_MAX_PAGES} pages, or as soon as a page is mostly filter
+     * hits, and falls back to the indexed anti-join. Only the relationships found
+     * are loaded as entities. Skips count both as relationship ids and as
+     * {@code origin:destination} keys.
+     */
+    private List<CompetencyRelationship> findUnvoted(String userId, Set<String> skippedIds, Set<String> skippedPairs,
+            int limit) {
+        String start = unvotedScanCursors.asMap().getOrDefault(userId, "");
+        Set<String> found = new LinkedHashSet<>();
+        String cursor = start;
+        boolean wrapped = start.isEmpty();
+        boolean exhausted = false;
+        int pages = 0;
+        while (found.size() < limit && pages < UNVOTED_SCAN_MAX_PAGES) {
+            List<RelationshipEndpoints> batch = relationshipRepository.findEndpointsAfter(
+                    cursor, PageRequest.of(0, UNVOTED_SCAN_PAGE_SIZE));
+            if (batch.isEmpty()) {
+                if (wrapped) {
+                    exhausted = true;
+                    break;
+                }
+                wrapped = true;
+                cursor = "";
+                continue;
+            }
+            pages++;
+            cursor = batch.get(batch.size() - 1).getId();
+
+            List<String> open = batch.stream()
+                    .filter(rel -> !skippedIds.contains(rel.getId())
+                            && !skippedPairs.contains(pairKey(rel.getOriginId(), rel.getDestinationId())))
+                    .map(RelationshipEndpoints::getId)
+                    .toList();
+            Optional<Set<String>> voted = voteFilter.votedAmong(userId, open, UNVOTED_SCAN_MAX_HIT_RATIO);
+            if (voted.isEmpty()) {
+                log.debug("Vote filter hit ratio too high for user {}, using anti-join", userId);
+                unvotedScanCursors.put(userId, cursor);
+                return findUnvotedByAntiJoin(userId, skippedIds, skippedPairs, limit);
+            }
+            for (String id : open) {
+                if (found.size() == limit) {
+                    break;
+                }
+                if (!voted.get().contains(id)) {
+                    found.add(id);
+                }
+            }
+            if (wrapped && !start.isEmpty() && cursor.compareTo(start) >= 0) {
+                exhausted = true;
+                break;
+            }
+        }
 
-        if (candidates.isEmpty()) {
-            return null;
+        if (exhausted) {
+            unvotedScanCursors.invalidate(userId);
+        } else {
+            // Continue after the last handed-out relationship next time
+            unvotedScanCursors.put(userId, found.size() == limit ? List.copyOf(found).get(limit - 1) : cursor);
+        }
+        if (found.size() < limit && !exhausted) {
+            return findUnvotedByAntiJoin(userId, skippedIds, skippedPairs, limit);
         }
+        return found.isEmpty() ? List.of() : relationshipRepository.findAllById(found);
+    }
 
-        return toTaskResponse(pickWeightedByEntropy(candidates), "CONSENSUS");
+    private List<CompetencyRelationship> findUnvotedByAntiJoin(String userId, Set<String> skippedIds,
+            Set<String> skippedPairs, int limit) {
+        return relationshipRepository.findUnvotedByUserAndNotSkipped(userId, List.copyOf(skippedIds),
+                        PageRequest.of(0, limit + skippedPairs.size())).stream()
+                .filter(rel -> !skippedPairs.contains(pairKey(rel.getOriginId(), rel.getDestinationId())))
+                .limit(limit)
+                .toList();
     }
 
-    private List<String> getLowDegreeCompetencyIds() {
-        List<String> ids = competencyRepository.findIdsByDegreeAsc(PageRequest.of(0, LOW_DEGREE_POOL_SIZE));
-        if (ids.isEmpty()) {
-            return competencyRepository.findRandomCompetencyIds(LOW_DEGREE_POOL_SIZE);
+    private List<Task> consensusPipeline(String userId, List<String> skippedIds, int limit, Set<String> taken) {
+        // Oversample a little: a sampled relationship's mirror may already be taken
+        List<CompetencyRelationship> sampled = consensusIndex.sample(
+                userId, new HashSet<>(skippedIds), limit + taken.size(), random);
+
+        List<Task> tasks = new ArrayList<>(limit);
+        for (CompetencyRelationship rel : sampled) {
+            if (tasks.size() == limit) {
+                break;
+            }
+            if (taken.add(undirectedPairKey(rel.getOriginId(), rel.getDestinationId()))) {
+                tasks.add(Task.of(rel, "CONSENSUS"));
+            }
         }
-        return ids;
+        return tasks;
     }
 
     private CompetencyRelationship createRelationship(String originId, String destId) {
@@ -229,34 +560,88 @@ public class SchedulingService {
                 .build();
 
         CompetencyRelationship saved = relationshipRepository.save(rel);
-        competencyRepository.incrementDegree(List.of(originId, destId));
+        if (counterBuffer.isEnabled()) {
+            bufferDegrees(Map.of(originId, 1, destId, 1));
+        } else {
+            competencyRepository.incrementDegree(List.of(originId, destId));
+        }
+        graphIndex.relationshipCreated(originId, destId);
         return saved;
     }
 
-    private CompetencyRelationship findOrCreateRelationship(String originId, String destinationId) {
-        return relationshipRepository
-                .findByOriginIdAndDestinationId(originId, destinationId)
-                .orElseGet(() -> createRelationship(originId, destinationId));
-    }
+    /**
+     * Resolves all pairs with one set-based lookup and creates the missing ones,
+     * applying degree increments grouped per competency. Pairs that cannot be
+     * created (unknown competency) are absent from the result.
+     */
+    private Map<Pair, CompetencyRelationship> findOrCreateRelationships(
+            Set<Pair> pairs, Collection<CompetencyRelationship> known) {
+        Map<Pair, CompetencyRelationship> byPair = new HashMap<>();
+        known.forEach(rel -> byPair.put(new Pair(rel.getOriginId(), rel.getDestinationId()), rel));
+
+        Set<Pair> missing = new HashSet<>(pairs);
+        missing.removeAll(byPair.keySet());
+        if (missing.isEmpty()) {
+            return byPair;
+        }
 
-    private CompetencyRelationship pickWeightedByEntropy(List<CompetencyRelationship> candidates) {
-        double totalWeight = candidates.stream()
-                .mapToDouble(this::entropyWeight)
-                .sum();
-        double roll = random.nextDouble() * totalWeight;
-        double cumulative = 0;
+        Set<String> originIds = missing.stream().map(Pair::originId).collect(Collectors.toSet());
+        Set<String> destinationIds = missing.stream().map(Pair::destinationId).collect(Collectors.toSet());
+        for (CompetencyRelationship rel : relationshipRepository.findByOriginIdInAndDestinationIdIn(
+                originIds, destinationIds)) {
+            Pair pair = new Pair(rel.getOriginId(), rel.getDestinationId());
+            if (missing.remove(pair)) {
+                byPair.put(pair, rel);
+            }
+        }
+        if (missing.isEmpty()) {
+            return byPair;
+        }
 
-        for (CompetencyRelationship rel : candidates) {
-            cumulative += entropyWeight(rel);
-            if (roll <= cumulative) {
-                return rel;
+        Set<String> endpoints = new HashSet<>(originIds);
+        endpoints.addAll(destinationIds);
+        Set<String> existing = new HashSet<>(competencyRepository.findExistingIds(endpoints));
+        List<CompetencyRelationship> created = new ArrayList<>();
+        Map<String, Integer> degreeDeltas = new TreeMap<>();
+        for (Pair pair : missing) {
+            if (existing.contains(pair.originId()) && existing.contains(pair.destinationId())) {
+                created.add(CompetencyRelationship.builder()
+                        .id(IdGenerator.generateCuid())
+                        .originId(pair.originId())
+                        .destinationId(pair.destinationId())
+                        .build());
+                degreeDeltas.merge(pair.originId(), 1, Integer::sum);
+                degreeDeltas.merge(pair.destinationId(), 1, Integer::sum);
             }
         }
-        return candidates.get(0);
+        relationshipRepository.saveAll(created);
+        if (counterBuffer.isEnabled()) {
+            bufferDegrees(degreeDeltas);
+        } else {
+            degreeDeltas.forEach(competencyRepository::addToDegree);
+        }
+        for (CompetencyRelationship rel : created) {
+            byPair.put(new Pair(rel.getOriginId(), rel.getDestinationId()), rel);
+            graphIndex.relationshipCreated(rel.getOriginId(), rel.getDestinationId());
+        }
+        return byPair;
+    }
+
+    private static Pair resolvePair(VoteRequest request, Map<String, CompetencyRelationship> byId) {
+        if (request.getRelationshipId() != null && !request.getRelationshipId().isBlank()) {
+            CompetencyRelationship rel = byId.get(request.getRelationshipId());
+            return rel == null ? null : new Pair(rel.getOriginId(), rel.getDestinationId());
+        }
+        if (request.getOriginId().equals(request.getDestinationId())) {
+            return null;
+        }
+        return new Pair(request.getOriginId(), request.getDestinationId());
     }
 
-    private double entropyWeight(CompetencyRelationship rel) {
-        return rel.getEntropy() / (rel.getTotalVotes() + 1.0);
+    private CompetencyRelationship findOrCreateRelationship(String originId, String destinationId) {
+        return relationshipRepository
+                .findByOriginIdAndDestinationId(originId, destinationId)
+                .orElseGet(() -> createRelationship(originId, destinationId));
     }
 
     private boolean recordVoteIfAbsent(String relationshipId, String userId, RelationshipType type) {
@@ -265,12 +650,9 @@ public class SchedulingService {
         }
 
         try {
-            voteRepository.save(CompetencyRelationshipVote.builder()
-                    .id(IdGenerator.generateCuid())
-                    .relationshipId(relationshipId)
-                    .userId(userId)
-                    .relationshipType(type)
-                    .build());
+            voteRepository.save(newVote(relationshipId, userId, type));
+            voteFilter.voteRecorded(userId, relationshipId);
+            leaderboard.voteRecorded(userId);
             return true;
         } catch (DataIntegrityViolationException ex) {
             log.debug("Vote already exists due to concurrent request for user {} on {}",
@@ -279,77 +661,128 @@ public class SchedulingService {
         }
     }
 
-    private void applyVote(CompetencyRelationship rel, RelationshipType type) {
-        switch (type) {
-            case ASSUMES -> rel.setVoteAssumes(rel.getVoteAssumes() + 1);
-            case EXTENDS -> rel.setVoteExtends(rel.getVoteExtends() + 1);
-            case MATCHES -> rel.setVoteMatches(rel.getVoteMatches() + 1);
-            case UNRELATED -> rel.setVoteUnrelated(rel.getVoteUnrelated() + 1);
+    private static CompetencyRelationshipVote newVote(String relationshipId, String userId, RelationshipType type) {
+        return CompetencyRelationshipVote.builder()
+                .id(IdGenerator.generateCuid())
+                .relationshipId(relationshipId)
+                .userId(userId)
+                .relationshipType(type)
+                .build();
+    }
+
+    private RelationshipCounters applyVoteDelta(String relationshipId, RelationshipType type, int amount) {
+        return applyCounterDelta(relationshipId, delta(type, amount));
+    }
+
+    /** Counter deltas in (assumes, extends, matches, unrelated) order with one type changed. */
+    private static int[] delta(RelationshipType type, int amount) {
+        int[] delta = new int[4];
+        delta[counterIndex(type)] = amount;
+        return delta;
+    }
+
+    /**
+     * Adjusts the counters in a single UPDATE ... RETURNING, so concurrent votes are
+     * never lost. In write-behind mode the delta is buffered once the transaction
+     * commits instead, and the returned counters include all unflushed deltas.
+     */
+    private RelationshipCounters applyCounterDelta(String relationshipId, int[] delta) {
+        if (counterBuffer.isEnabled()) {
+            RelationshipCounters persisted = relationshipRepository.findCountersById(relationshipId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Relationship not found: " + relationshipId));
+            TransactionHooks.afterCommit(() -> counterBuffer.addCounters(relationshipId, delta));
+            return counterBuffer.withUnflushed(persisted, delta);
         }
-        rel.recalculateEntropy();
-        relationshipRepository.save(rel);
+        return relationshipRepository.applyVoteDelta(relationshipId, delta[0], delta[1], delta[2], delta[3])
+                .orElseThrow(() -> new ResourceNotFoundException("Relationship not found: " + relationshipId));
     }
 
-    /** For symmetric types, also records the vote on the reverse direction. */
-    private void mirrorSymmetricVote(CompetencyRelationship originalRel, String userId, RelationshipType type) {
-        CompetencyRelationship reverse = findOrCreateRelationship(
-                originalRel.getDestinationId(), originalRel.getOriginId());
-        if (recordVoteIfAbsent(reverse.getId(), userId, type)) {
-            applyVote(reverse, type);
+    /**
+     * Counters of relationships a request did not change, including buffered
+     * deltas. Empty unless write-behind is enabled: only then do the persisted
+     * counters, and the entities read from them, lag behind the votes.
+     */
+    private Map<String, RelationshipCounters> bufferedCounters(Collection<String> relationshipIds) {
+        if (!counterBuffer.isEnabled() || relationshipIds.isEmpty()) {
+            return Map.of();
         }
+        return relationshipRepository.findCountersByIdIn(relationshipIds).stream()
+                .map(persisted -> counterBuffer.withUnflushed(persisted, new int[4]))
+                .collect(Collectors.toMap(RelationshipCounters::getId, Function.identity()));
     }
 
-    // --- Response builders ---
+    private void bufferDegrees(Map<String, Integer> deltas) {
+        TransactionHooks.afterCommit(() -> deltas.forEach(counterBuffer::addDegree));
+    }
 
-    private void assertUserExists(String userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found: " + userId);
-        }
+    /** Position of the type's counter in the (assumes, extends, matches, unrelated) order. */
+    private static int counterIndex(RelationshipType type) {
+        return switch (type) {
+            case ASSUMES -> 0;
+            case EXTENDS -> 1;
+            case MATCHES -> 2;
+            case UNRELATED -> 3;
+        };
     }
 
-    private RelationshipTaskResponse toTaskResponse(CompetencyRelationship rel, String pipeline) {
-        Map<String, Competency> byId = competencyRepository
-                .findAllById(List.of(rel.getOriginId(), rel.getDestinationId()))
-                .stream().collect(Collectors.toMap(Competency::getId, Function.identity()));
+    private static boolean isSymmetric(RelationshipType type) {
+        return type == RelationshipType.MATCHES || type == RelationshipType.UNRELATED;
+    }
 
-        Competency origin = byId.get(rel.getOriginId());
-        Competency destination = byId.get(rel.getDestinationId());
-        if (origin == null || destination == null) {
-            throw new ResourceNotFoundException("Competency not found for relationship " + rel.getId());
-        }
+    // --- Response builders ---
 
-        return RelationshipTaskResponse.builder()
-                .relationshipId(rel.getId())
-                .origin(toCompetencyInfo(origin))
-                .destination(toCompetencyInfo(destination))
-                .pipeline(pipeline)
-                .currentVotes(toVoteCounts(rel))
-                .build();
+    private void assertUserExists(String userId) {
+        if (!roleCache.exists(userId)) {
+            throw new ResourceNotFoundException("User not found: " + userId);
+        }
     }
 
     /**
-     * Builds a task response from two competency IDs without persisting a
-     * relationship.
-     * The relationship row is only created when the user actually votes.
+     * Builds task responses with a single competency lookup. Coverage tasks carry
+     * no relationship; the row is only created when the user actually votes.
      */
-    private RelationshipTaskResponse toTaskResponseFromIds(String originId, String destinationId, String pipeline) {
-        Map<String, Competency> byId = competencyRepository
-                .findAllById(List.of(originId, destinationId))
+    private List<RelationshipTaskResponse> toTaskResponses(List<Task> tasks) {
+        Set<String> competencyIds = new HashSet<>();
+        for (Task task : tasks) {
+            competencyIds.add(task.originId());
+            competencyIds.add(task.destinationId());
+        }
+        Map<String, Competency> byId = competencyRepository.findAllById(competencyIds)
                 .stream().collect(Collectors.toMap(Competency::getId, Function.identity()));
-
-        Competency origin = byId.get(originId);
-        Competency destination = byId.get(destinationId);
-        if (origin == null || destination == null) {
-            throw new ResourceNotFoundException("Competency not found for IDs " + originId + ", " + destinationId);
+        // Relationships may be detached copies from an index, so buffered deltas are merged with fresh counters
+        Map<String, RelationshipCounters> buffered = bufferedCounters(tasks.stream()
+                .map(Task::relationship)
+                .filter(Objects::nonNull)
+                .map(CompetencyRelationship::getId)
+                .toList());
+
+        List<RelationshipTaskResponse> responses = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Competency origin = byId.get(task.originId());
+            Competency destination = byId.get(task.destinationId());
+            if (origin == null || destination == null) {
+                // Served from an in-memory index that has not seen the deletion yet
+                log.debug("Dropping task for deleted competency {} or {}", task.originId(), task.destinationId());
+                continue;
+            }
+            CompetencyRelationship rel = task.relationship();
+            responses.add(RelationshipTaskResponse.builder()
+                    .relationshipId(rel != null ? rel.getId() : null)
+                    .origin(toCompetencyInfo(origin))
+                    .destination(toCompetencyInfo(destination))
+                    .pipeline(task.pipeline())
+                    .currentVotes(currentVotes(rel, buffered))
+                    .build());
         }
+        return responses;
+    }
 
-        return RelationshipTaskResponse.builder()
-                .relationshipId(null)
-                .origin(toCompetencyInfo(origin))
-                .destination(toCompetencyInfo(destination))
-                .pipeline(pipeline)
-                .currentVotes(VoteCounts.builder().build())
-                .build();
+    private static VoteCounts currentVotes(CompetencyRelationship rel, Map<String, RelationshipCounters> buffered) {
+        if (rel == null) {
+            return VoteCounts.builder().build();
+        }
+        RelationshipCounters counters = buffered.get(rel.getId());
+        return counters != null ? toVoteCounts(counters) : toVoteCounts(rel);
     }
 
     private VoteResponse toVoteResponse(CompetencyRelationship rel) {
@@ -369,6 +802,24 @@ public class SchedulingService {
                 .build();
     }
 
+    private VoteResponse toVoteResponse(RelationshipCounters counters) {
+        return VoteResponse.builder()
+                .relationshipId(counters.getId())
+                .success(true)
+                .updatedVotes(toVoteCounts(counters))
+                .newEntropy(counters.getEntropy())
+                .build();
+    }
+
+    private static VoteCounts toVoteCounts(RelationshipCounters counters) {
+        return VoteCounts.builder()
+                .assumes(counters.getVoteAssumes())
+                .extendsRelation(counters.getVoteExtends())
+                .matches(counters.getVoteMatches())
+                .unrelated(counters.getVoteUnrelated())
+                .build();
+    }
+
     private static VoteCounts toVoteCounts(CompetencyRelationship rel) {
         return VoteCounts.builder()
                 .assumes(rel.getVoteAssumes())
@@ -381,4 +832,23 @@ public class SchedulingService {
     private static String pairKey(String a, String b) {
         return a + ':' + b;
     }
+
+    private static String undirectedPairKey(String a, String b) {
+        return a.compareTo(b) < 0 ? pairKey(a, b) : pairKey(b, a);
+    }
+
+    /** A scheduled pair; {@code relationship} is null until the pair has been voted on. */
+    private record Task(CompetencyRelationship relationship, String originId, String destinationId,
+            String pipeline) {
+        static Task of(CompetencyRelationship rel, String pipeline) {
+            return new Task(rel, rel.getOriginId(), rel.getDestinationId(), pipeline);
+        }
+    }
+
+    /** Directed (origin, destination) competency pair. */
+    private record Pair(String originId, String destinationId) {
+        Pair reversed() {
+            return new Pair(destinationId, originId);
+        }
+    }
 }
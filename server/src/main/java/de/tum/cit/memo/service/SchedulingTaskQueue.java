@@ -0,0 +1,156 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.config.MemoProperties;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.SchedulingTask;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.SchedulingTaskRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Shared Postgres-backed queue of scheduling tasks for multi-node deployments.
+ * A producer on one node at a time refills the queue from the coverage and
+ * consensus pipelines; every node dequeues with FOR UPDATE SKIP LOCKED, so
+ * concurrent users are handed disjoint pairs and never race to create the same
+ * relationship. Disabled by default, in which case tasks are computed per request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulingTaskQueue {
+
+    static final String COVERAGE = "COVERAGE";
+    static final String CONSENSUS = "CONSENSUS";
+
+    /** Key of the advisory lock held by the node currently refilling the queue. */
+    private static final long REFILL_LOCK_KEY = 0x6d656d6f5f7471L;
+    private static final int MAX_SKIP_ATTEMPTS = 5;
+
+    private final SchedulingTaskRepository taskRepository;
+    private final CompetencyRelationshipRepository relationshipRepository;
+    private final CompetencyGraphIndex graphIndex;
+    private final MemoProperties memoProperties;
+
+    public boolean isEnabled() {
+        return properties().isEnabled();
+    }
+
+    /**
+     * Leases the next task to the user, preferring the given pipeline and falling
+     * back to the other one. Tasks the user skipped stay leased to them until the
+     * lease expires, so they are not handed straight back.
+     *
+     * @param skipped relationship IDs and directed {@code origin:destination} keys
+     */
+    @Transactional
+    public Optional<SchedulingTask> dequeue(String userId, String preferredPipeline, Set<String> skipped) {
+        long leaseSeconds = properties().getLeaseTtl().toSeconds();
+        String fallbackPipeline = COVERAGE.equals(preferredPipeline) ? CONSENSUS : COVERAGE;
+        for (String pipeline : List.of(preferredPipeline, fallbackPipeline)) {
+            for (int attempt = 0; attempt < MAX_SKIP_ATTEMPTS; attempt++) {
+                Optional<SchedulingTask> task = taskRepository.dequeue(userId, pipeline, leaseSeconds);
+                if (task.isEmpty()) {
+                    break;
+                }
+                if (!isSkipped(task.get(), skipped)) {
+                    return task;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Drops the task for a pair once it has been voted on, in either direction. */
+    @Transactional
+    public void complete(String originId, String destinationId) {
+        if (isEnabled()) {
+            taskRepository.deleteByPair(originId, destinationId);
+        }
+    }
+
+    /**
+     * Tops the queue up when it runs low. Guarded by a transaction-scoped advisory
+     * lock so only one instance produces per round; the unique pair index makes
+     * any overlap with tasks still in the queue a no-op.
+     */
+    @Scheduled(fixedDelayString = "${memo.scheduling.task-queue.refill-interval:PT5S}")
+    @Transactional
+    public void refill() {
+        MemoProperties.TaskQueue props = properties();
+        if (!props.isEnabled() || !taskRepository.tryAdvisoryLock(REFILL_LOCK_KEY)) {
+            return;
+        }
+
+        int stale = taskRepository.deleteStale(Instant.now().minus(props.getStaleAfter()));
+        long available = taskRepository.countAvailable();
+        if (available >= props.getLowWatermark()) {
+            return;
+        }
+
+        int budget = props.getRefillBatchSize();
+        int consensusBudget = (int) Math.round(budget * (1 - SchedulingService.COVERAGE_WEIGHT));
+        int enqueued = enqueueConsensus(consensusBudget);
+        enqueued += enqueueCoverage(budget - enqueued);
+        log.debug("Refilled scheduling queue: {} available, {} stale dropped, {} enqueued",
+                available, stale, enqueued);
+    }
+
+    private int enqueueConsensus(int budget) {
+        int enqueued = 0;
+        for (CompetencyRelationship rel : relationshipRepository.findConsensusCandidates(
+                SchedulingService.CONSENSUS_MIN_VOTES, SchedulingService.CONSENSUS_MAX_VOTES,
+                SchedulingService.CONSENSUS_MIN_ENTROPY, PageRequest.of(0, budget))) {
+            double priority = rel.getEntropy() / (rel.getTotalVotes() + 1.0);
+            enqueued += taskRepository.enqueueIfAbsent(IdGenerator.generateCuid(),
+                    rel.getOriginId(), rel.getDestinationId(), rel.getId(), CONSENSUS, priority);
+        }
+        return enqueued;
+    }
+
+    /**
+     * Enqueues unconnected pairs from the lowest-degree competencies. The pool is
+     * sized so its pairs can fill the budget; pairs of lower-ranked nodes get a
+     * higher priority.
+     */
+    private int enqueueCoverage(int budget) {
+        int poolSize = Math.max(SchedulingService.LOW_DEGREE_POOL_SIZE,
+                (int) Math.ceil(Math.sqrt(2.0 * budget)) + 1);
+        List<String> pool = graphIndex.lowestDegreeIds(poolSize);
+        int enqueued = 0;
+        for (int i = 0; i < pool.size() && enqueued < budget; i++) {
+            for (int j = i + 1; j < pool.size() && enqueued < budget; j++) {
+                String a = pool.get(i);
+                String b = pool.get(j);
+                if (!graphIndex.isConnected(a, b)) {
+                    enqueued += taskRepository.enqueueIfAbsent(IdGenerator.generateCuid(),
+                            a, b, null, COVERAGE, -(i + j));
+                }
+            }
+        }
+        return enqueued;
+    }
+
+    private static boolean isSkipped(SchedulingTask task, Set<String> skipped) {
+        if (skipped.isEmpty()) {
+            return false;
+        }
+        return (task.getRelationshipId() != null && skipped.contains(task.getRelationshipId()))
+                || skipped.contains(task.getOriginId() + ':' + task.getDestinationId())
+                || skipped.contains(task.getDestinationId() + ':' + task.getOriginId());
+    }
+
+    private MemoProperties.TaskQueue properties() {
+        return memoProperties.getScheduling().getTaskQueue();
+    }
+}
@@ -0,0 +1,134 @@
+package de.tum.cit.memo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.tum.cit.memo.config.MemoProperties;
+import de.tum.cit.memo.dto.SkipRequest;
+import de.tum.cit.memo.entity.SchedulingSkip;
+import de.tum.cit.memo.repository.SchedulingSkipRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers which tasks each user skipped, so clients no longer resend a growing
+ * {@code skippedIds} list. Skips are kept per user as relationship IDs and
+ * directed {@code origin:destination} keys, the same format the pipelines already
+ * accept, and expire after {@code memo.scheduling.skips.ttl}. Each user keeps at
+ * most {@code max-per-user} skips; the oldest are dropped first.
+ * <p>
+ * With {@code persist} enabled, skips are written to {@code scheduling_skips}
+ * instead and read from there on every lookup (indexed by user), so they survive
+ * restarts and a skip recorded on one instance is seen by all others at once.
+ */
+@Slf4j
+@Component
+public class SkipTracker {
+
+    private static final long MAX_USERS = 10_000;
+
+    private final SchedulingSkipRepository skipRepository;
+    private final MemoProperties.Skips properties;
+    private final Cache<String, UserSkips> skips;
+
+    public SkipTracker(SchedulingSkipRepository skipRepository, MemoProperties memoProperties) {
+        this.skipRepository = skipRepository;
+        this.properties = memoProperties.getScheduling().getSkips();
+        this.skips = Caffeine.newBuilder()
+                .maximumSize(MAX_USERS)
+                .expireAfterAccess(properties.getTtl())
+                .build();
+    }
+
+    /** Records a skip; the task is left out of the user's tasks until it expires. */
+    @Transactional
+    public void skip(String userId, SkipRequest request) {
+        Instant expiresAt = Instant.now().plus(properties.getTtl());
+        List<String> keys = new ArrayList<>(2);
+        if (request.getRelationshipId() != null && !request.getRelationshipId().isBlank()) {
+            keys.add(request.getRelationshipId());
+        }
+        if (request.getOriginId() != null && !request.getOriginId().isBlank()
+                && request.getDestinationId() != null && !request.getDestinationId().isBlank()) {
+            keys.add(request.getOriginId() + ':' + request.getDestinationId());
+        }
+
+        for (String key : keys) {
+            if (properties.isPersist()) {
+                skipRepository.upsert(IdGenerator.generateCuid(), userId, key, expiresAt);
+            } else {
+                skips.get(userId, id -> new UserSkips(properties.getMaxPerUser())).put(key, expiresAt);
+            }
+        }
+        log.debug("User {} skipped {}", userId, keys);
+    }
+
+    /** Returns the user's unexpired skips as relationship IDs and {@code origin:destination} keys. */
+    public Set<String> skipped(String userId) {
+        UserSkips userSkips = properties.isPersist() ? load(userId) : skips.getIfPresent(userId);
+        return userSkips == null ? Set.of() : userSkips.active(Instant.now());
+    }
+
+    /** Forgets all of the user's in-memory skips; persisted rows simply expire. */
+    public void clear(String userId) {
+        skips.invalidate(userId);
+    }
+
+    /** Deletes expired rows so the table only holds live skips. */
+    @Scheduled(fixedDelayString = "${memo.scheduling.skips.cleanup-interval:PT10M}")
+    @Transactional
+    public void deleteExpired() {
+        if (!properties.isPersist()) {
+            return;
+        }
+        int deleted = skipRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired skips", deleted);
+        }
+    }
+
+    private UserSkips load(String userId) {
+        UserSkips userSkips = new UserSkips(properties.getMaxPerUser());
+        skipRepository.findActiveByUserId(userId, Instant.now()).stream()
+                .sorted(Comparator.comparing(SchedulingSkip::getExpiresAt))
+                .forEach(skip -> userSkips.put(skip.getSkipKey(), skip.getExpiresAt()));
+        return userSkips;
+    }
+
+    /** Skip keys with their expiry, oldest first; bounded so a long session stays small. */
+    private static final class UserSkips {
+
+        private final Map<String, Instant> entries;
+
+        UserSkips(int maxEntries) {
+            this.entries = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized void put(String key, Instant expiresAt) {
+            // Re-inserting moves a repeated skip to the young end
+            entries.remove(key);
+            entries.put(key, expiresAt);
+        }
+
+        synchronized Set<String> active(Instant now) {
+            entries.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            return new HashSet<>(entries.keySet());
+        }
+    }
+}
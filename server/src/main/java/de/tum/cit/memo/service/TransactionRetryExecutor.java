@@ -0,0 +1,87 @@
+package de.tum.cit.memo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs work in a transaction and retries it when Postgres aborts it with a
+ * deadlock or serialization failure, which Spring reports as
+ * {@link ConcurrencyFailureException}. Retries and exhausted attempts are
+ * counted in {@code memo.transaction.retries}, tagged by operation.
+ */
+@Slf4j
+@Component
+public class TransactionRetryExecutor {
+
+    static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF_MILLIS = 10;
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public TransactionRetryExecutor(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Executes {@code work} in a new transaction, retrying up to {@value #MAX_ATTEMPTS}
+     * attempts in total. When a transaction is already active the work joins it and is
+     * not retried here, since only the outermost caller can restart it.
+     */
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException ex) {
+                String cause = ex.getClass().getSimpleName();
+                if (attempt >= MAX_ATTEMPTS) {
+                    counter(operation, "exhausted", cause).increment();
+                    log.warn("{} failed after {} attempts: {}", operation, attempt, ex.getMessage());
+                    throw ex;
+                }
+                counter(operation, "retried", cause).increment();
+                log.debug("{} aborted by {} (attempt {}), retrying", operation, cause, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Jittered linear backoff so the competing transactions do not collide again. */
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(BASE_BACKOFF_MILLIS * attempt + ThreadLocalRandom.current().nextLong(BASE_BACKOFF_MILLIS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying transaction", ex);
+        }
+    }
+
+    private Counter counter(String operation, String outcome, String cause) {
+        return Counter.builder("memo.transaction.retries")
+                .description("Transactions retried or given up after deadlock or serialization failures")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,155 @@
+package de.tum.cit.memo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.tum.cit.memo.config.MemoProperties;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+/**
+ * Bounded TTL cache of each user's role, or of the user's absence, so that
+ * authenticating a request and checking that the user exists do not cost a
+ * database round-trip each. Metrics are published as {@code cache.*{cache=user-roles}}.
+ * <p>
+ * Writers call {@link #userChanged} or {@link #allUsersChanged} inside their
+ * transaction. The local entry is dropped after commit, and a Postgres
+ * {@code NOTIFY}, which is only delivered if the transaction commits, tells the
+ * other instances to drop theirs. Each instance keeps one connection listening
+ * for these, opened outside the application's pool so it never takes a slot
+ * from request handling; if it drops, the whole cache is cleared on reconnect because
+ * notifications sent in between are lost. The TTL bounds staleness should a
+ * change bypass these hooks, e.g. a manual database edit.
+ */
+@Slf4j
+@Component
+public class UserRoleCache {
+
+    static final String CHANNEL = "user_role_invalidation";
+    private static final String ALL_USERS = "*";
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final Cache<String, Optional<UserRole>> roles;
+    private final Thread listener;
+    private volatile boolean running = true;
+
+    public UserRoleCache(UserRepository userRepository, JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties, MemoProperties memoProperties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        MemoProperties.RoleCache properties = memoProperties.getRoleCache();
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roles, "user-roles");
+        this.listener = new Thread(this::listen, "user-role-invalidation");
+        this.listener.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void startListening() {
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        running = false;
+        listener.interrupt();
+    }
+
+    /** The user's role, or empty if no such user exists. */
+    public Optional<UserRole> role(String userId) {
+        return roles.get(userId, userRepository::findRoleById);
+    }
+
+    public boolean exists(String userId) {
+        return role(userId).isPresent();
+    }
+
+    /** Call inside the transaction that created, updated or deleted the user. */
+    public void userChanged(String userId) {
+        notifyInstances(userId);
+        TransactionHooks.afterCommit(() -> roles.invalidate(userId));
+    }
+
+    /** Call inside a transaction that changed users in bulk. */
+    public void allUsersChanged() {
+        notifyInstances(ALL_USERS);
+        TransactionHooks.afterCommit(roles::invalidateAll);
+    }
+
+    private void notifyInstances(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, CHANNEL, payload);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Anything changed while we were not listening went unnoticed
+                roles.invalidateAll();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost user role invalidation listener, reconnecting in {} ms", RECONNECT_DELAY_MS, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** A dedicated connection, so the listener does not hold one of the pool's for its lifetime. */
+    private Connection openListenerConnection() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private void apply(String payload) {
+        if (ALL_USERS.equals(payload)) {
+            roles.invalidateAll();
+        } else {
+            roles.invalidate(payload);
+        }
+    }
+}
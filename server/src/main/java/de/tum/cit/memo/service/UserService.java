@@ -1,6 +1,7 @@
 package de.tum.cit.memo.service;
 
 import de.tum.cit.memo.dto.CreateUserRequest;
+import de.tum.cit.memo.dto.CursorPage;
 import de.tum.cit.memo.dto.UpdateUserRequest;
 import de.tum.cit.memo.entity.User;
 import de.tum.cit.memo.enums.UserRole;
@@ -9,6 +10,7 @@ import de.tum.cit.memo.exception.ResourceNotFoundException;
 import de.tum.cit.memo.repository.UserRepository;
 import de.tum.cit.memo.util.IdGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +26,7 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserRoleCache roleCache;
 
     @Transactional
     public User createUser(CreateUserRequest request) {
@@ -52,8 +56,16 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public CursorPage<User> getUserPage(String after, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        List<User> rows = userRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.start(after),
+            PageRequest.ofSize(size + 1));
+        return CursorPage.of(rows, size, User::getId);
+    }
+
+    /** All users in id order; must be consumed inside a transaction. */
+    public Stream<User> streamUsers() {
+        return userRepository.streamAllOrderedById();
     }
 
     @Transactional
@@ -70,6 +82,7 @@ public class UserService {
             user.setRole(request.getRole());
         }
 
+        roleCache.userChanged(id);
         return userRepository.save(user);
     }
 
@@ -79,14 +92,17 @@ public class UserService {
             throw new ResourceNotFoundException("User not found");
         }
         userRepository.deleteById(id);
+        roleCache.userChanged(id);
     }
 
     @Transactional
     public User findOrCreateBySubject(String sub) {
         return userRepository.findById(sub)
-            .orElseGet(() -> userRepository.save(
-                User.builder().id(sub).role(UserRole.USER).build()
-            ));
+            .orElseGet(() -> {
+                // The subject may be cached as absent, e.g. by an earlier scheduling call
+                roleCache.userChanged(sub);
+                return userRepository.save(User.builder().id(sub).role(UserRole.USER).build());
+            });
     }
 
     @Transactional
@@ -100,6 +116,10 @@ public class UserService {
     @Transactional
     public int deleteUsersWithExpiredConsentTtl(long ttlDays) {
         Instant threshold = Instant.now().minus(Duration.ofDays(ttlDays));
-        return userRepository.deleteExpiredUnconsented(threshold);
+        int deleted = userRepository.deleteExpiredUnconsented(threshold);
+        if (deleted > 0) {
+            roleCache.allUsersChanged();
+        }
+        return deleted;
     }
 }
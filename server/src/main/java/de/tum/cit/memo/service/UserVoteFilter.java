@@ -0,0 +1,222 @@
+package de.tum.cit.memo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.tum.cit.memo.repository.CompetencyRelationshipVoteRepository;
+import de.tum.cit.memo.util.BloomFilter;
+import de.tum.cit.memo.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Per-user Bloom filter over the relationships a user voted on, so schedulers
+ * can drop already-voted candidates in memory instead of running a NOT EXISTS
+ * anti-join over the vote log. Filters are built lazily from the vote log,
+ * extended on each vote and discarded on unvote (Bloom filters cannot forget),
+ * then rebuilt on demand.
+ * <p>
+ * Filter hits are confirmed against the database, but misses are trusted, so a
+ * filter must not lack a vote. Votes committed while a filter is being built
+ * are queued and added once it is installed. Votes handled by other instances
+ * never reach this one, so filters are rebuilt a minute after they were built,
+ * however active the user is; until then such a vote may be missed.
+ */
+@Slf4j
+@Component
+public class UserVoteFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+    private static final long MAX_USERS = 10_000;
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(1);
+
+    private final CompetencyRelationshipVoteRepository voteRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<String, UserFilter> filters = Caffeine.newBuilder()
+            .maximumSize(MAX_USERS)
+            .expireAfterWrite(MAX_STALENESS)
+            .build();
+
+    /** Guards installing filters, {@link #building} and {@link #generation}. */
+    private final Object lock = new Object();
+    /** Votes committed during each in-flight build, per user. */
+    private final Map<String, List<Set<String>>> building = new HashMap<>();
+    /** Bumped by invalidations, so a build that overlapped one is not cached. */
+    private long generation;
+
+    public UserVoteFilter(CompetencyRelationshipVoteRepository voteRepository,
+            PlatformTransactionManager transactionManager) {
+        this.voteRepository = voteRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** Returns which of the given relationships the user has voted on. */
+    public Set<String> votedAmong(String userId, Collection<String> relationshipIds) {
+        return votedAmong(userId, relationshipIds, 1.0).orElseThrow();
+    }
+
+    /**
+     * Returns which of the given relationships the user has voted on, or empty
+     * without querying when more than {@code maxHitRatio} of them are filter hits.
+     * Confirming that many hits costs about as much as an anti-join would.
+     */
+    public Optional<Set<String>> votedAmong(String userId, Collection<String> relationshipIds, double maxHitRatio) {
+        if (relationshipIds.isEmpty()) {
+            return Optional.of(Set.of());
+        }
+        UserFilter filter = filters.getIfPresent(userId);
+        if (filter == null) {
+            filter = load(userId, true);
+        }
+        List<String> maybeVoted = relationshipIds.stream()
+                .filter(filter.bloom()::mightContain)
+                .toList();
+        if (maybeVoted.isEmpty()) {
+            return Optional.of(Set.of());
+        }
+        if (maybeVoted.size() > maxHitRatio * relationshipIds.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(new HashSet<>(voteRepository.findVotedRelationshipIds(userId, maybeVoted)));
+    }
+
+    public void voteRecorded(String userId, String relationshipId) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (lock) {
+                UserFilter filter = filters.getIfPresent(userId);
+                if (filter != null) {
+                    add(userId, filter, relationshipId);
+                }
+                List<Set<String>> pending = building.get(userId);
+                if (pending != null) {
+                    pending.forEach(votes -> votes.add(relationshipId));
+                }
+            }
+        });
+    }
+
+    public void votesRemoved(String userId) {
+        TransactionHooks.afterCommit(() -> {
+            // A removed vote left in a filter only costs a confirmation query
+            filters.invalidate(userId);
+        });
+    }
+
+    /** Drops every filter, e.g. after votes were moved between relationships in bulk. */
+    public void allVotesChanged() {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (lock) {
+                generation++;
+                filters.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Builds the user's filter and installs it together with the votes committed
+     * meanwhile. Those votes may be missing from the build's snapshot, and their
+     * after-commit hooks found no filter to extend. A build that overlapped a bulk
+     * vote change may predate it, so it is done once more.
+     */
+    private UserFilter load(String userId, boolean retry) {
+        Set<String> pending = new HashSet<>();
+        long startGeneration;
+        synchronized (lock) {
+            startGeneration = generation;
+            building.computeIfAbsent(userId, id -> new ArrayList<>()).add(pending);
+        }
+        UserFilter filter;
+        try {
+            filter = build(userId);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                stopQueueing(userId, pending);
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            stopQueueing(userId, pending);
+            for (String relationshipId : pending) {
+                filter.bloom().put(relationshipId);
+                filter.incrementAdded();
+            }
+            if (generation == startGeneration) {
+                filters.put(userId, filter);
+                return filter;
+            }
+        }
+        return retry ? load(userId, false) : filter;
+    }
+
+    private void stopQueueing(String userId, Set<String> pending) {
+        List<Set<String>> builds = building.get(userId);
+        builds.removeIf(votes -> votes == pending);
+        if (builds.isEmpty()) {
+            building.remove(userId);
+        }
+    }
+
+    /** Adds a vote, or drops the filter once it is full and its false-positive rate would degrade. */
+    private void add(String userId, UserFilter filter, String relationshipId) {
+        if (filter.added() >= filter.bloom().expectedInsertions()) {
+            filters.invalidate(userId);
+        } else {
+            filter.bloom().put(relationshipId);
+            filter.incrementAdded();
+        }
+    }
+
+    private UserFilter build(String userId) {
+        return readOnlyTransaction.execute(status -> {
+            long votes = voteRepository.countByUserId(userId);
+            // Leave room for the user to keep voting before the filter fills up
+            int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_CAPACITY, votes * 2));
+            BloomFilter bloom = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+            UserFilter filter = new UserFilter(bloom);
+            try (Stream<String> ids = voteRepository.streamRelationshipIdsByUserId(userId)) {
+                ids.forEach(id -> {
+                    bloom.put(id);
+                    filter.incrementAdded();
+                });
+            }
+            log.debug("Built vote filter for user {} with {} votes", userId, filter.added());
+            return filter;
+        });
+    }
+
+    private static final class UserFilter {
+
+        private final BloomFilter bloom;
+        private volatile int added;
+
+        UserFilter(BloomFilter bloom) {
+            this.bloom = bloom;
+        }
+
+        BloomFilter bloom() {
+            return bloom;
+        }
+
+        int added() {
+            return added;
+        }
+
+        synchronized void incrementAdded() {
+            added++;
+        }
+    }
+}
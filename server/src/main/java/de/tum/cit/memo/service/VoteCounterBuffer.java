@@ -0,0 +1,281 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.config.MemoProperties;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.RelationshipCounters;
+import de.tum.cit.memo.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind accumulator for vote counters and competency degrees.
+ * Deltas are merged per row in a {@link ConcurrentHashMap}, whose per-bin locking
+ * stripes contention across relationships, and written back in grouped UPDATEs
+ * on a short interval and on shutdown. Keeps hot relationship and degree rows
+ * off the vote request path. Disabled by default.
+ */
+@Slf4j
+@Component
+public class VoteCounterBuffer {
+
+    private static final int[] NO_DELTA = new int[4];
+
+    private final CompetencyRelationshipRepository relationshipRepository;
+    private final CompetencyRepository competencyRepository;
+    private final CompetencyGraphIndex graphIndex;
+    private final MemoProperties memoProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<String, int[]> pendingCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> pendingDegrees = new ConcurrentHashMap<>();
+
+    /** Deltas taken out of the pending maps by a flush that has not committed yet. */
+    private volatile Map<String, int[]> inFlightCounters = Map.of();
+
+    public VoteCounterBuffer(CompetencyRelationshipRepository relationshipRepository,
+            CompetencyRepository competencyRepository,
+            CompetencyGraphIndex graphIndex,
+            MemoProperties memoProperties,
+            PlatformTransactionManager transactionManager) {
+        this.relationshipRepository = relationshipRepository;
+        this.competencyRepository = competencyRepository;
+        this.graphIndex = graphIndex;
+        this.memoProperties = memoProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return memoProperties.getScheduling().getWriteBehind().isEnabled();
+    }
+
+    /**
+     * Adds counter deltas in (assumes, extends, matches, unrelated) order.
+     * Only call after the vote row change has been committed, so a rollback
+     * cannot leave a delta without its vote.
+     */
+    public void addCounters(String relationshipId, int[] delta) {
+        pendingCounters.compute(relationshipId, (id, current) -> {
+            int[] merged = current == null ? new int[4] : current;
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += delta[i];
+            }
+            return merged;
+        });
+    }
+
+    public void addDegree(String competencyId, int delta) {
+        pendingDegrees.merge(competencyId, delta, Integer::sum);
+    }
+
+    /**
+     * Counter deltas not yet visible in the database. Exact except in the short
+     * window in which a flush is committing.
+     */
+    public int[] unflushed(String relationshipId) {
+        int[] result = inFlightCounters.getOrDefault(relationshipId, NO_DELTA).clone();
+        // Read under the bin lock so a concurrent addCounters is seen whole
+        pendingCounters.computeIfPresent(relationshipId, (id, pending) -> {
+            for (int i = 0; i < result.length; i++) {
+                result[i] += pending[i];
+            }
+            return pending;
+        });
+        return result;
+    }
+
+    /** Persisted counters plus everything still buffered for the row plus {@code extra}. */
+    public RelationshipCounters withUnflushed(RelationshipCounters persisted, int[] extra) {
+        int[] delta = unflushed(persisted.getId());
+        CompetencyRelationship merged = CompetencyRelationship.builder()
+                .voteAssumes(Math.max(persisted.getVoteAssumes() + delta[0] + extra[0], 0))
+                .voteExtends(Math.max(persisted.getVoteExtends() + delta[1] + extra[1], 0))
+                .voteMatches(Math.max(persisted.getVoteMatches() + delta[2] + extra[2], 0))
+                .voteUnrelated(Math.max(persisted.getVoteUnrelated() + delta[3] + extra[3], 0))
+                .build();
+        merged.recalculateEntropy();
+        return new MergedCounters(persisted.getId(), persisted.getOriginId(), persisted.getDestinationId(), merged);
+    }
+
+    @Scheduled(fixedDelayString = "${memo.scheduling.write-behind.flush-interval:PT0.25S}")
+    public void scheduledFlush() {
+        if (isEnabled()) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!pendingCounters.isEmpty() || !pendingDegrees.isEmpty()) {
+            log.info("Flushing buffered vote counters before shutdown");
+            flush();
+        }
+    }
+
+    /**
+     * Runs {@code recount}, a transaction that recomputes counters or degrees from
+     * the vote log, with pending deltas written first and no flush until it ends.
+     * Deltas buffered meanwhile for the rows it recomputes must be dropped with
+     * {@link #discardRecounted} before it commits.
+     */
+    public synchronized <T> T recounting(Supplier<T> recount) {
+        flush();
+        return recount.get();
+    }
+
+    /**
+     * Drops the pending deltas of rows just recomputed from the vote log, whose
+     * votes committed before the recount locked the rows and are thus already
+     * counted. Call inside the recounting transaction; the deltas are put back
+     * if it rolls back.
+     */
+    public void discardRecounted(Collection<String> relationshipIds, Collection<String> competencyIds) {
+        Map<String, int[]> counters = new HashMap<>();
+        for (String id : relationshipIds) {
+            int[] delta = pendingCounters.remove(id);
+            if (delta != null) {
+                counters.put(id, delta);
+            }
+        }
+        Map<String, Integer> degrees = new HashMap<>();
+        for (String id : competencyIds) {
+            Integer delta = pendingDegrees.remove(id);
+            if (delta != null) {
+                degrees.put(id, delta);
+            }
+        }
+        if (!counters.isEmpty() || !degrees.isEmpty()) {
+            log.debug("Discarded {} buffered counters and {} degrees of recounted rows",
+                    counters.size(), degrees.size());
+            TransactionHooks.afterRollback(() -> {
+                counters.forEach(this::addCounters);
+                degrees.forEach(this::addDegree);
+            });
+        }
+    }
+
+    /**
+     * Drains all pending deltas and applies them in one transaction, in id order so
+     * concurrent writers lock rows in the same sequence. Relationships left without
+     * votes are deleted. On failure the deltas are put back for the next round.
+     */
+    public synchronized void flush() {
+        Map<String, int[]> counters = new TreeMap<>();
+        for (String id : pendingCounters.keySet()) {
+            int[] delta = pendingCounters.remove(id);
+            if (delta != null) {
+                counters.put(id, delta);
+            }
+        }
+        Map<String, Integer> degrees = new TreeMap<>();
+        for (String id : pendingDegrees.keySet()) {
+            Integer delta = pendingDegrees.remove(id);
+            if (delta != null) {
+                degrees.put(id, delta);
+            }
+        }
+        if (counters.isEmpty() && degrees.isEmpty()) {
+            return;
+        }
+
+        inFlightCounters = counters;
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(counters, new TreeMap<>(degrees)));
+            log.debug("Flushed {} relationship counters and {} degrees", counters.size(), degrees.size());
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush buffered vote counters, retrying next round", ex);
+            counters.forEach(this::addCounters);
+            degrees.forEach(this::addDegree);
+        } finally {
+            inFlightCounters = Map.of();
+        }
+    }
+
+    private void apply(Map<String, int[]> counters, Map<String, Integer> degrees) {
+        List<RelationshipCounters> removed = new ArrayList<>();
+        counters.forEach((id, delta) -> {
+            Optional<RelationshipCounters> updated = relationshipRepository
+                    .applyVoteDelta(id, delta[0], delta[1], delta[2], delta[3]);
+            if (updated.isEmpty()) {
+                log.debug("Dropping buffered counters for deleted relationship {}", id);
+            } else if (updated.get().getTotalVotes() == 0 && relationshipRepository.deleteIfUnvoted(id) == 1) {
+                removed.add(updated.get());
+            }
+        });
+        for (RelationshipCounters rel : removed) {
+            degrees.merge(rel.getOriginId(), -1, Integer::sum);
+            degrees.merge(rel.getDestinationId(), -1, Integer::sum);
+        }
+        degrees.forEach((id, delta) -> {
+            if (delta != 0) {
+                competencyRepository.addToDegree(id, delta);
+            }
+        });
+        removed.forEach(rel -> graphIndex.relationshipDeleted(rel.getOriginId(), rel.getDestinationId()));
+    }
+
+    /** Counters that include buffered deltas, for vote responses. */
+    private record MergedCounters(String id, String originId, String destinationId, CompetencyRelationship counters)
+            implements RelationshipCounters {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getOriginId() {
+            return originId;
+        }
+
+        @Override
+        public String getDestinationId() {
+            return destinationId;
+        }
+
+        @Override
+        public int getVoteAssumes() {
+            return counters.getVoteAssumes();
+        }
+
+        @Override
+        public int getVoteExtends() {
+            return counters.getVoteExtends();
+        }
+
+        @Override
+        public int getVoteMatches() {
+            return counters.getVoteMatches();
+        }
+
+        @Override
+        public int getVoteUnrelated() {
+            return counters.getVoteUnrelated();
+        }
+
+        @Override
+        public int getTotalVotes() {
+            return counters.getTotalVotes();
+        }
+
+        @Override
+        public double getEntropy() {
+            return counters.getEntropy();
+        }
+    }
+}
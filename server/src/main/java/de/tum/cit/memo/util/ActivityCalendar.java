@@ -0,0 +1,80 @@
+package de.tum.cit.memo.util;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * Active days over a fixed date range, stored as one bit per day at its offset
+ * from the first day. Streaks are found by jumping between set and clear bits a
+ * word at a time, so multi-year ranges cost a few hundred bytes and no per-day
+ * objects.
+ */
+public final class ActivityCalendar {
+
+    private final long firstEpochDay;
+    private final int length;
+    private final BitSet active;
+
+    /** Covers {@code first} to {@code last}, both inclusive. */
+    public ActivityCalendar(LocalDate first, LocalDate last) {
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("Range ends before it starts: " + first + " to " + last);
+        }
+        this.firstEpochDay = first.toEpochDay();
+        this.length = Math.toIntExact(last.toEpochDay() - firstEpochDay + 1);
+        this.active = new BitSet(length);
+    }
+
+    /** Marks the day active; days outside the range are ignored. */
+    public void markActive(LocalDate day) {
+        markActive(day.toEpochDay());
+    }
+
+    public void markActive(long epochDay) {
+        long offset = epochDay - firstEpochDay;
+        if (offset >= 0 && offset < length) {
+            active.set((int) offset);
+        }
+    }
+
+    public boolean isActive(LocalDate day) {
+        long offset = day.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset < length && active.get((int) offset);
+    }
+
+    /** Number of active days in the range. */
+    public int activeDays() {
+        return active.cardinality();
+    }
+
+    /**
+     * Consecutive active days ending at {@code today}, or at the day before if
+     * today has no activity yet, so a streak survives until the day is over.
+     */
+    public int currentStreak(LocalDate today) {
+        long end = today.toEpochDay() - firstEpochDay;
+        if (end >= length) {
+            return 0;
+        }
+        if (end >= 0 && !active.get((int) end)) {
+            end--;
+        }
+        if (end < 0) {
+            return 0;
+        }
+        return (int) end - active.previousClearBit((int) end);
+    }
+
+    /** Longest run of consecutive active days between {@code from} and {@code to}, inclusive. */
+    public int longestStreak(LocalDate from, LocalDate to) {
+        int start = (int) Math.max(0, from.toEpochDay() - firstEpochDay);
+        int end = (int) Math.min(length, to.toEpochDay() - firstEpochDay + 1);
+        int longest = 0;
+        for (int runStart = active.nextSetBit(start); runStart >= 0 && runStart < end; ) {
+            int runEnd = Math.min(end, active.nextClearBit(runStart));
+            longest = Math.max(longest, runEnd - runStart);
+            runStart = active.nextSetBit(runEnd);
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,88 @@
+package de.tum.cit.memo.util;
+
+import java.util.Random;
+
+/**
+ * Walker alias table for sampling indexes proportionally to fixed weights.
+ * Built in O(n) with Vose's method; every sample then costs one random
+ * int and one random double, independent of the number of entries.
+ * Immutable and safe to share between threads.
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights non-negative weights; if they are all zero every index is
+     *                equally likely
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        probability = new double[n];
+        alias = new int[n];
+        if (n == 0) {
+            return;
+        }
+
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Weights must be non-negative: " + weight);
+            }
+            total += weight;
+        }
+
+        // Scale so the average bucket holds exactly 1.0, then pair each under-full
+        // bucket with an over-full one that donates the remainder
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = total > 0 ? weights[i] * n / total : 1.0;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    /** Returns an index with probability proportional to its weight. */
+    public int sample(Random random) {
+        if (probability.length == 0) {
+            throw new IllegalStateException("Cannot sample from an empty table");
+        }
+        int bucket = random.nextInt(probability.length);
+        return random.nextDouble() < probability[bucket] ? bucket : alias[bucket];
+    }
+}
@@ -0,0 +1,156 @@
+package de.tum.cit.memo.util;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Binary min-heap over dense int handles with an int priority each.
+ * Priorities can be changed in place in O(log n) and the k smallest
+ * handles can be read in O(k log k) without modifying the heap.
+ * Not thread-safe; callers synchronize externally.
+ */
+public final class IndexedMinHeap {
+
+    private int[] heap;
+    private int[] positions;
+    private int[] priorities;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        int initial = Math.max(16, capacity);
+        heap = new int[initial];
+        positions = new int[initial];
+        priorities = new int[initial];
+        Arrays.fill(positions, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int handle) {
+        return handle < positions.length && positions[handle] >= 0;
+    }
+
+    public int priority(int handle) {
+        return priorities[handle];
+    }
+
+    public void insert(int handle, int priority) {
+        if (contains(handle)) {
+            update(handle, priority);
+            return;
+        }
+        ensureHandleCapacity(handle + 1);
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        priorities[handle] = priority;
+        heap[size] = handle;
+        positions[handle] = size;
+        siftUp(size++);
+    }
+
+    public void update(int handle, int priority) {
+        if (!contains(handle)) {
+            return;
+        }
+        int old = priorities[handle];
+        priorities[handle] = priority;
+        if (priority < old) {
+            siftUp(positions[handle]);
+        } else if (priority > old) {
+            siftDown(positions[handle]);
+        }
+    }
+
+    public void remove(int handle) {
+        if (!contains(handle)) {
+            return;
+        }
+        int pos = positions[handle];
+        int last = heap[--size];
+        positions[handle] = -1;
+        if (pos == size) {
+            return;
+        }
+        heap[pos] = last;
+        positions[last] = pos;
+        siftUp(pos);
+        siftDown(positions[last]);
+    }
+
+    /** Returns up to {@code k} handles with the smallest priorities, ascending. */
+    public int[] smallest(int k) {
+        int limit = Math.min(k, size);
+        int[] result = new int[limit];
+        if (limit == 0) {
+            return result;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                (a, b) -> compare(heap[a], heap[b]));
+        frontier.add(0);
+        for (int n = 0; n < limit; n++) {
+            int pos = frontier.poll();
+            result[n] = heap[pos];
+            int left = 2 * pos + 1;
+            if (left < size) {
+                frontier.add(left);
+            }
+            if (left + 1 < size) {
+                frontier.add(left + 1);
+            }
+        }
+        return result;
+    }
+
+    private void siftUp(int pos) {
+        int handle = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (compare(handle, heap[parent]) >= 0) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            positions[heap[pos]] = pos;
+            pos = parent;
+        }
+        heap[pos] = handle;
+        positions[handle] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int handle = heap[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            if (child + 1 < size && compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (compare(handle, heap[child]) <= 0) {
+                break;
+            }
+            heap[pos] = heap[child];
+            positions[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = handle;
+        positions[handle] = pos;
+    }
+
+    private int compare(int a, int b) {
+        int cmp = Integer.compare(priorities[a], priorities[b]);
+        return cmp != 0 ? cmp : Integer.compare(a, b);
+    }
+
+    private void ensureHandleCapacity(int required) {
+        if (required <= positions.length) {
+            return;
+        }
+        int capacity = Math.max(required, positions.length << 1);
+        int oldLength = positions.length;
+        positions = Arrays.copyOf(positions, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        Arrays.fill(positions, oldLength, capacity, -1);
+    }
+}
@@ -0,0 +1,108 @@
+package de.tum.cit.memo.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of primitive longs with linear probing.
+ * Avoids boxing, so millions of keys cost ~16 bytes each instead of ~80.
+ * Not thread-safe; callers synchronize externally.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long REMOVED = Long.MIN_VALUE + 1;
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] table;
+    private int size;
+    private int used;
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(long key) {
+        checkKey(key);
+        int mask = table.length - 1;
+        int i = mix(key) & mask;
+        while (table[i] != EMPTY) {
+            if (table[i] == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean add(long key) {
+        checkKey(key);
+        if (used + 1 > table.length * MAX_LOAD) {
+            rehash(size + 1 > table.length * MAX_LOAD / 2 ? table.length << 1 : table.length);
+        }
+        int mask = table.length - 1;
+        int i = mix(key) & mask;
+        int firstRemoved = -1;
+        while (table[i] != EMPTY) {
+            if (table[i] == key) {
+                return false;
+            }
+            if (table[i] == REMOVED && firstRemoved < 0) {
+                firstRemoved = i;
+            }
+            i = (i + 1) & mask;
+        }
+        if (firstRemoved >= 0) {
+            table[firstRemoved] = key;
+        } else {
+            table[i] = key;
+            used++;
+        }
+        size++;
+        return true;
+    }
+
+    public boolean remove(long key) {
+        checkKey(key);
+        int mask = table.length - 1;
+        int i = mix(key) & mask;
+        while (table[i] != EMPTY) {
+            if (table[i] == key) {
+                table[i] = REMOVED;
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        size = 0;
+        used = 0;
+        for (long key : old) {
+            if (key != EMPTY && key != REMOVED) {
+                add(key);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY || key == REMOVED) {
+            throw new IllegalArgumentException("Reserved key: " + key);
+        }
+    }
+}
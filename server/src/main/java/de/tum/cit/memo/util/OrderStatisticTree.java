@@ -0,0 +1,171 @@
+package de.tum.cit.memo.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sorted set that also answers "how many elements are smaller than x" and
+ * "which element is at position i" in O(log n). Implemented as a treap whose
+ * nodes carry their subtree size. Not thread-safe.
+ */
+public final class OrderStatisticTree<K> {
+
+    private final Comparator<? super K> comparator;
+    private final SplittableRandom priorities = new SplittableRandom();
+    private Node<K> root;
+
+    /** Right half of the last {@link #splitLower} call; avoids allocating a pair per split. */
+    private Node<K> splitRemainder;
+
+    public OrderStatisticTree(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean contains(K key) {
+        Node<K> node = root;
+        while (node != null) {
+            int c = comparator.compare(key, node.key);
+            if (c == 0) {
+                return true;
+            }
+            node = c < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /** Adds the key; returns false if an equal key is already present. */
+    public boolean add(K key) {
+        if (contains(key)) {
+            return false;
+        }
+        Node<K> lower = splitLower(root, key);
+        Node<K> upper = splitRemainder;
+        splitRemainder = null;
+        root = merge(merge(lower, new Node<>(key, priorities.nextInt())), upper);
+        return true;
+    }
+
+    /** Removes the key; returns false if it was not present. */
+    public boolean remove(K key) {
+        if (!contains(key)) {
+            return false;
+        }
+        root = remove(root, key);
+        return true;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /** Number of keys strictly smaller than the given one, i.e. its zero-based position if present. */
+    public int countLess(K key) {
+        int count = 0;
+        Node<K> node = root;
+        while (node != null) {
+            if (comparator.compare(key, node.key) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /** Returns up to {@code count} keys in order, starting at zero-based position {@code from}. */
+    public List<K> range(int from, int count) {
+        List<K> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        collect(root, from, from + count, 0, result);
+        return result;
+    }
+
+    private void collect(Node<K> node, int from, int to, int offset, List<K> result) {
+        if (node == null || offset >= to || offset + node.size <= from) {
+            return;
+        }
+        collect(node.left, from, to, offset, result);
+        int position = offset + size(node.left);
+        if (position >= from && position < to) {
+            result.add(node.key);
+        }
+        collect(node.right, from, to, position + 1, result);
+    }
+
+    /** Splits into keys below {@code key} (returned) and the rest ({@link #splitRemainder}). */
+    private Node<K> splitLower(Node<K> node, K key) {
+        if (node == null) {
+            splitRemainder = null;
+            return null;
+        }
+        if (comparator.compare(node.key, key) < 0) {
+            node.right = splitLower(node.right, key);
+            update(node);
+            return node;
+        }
+        Node<K> lower = splitLower(node.left, key);
+        node.left = splitRemainder;
+        update(node);
+        splitRemainder = node;
+        return lower;
+    }
+
+    private Node<K> merge(Node<K> lower, Node<K> upper) {
+        if (lower == null) {
+            return upper;
+        }
+        if (upper == null) {
+            return lower;
+        }
+        if (lower.priority > upper.priority) {
+            lower.right = merge(lower.right, upper);
+            update(lower);
+            return lower;
+        }
+        upper.left = merge(lower, upper.left);
+        update(upper);
+        return upper;
+    }
+
+    private Node<K> remove(Node<K> node, K key) {
+        int c = comparator.compare(key, node.key);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        if (c < 0) {
+            node.left = remove(node.left, key);
+        } else {
+            node.right = remove(node.right, key);
+        }
+        update(node);
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static final class Node<K> {
+
+        private final K key;
+        private final int priority;
+        private Node<K> left;
+        private Node<K> right;
+        private int size = 1;
+
+        Node(K key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package de.tum.cit.memo.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes competency titles for duplicate detection, so that "Linear Algebra"
+ * and " linear  algebra" count as the same competency. Must stay in sync with
+ * {@code normalize_competency_title} in {@code V18__normalize_titles_consistently.sql}:
+ * both collapse runs of Unicode White_Space to one space, trim spaces and
+ * lower-case ASCII letters only, so neither side depends on the database locale.
+ */
+public final class TitleNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+
+    private TitleNormalizer() {
+    }
+
+    /** Collapses whitespace runs to one space, trims and lower-cases the title. */
+    public static String normalize(String title) {
+        String collapsed = WHITESPACE.matcher(title).replaceAll(" ");
+        int start = 0;
+        int end = collapsed.length();
+        while (start < end && collapsed.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && collapsed.charAt(end - 1) == ' ') {
+            end--;
+        }
+        char[] chars = collapsed.substring(start, end).toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+}
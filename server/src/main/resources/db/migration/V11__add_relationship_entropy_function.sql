@@ -0,0 +1,20 @@
+-- Shannon entropy (base 2) over the four vote counters.
+-- Mirrors CompetencyRelationship.recalculateEntropy() so that counters, total_votes
+-- and entropy can be updated together in a single atomic UPDATE statement.
+CREATE OR REPLACE FUNCTION relationship_entropy(
+    assumes INT,
+    extends_votes INT,
+    matches INT,
+    unrelated INT
+)
+RETURNS DOUBLE PRECISION
+LANGUAGE SQL
+IMMUTABLE
+AS $$
+    SELECT COALESCE(-SUM(p * LN(p)) / LN(2.0::DOUBLE PRECISION), 0.0)
+    FROM (
+        SELECT c::DOUBLE PRECISION / (assumes + extends_votes + matches + unrelated) AS p
+        FROM UNNEST(ARRAY[assumes, extends_votes, matches, unrelated]) AS c
+        WHERE c > 0
+    ) shares
+$$;
@@ -0,0 +1,39 @@
+-- Precomputed scheduling tasks shared by all app instances.
+-- A background producer refills the queue from the coverage and consensus pipelines;
+-- getNextTask dequeues with FOR UPDATE SKIP LOCKED and leases the row for a short TTL,
+-- so concurrent users on different nodes are handed disjoint pairs.
+CREATE TABLE "scheduling_tasks" (
+    "id" VARCHAR(30) NOT NULL,
+    "origin_id" VARCHAR(30) NOT NULL,
+    "destination_id" VARCHAR(30) NOT NULL,
+
+    -- NULL for coverage pairs that have no relationship row yet
+    "relationship_id" VARCHAR(30),
+
+    -- COVERAGE or CONSENSUS
+    "pipeline" VARCHAR(20) NOT NULL,
+
+    -- Higher is served first within a pipeline
+    "priority" DOUBLE PRECISION NOT NULL DEFAULT 0.0,
+
+    "leased_by" VARCHAR(36),
+    "lease_expires_at" TIMESTAMP,
+    "created_at" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT "scheduling_tasks_pkey" PRIMARY KEY ("id")
+);
+
+-- One task per unordered pair, so producers on several nodes cannot enqueue duplicates
+CREATE UNIQUE INDEX "uk_scheduling_tasks_pair"
+    ON "scheduling_tasks" (LEAST("origin_id", "destination_id"), GREATEST("origin_id", "destination_id"));
+
+CREATE INDEX "idx_scheduling_tasks_dequeue" ON "scheduling_tasks" ("pipeline", "priority" DESC, "created_at");
+
+ALTER TABLE "scheduling_tasks" ADD CONSTRAINT "fk_task_origin"
+    FOREIGN KEY ("origin_id") REFERENCES "competencies"("id") ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE "scheduling_tasks" ADD CONSTRAINT "fk_task_dest"
+    FOREIGN KEY ("destination_id") REFERENCES "competencies"("id") ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE "scheduling_tasks" ADD CONSTRAINT "fk_task_relationship"
+    FOREIGN KEY ("relationship_id") REFERENCES "competency_relationships"("id") ON DELETE CASCADE ON UPDATE CASCADE;
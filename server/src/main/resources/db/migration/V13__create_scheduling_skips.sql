@@ -0,0 +1,21 @@
+-- Pairs a user skipped during scheduling, persisted so skips survive restarts and
+-- are shared between app instances. Only written when memo.scheduling.skips.persist
+-- is enabled; otherwise skips live in memory on the node that recorded them.
+CREATE TABLE "scheduling_skips" (
+    "id" VARCHAR(30) NOT NULL,
+    "user_id" VARCHAR(36) NOT NULL,
+
+    -- Relationship ID or directed "origin:destination" key
+    "skip_key" VARCHAR(61) NOT NULL,
+
+    "expires_at" TIMESTAMP NOT NULL,
+
+    CONSTRAINT "scheduling_skips_pkey" PRIMARY KEY ("id")
+);
+
+CREATE UNIQUE INDEX "uk_scheduling_skips_user_key" ON "scheduling_skips" ("user_id", "skip_key");
+
+CREATE INDEX "idx_scheduling_skips_expires_at" ON "scheduling_skips" ("expires_at");
+
+ALTER TABLE "scheduling_skips" ADD CONSTRAINT "fk_skip_user"
+    FOREIGN KEY ("user_id") REFERENCES "users"("id") ON DELETE CASCADE ON UPDATE CASCADE;
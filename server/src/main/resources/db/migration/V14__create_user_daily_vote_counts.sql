@@ -0,0 +1,50 @@
+-- Per-user, per-day vote counts for the contributor stats heatmap and streaks.
+-- Maintained by a trigger on the vote table, so every path that adds or removes
+-- votes (including cascades from deleted relationships) keeps it in step, and stats
+-- read at most one row per active day instead of grouping the whole vote history.
+-- Days are UTC dates of created_at, matching the previous on-the-fly query.
+CREATE TABLE "user_daily_vote_counts" (
+    "user_id" VARCHAR(36) NOT NULL,
+    "vote_date" DATE NOT NULL,
+    "vote_count" INTEGER NOT NULL,
+
+    CONSTRAINT "user_daily_vote_counts_pkey" PRIMARY KEY ("user_id", "vote_date")
+);
+
+ALTER TABLE "user_daily_vote_counts" ADD CONSTRAINT "fk_daily_vote_counts_user"
+    FOREIGN KEY ("user_id") REFERENCES "users"("id") ON DELETE CASCADE ON UPDATE CASCADE;
+
+CREATE OR REPLACE FUNCTION track_daily_vote_count()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE user_daily_vote_counts
+        SET vote_count = vote_count - 1
+        WHERE user_id = OLD.user_id AND vote_date = CAST(OLD.created_at AS DATE);
+
+        -- Drop emptied days so a row always means at least one vote
+        DELETE FROM user_daily_vote_counts
+        WHERE user_id = OLD.user_id AND vote_date = CAST(OLD.created_at AS DATE) AND vote_count <= 0;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO user_daily_vote_counts (user_id, vote_date, vote_count)
+        VALUES (NEW.user_id, CAST(NEW.created_at AS DATE), 1)
+        ON CONFLICT (user_id, vote_date) DO UPDATE SET vote_count = user_daily_vote_counts.vote_count + 1;
+    END IF;
+
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER "trg_votes_daily_count"
+    AFTER INSERT OR DELETE OR UPDATE OF "user_id", "created_at" ON "competency_relationships_votes"
+    FOR EACH ROW EXECUTE FUNCTION track_daily_vote_count();
+
+-- Backfill from existing votes
+INSERT INTO user_daily_vote_counts (user_id, vote_date, vote_count)
+SELECT user_id, CAST(created_at AS DATE), COUNT(*)
+FROM competency_relationships_votes
+GROUP BY user_id, CAST(created_at AS DATE);
@@ -0,0 +1,4 @@
+-- Title lookups during bulk import ran as one sequential scan per row.
+-- A hash index serves the equality and IN lookups and, unlike a B-tree, has no
+-- size limit on the long free-text titles.
+CREATE INDEX "idx_competencies_title" ON "competencies" USING hash ("title");
@@ -0,0 +1,35 @@
+-- Competency dedup compares titles ignoring case and surrounding or repeated
+-- whitespace, through a unique index. The expression must match
+-- TitleNormalizer.normalize: collapse whitespace runs to one space, trim, lower-case.
+ALTER TABLE "competencies" ADD COLUMN "normalized_title" TEXT;
+
+UPDATE "competencies"
+SET "normalized_title" = lower(btrim(regexp_replace("title", '\s+', ' ', 'g')));
+
+-- Existing titles that collide after normalization cannot all keep the key: the
+-- oldest competency of each group keeps it and the others are left NULL. They are
+-- listed by GET /api/admin/competencies/title-collisions until merged or renamed.
+DO $$
+DECLARE
+    collisions INTEGER;
+BEGIN
+    WITH ranked AS (
+        SELECT "id", row_number() OVER (
+            PARTITION BY "normalized_title" ORDER BY "created_at", "id") AS position
+        FROM "competencies"
+    )
+    UPDATE "competencies" c
+    SET "normalized_title" = NULL
+    FROM ranked r
+    WHERE c."id" = r."id" AND r.position > 1;
+
+    GET DIAGNOSTICS collisions = ROW_COUNT;
+    IF collisions > 0 THEN
+        RAISE WARNING '% competencies duplicate the normalized title of an older competency; their normalized_title is NULL', collisions;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX "competencies_normalized_title_key" ON "competencies" ("normalized_title");
+
+-- Superseded: imports now look up normalized titles
+DROP INDEX "idx_competencies_title";
@@ -0,0 +1,56 @@
+-- Change log of competency relationships for incremental sync by analytics
+-- replicas. Written by a trigger, so every path that creates, re-counts, re-points
+-- or deletes a relationship (votes, write-behind flushes, merges, cascades from
+-- deleted competencies) is recorded in the same transaction as the change itself.
+--
+-- Entries are read in (tx_id, id) order and only once their transaction is older
+-- than every running one (pg_snapshot_xmin). A cursor therefore never moves past
+-- an entry whose transaction has not committed yet, even though sequence values
+-- are handed out before commit and transactions commit out of order.
+CREATE TABLE "relationship_changes" (
+    "id" BIGINT GENERATED ALWAYS AS IDENTITY,
+    "tx_id" XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    "relationship_id" VARCHAR(30) NOT NULL,
+    "deleted" BOOLEAN NOT NULL,
+    "changed_at" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT "relationship_changes_pkey" PRIMARY KEY ("id")
+);
+
+CREATE INDEX "idx_relationship_changes_position" ON "relationship_changes" ("tx_id", "id");
+
+-- Last pruned position. Cursors before it may have missed entries and must resync.
+CREATE TABLE "relationship_changes_horizon" (
+    "singleton" BOOLEAN NOT NULL DEFAULT TRUE,
+    "tx_id" XID8 NOT NULL,
+    "id" BIGINT NOT NULL,
+
+    CONSTRAINT "relationship_changes_horizon_pkey" PRIMARY KEY ("singleton"),
+    CONSTRAINT "relationship_changes_horizon_singleton" CHECK ("singleton")
+);
+
+INSERT INTO "relationship_changes_horizon" ("tx_id", "id") VALUES ('0', 0);
+
+CREATE OR REPLACE FUNCTION track_relationship_change()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO relationship_changes (relationship_id, deleted) VALUES (OLD.id, TRUE);
+    ELSE
+        INSERT INTO relationship_changes (relationship_id, deleted) VALUES (NEW.id, FALSE);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER "trg_relationship_changes_insert_delete"
+    AFTER INSERT OR DELETE ON "competency_relationships"
+    FOR EACH ROW EXECUTE FUNCTION track_relationship_change();
+
+-- Updates that leave the row as it was (e.g. a flush with netted-out deltas) are not logged
+CREATE TRIGGER "trg_relationship_changes_update"
+    AFTER UPDATE ON "competency_relationships"
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION track_relationship_change();
@@ -0,0 +1,42 @@
+-- V16 derived the title keys with Postgres' \s, lower() and btrim, which follow
+-- the database locale and disagree with TitleNormalizer on non-ASCII whitespace
+-- and case, so the unique index missed some duplicates. Both sides now share one
+-- definition, kept here as a function: runs of Unicode White_Space collapse to
+-- one space, spaces are trimmed and only ASCII letters are lower-cased.
+CREATE FUNCTION normalize_competency_title(title TEXT)
+RETURNS TEXT
+LANGUAGE sql
+IMMUTABLE STRICT PARALLEL SAFE
+AS $$
+    SELECT lower(btrim(regexp_replace(title,
+        '[\t\n\u000b\f\r \u0085\u00a0\u1680\u2000-\u200a\u2028\u2029\u202f\u205f\u3000]+', ' ', 'g'),
+        ' ') COLLATE "C")
+$$;
+
+-- Recompute every key. As in V16, titles that collide keep the key on the oldest
+-- competency only; the others are left NULL and show up as title collisions.
+DROP INDEX "competencies_normalized_title_key";
+
+UPDATE "competencies" SET "normalized_title" = normalize_competency_title("title");
+
+DO $$
+DECLARE
+    collisions INTEGER;
+BEGIN
+    WITH ranked AS (
+        SELECT "id", row_number() OVER (
+            PARTITION BY "normalized_title" ORDER BY "created_at", "id") AS position
+        FROM "competencies"
+    )
+    UPDATE "competencies" c
+    SET "normalized_title" = NULL
+    FROM ranked r
+    WHERE c."id" = r."id" AND r.position > 1;
+
+    GET DIAGNOSTICS collisions = ROW_COUNT;
+    IF collisions > 0 THEN
+        RAISE WARNING '% competencies duplicate the normalized title of an older competency; their normalized_title is NULL', collisions;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX "competencies_normalized_title_key" ON "competencies" ("normalized_title");
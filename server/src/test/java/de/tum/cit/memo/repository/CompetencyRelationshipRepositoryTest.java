@@ -18,9 +18,11 @@ import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 
 @Sql(statements = {
     "DELETE FROM competency_relationships_votes",
@@ -408,6 +410,85 @@ class CompetencyRelationshipRepositoryTest extends AbstractRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("streamAllPairs")
+    class StreamAllPairs {
+
+        @Test
+        @DisplayName("should stream the directed endpoint pair of every relationship")
+        void shouldStreamAllPairs() {
+            relationshipRepository.save(createRelationship(c1.getId(), c2.getId()));
+            relationshipRepository.save(createRelationship(c2.getId(), c1.getId()));
+            relationshipRepository.save(createRelationship(c1.getId(), c3.getId()));
+            entityManager.flush();
+
+            List<String> pairs;
+            try (Stream<RelationshipPair> stream = relationshipRepository.streamAllPairs()) {
+                pairs = stream.map(p -> p.getOriginId() + ":" + p.getDestinationId()).toList();
+            }
+
+            assertThat(pairs).containsExactlyInAnyOrder(
+                c1.getId() + ":" + c2.getId(),
+                c2.getId() + ":" + c1.getId(),
+                c1.getId() + ":" + c3.getId());
+        }
+    }
+
+    @Nested
+    @DisplayName("applyVoteDelta")
+    class ApplyVoteDelta {
+
+        @Test
+        @DisplayName("should add deltas and derive total and entropy in SQL")
+        void shouldApplyDeltasAndDeriveEntropy() {
+            CompetencyRelationship rel = createRelationship(c1.getId(), c2.getId());
+            rel.setVoteAssumes(2);
+            rel.setVoteMatches(1);
+            rel.recalculateEntropy();
+            relationshipRepository.saveAndFlush(rel);
+
+            RelationshipCounters counters = relationshipRepository
+                .applyVoteDelta(rel.getId(), 1, 3, 0, 0)
+                .orElseThrow();
+
+            CompetencyRelationship expected = createRelationship(c1.getId(), c2.getId());
+            expected.setVoteAssumes(3);
+            expected.setVoteExtends(3);
+            expected.setVoteMatches(1);
+            expected.recalculateEntropy();
+            assertThat(counters.getVoteAssumes()).isEqualTo(3);
+            assertThat(counters.getVoteExtends()).isEqualTo(3);
+            assertThat(counters.getVoteMatches()).isEqualTo(1);
+            assertThat(counters.getVoteUnrelated()).isZero();
+            assertThat(counters.getTotalVotes()).isEqualTo(7);
+            assertThat(counters.getEntropy()).isCloseTo(expected.getEntropy(), within(1e-9));
+        }
+
+        @Test
+        @DisplayName("should clamp counters at zero and reset entropy when no votes remain")
+        void shouldClampAtZero() {
+            CompetencyRelationship rel = createRelationship(c1.getId(), c2.getId());
+            rel.setVoteUnrelated(1);
+            rel.recalculateEntropy();
+            relationshipRepository.saveAndFlush(rel);
+
+            RelationshipCounters counters = relationshipRepository
+                .applyVoteDelta(rel.getId(), -1, 0, 0, -1)
+                .orElseThrow();
+
+            assertThat(counters.getVoteAssumes()).isZero();
+            assertThat(counters.getVoteUnrelated()).isZero();
+            assertThat(counters.getTotalVotes()).isZero();
+            assertThat(counters.getEntropy()).isZero();
+        }
+
+        @Test
+        @DisplayName("should return empty for unknown relationship")
+        void shouldReturnEmptyForUnknownRelationship() {
+            assertThat(relationshipRepository.applyVoteDelta("missing", 1, 0, 0, 0)).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("findUnvotedByUserAndNotSkipped")
     class FindUnvotedByUserAndNotSkipped {
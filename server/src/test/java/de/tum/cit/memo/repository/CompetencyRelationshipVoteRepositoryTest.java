@@ -16,6 +16,8 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
@@ -242,6 +244,32 @@ class CompetencyRelationshipVoteRepositoryTest extends AbstractRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("insertAllIfAbsent")
+    class InsertAllIfAbsent {
+
+        @Test
+        @DisplayName("should insert new votes and report conflicting ones as not inserted")
+        void shouldSkipConflictingVotes() {
+            voteRepository.saveAndFlush(createVote(relationship.getId(), userId, RelationshipType.ASSUMES));
+            String otherUserId = userRepository.saveAndFlush(User.builder()
+                .id(IdGenerator.generateCuid())
+                .role(UserRole.USER)
+                .build()).getId();
+
+            boolean[] inserted = voteRepository.insertAllIfAbsent(List.of(
+                createVote(relationship.getId(), userId, RelationshipType.EXTENDS),
+                createVote(relationship.getId(), otherUserId, RelationshipType.MATCHES),
+                createVote(relationship.getId(), otherUserId, RelationshipType.UNRELATED)));
+
+            assertThat(inserted).containsExactly(false, true, false);
+            assertThat(voteRepository.findByRelationshipIdAndUserId(relationship.getId(), otherUserId))
+                .get()
+                .extracting(CompetencyRelationshipVote::getRelationshipType)
+                .isEqualTo(RelationshipType.MATCHES);
+        }
+    }
+
     @Nested
     @DisplayName("findDailyVoteCountsWithPreWindowTotal")
     class FindDailyVoteCountsWithPreWindowTotal {
@@ -282,6 +310,73 @@ class CompetencyRelationshipVoteRepositoryTest extends AbstractRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("findDailyRollupWithPreWindowTotal")
+    class FindDailyRollupWithPreWindowTotal {
+
+        private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        @Test
+        @DisplayName("should count a new vote on its day")
+        void shouldCountInsertedVote() {
+            voteRepository.saveAndFlush(createVote(relationship.getId(), userId, RelationshipType.ASSUMES));
+
+            List<DailyVoteCount> counts = voteRepository.findDailyRollupWithPreWindowTotal(userId, today);
+
+            assertThat(counts).filteredOn(r -> r.getVoteDate() != null)
+                .singleElement()
+                .satisfies(r -> {
+                    assertThat(r.getVoteDate()).isEqualTo(today);
+                    assertThat(r.getVoteCount()).isEqualTo(1L);
+                });
+            assertThat(counts).filteredOn(r -> r.getVoteDate() == null)
+                .singleElement()
+                .satisfies(r -> assertThat(r.getVoteCount()).isZero());
+        }
+
+        @Test
+        @DisplayName("should drop the day once its last vote is removed")
+        void shouldRemoveEmptiedDay() {
+            CompetencyRelationshipVote vote = voteRepository.saveAndFlush(
+                createVote(relationship.getId(), userId, RelationshipType.ASSUMES));
+
+            voteRepository.delete(vote);
+            voteRepository.flush();
+
+            assertThat(voteRepository.findDailyRollupWithPreWindowTotal(userId, today))
+                .filteredOn(r -> r.getVoteDate() != null)
+                .isEmpty();
+        }
+
+        @Test
+        @DisplayName("should report earlier days in the sentinel row")
+        void shouldSumDaysBeforeWindow() {
+            voteRepository.saveAndFlush(createVote(relationship.getId(), userId, RelationshipType.ASSUMES));
+
+            List<DailyVoteCount> counts = voteRepository.findDailyRollupWithPreWindowTotal(userId, today.plusDays(1));
+
+            assertThat(counts).filteredOn(r -> r.getVoteDate() != null).isEmpty();
+            assertThat(counts).filteredOn(r -> r.getVoteDate() == null)
+                .singleElement()
+                .satisfies(r -> assertThat(r.getVoteCount()).isEqualTo(1L));
+        }
+
+        @Test
+        @DisplayName("should match the vote log after a rebuild")
+        void shouldRebuildFromVotes() {
+            voteRepository.saveAndFlush(createVote(relationship.getId(), userId, RelationshipType.ASSUMES));
+            voteRepository.deleteDailyRollup();
+
+            int rows = voteRepository.insertDailyRollupFromVotes();
+
+            assertThat(rows).isEqualTo(1);
+            assertThat(voteRepository.findDailyRollupWithPreWindowTotal(userId, today))
+                .filteredOn(r -> r.getVoteDate() != null)
+                .singleElement()
+                .satisfies(r -> assertThat(r.getVoteCount()).isEqualTo(1L));
+        }
+    }
+
     @Nested
     @DisplayName("findAll")
     class FindAll {
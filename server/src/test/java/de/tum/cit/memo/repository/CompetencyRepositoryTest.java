@@ -2,6 +2,7 @@ package de.tum.cit.memo.repository;
 
 import de.tum.cit.memo.entity.Competency;
 import de.tum.cit.memo.util.IdGenerator;
+import de.tum.cit.memo.util.TitleNormalizer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @Sql(statements = {
     "DELETE FROM competency_relationships_votes",
@@ -241,6 +243,35 @@ class CompetencyRepositoryTest extends AbstractRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("findAllDegrees")
+    class FindAllDegrees {
+
+        @Test
+        @DisplayName("should return id and degree of every competency")
+        void shouldReturnAllDegrees() {
+            Competency c1 = competencyRepository.save(Competency.builder()
+                .id(IdGenerator.generateCuid())
+                .title("Competency 1")
+                .degree(4)
+                .build());
+            Competency c2 = competencyRepository.save(Competency.builder()
+                .id(IdGenerator.generateCuid())
+                .title("Competency 2")
+                .degree(0)
+                .build());
+            entityManager.flush();
+
+            List<CompetencyDegree> degrees = competencyRepository.findAllDegrees();
+
+            assertThat(degrees)
+                .extracting(CompetencyDegree::getId, CompetencyDegree::getDegree)
+                .containsExactlyInAnyOrder(
+                    tuple(c1.getId(), 4),
+                    tuple(c2.getId(), 0));
+        }
+    }
+
     @Nested
     @DisplayName("incrementDegree")
     class IncrementDegree {
@@ -412,4 +443,31 @@ class CompetencyRepositoryTest extends AbstractRepositoryTest {
             assertThat(updated.getId()).isEqualTo(saved.getId());
         }
     }
+
+    @Nested
+    @DisplayName("normalize_competency_title")
+    class NormalizeTitle {
+
+        @Test
+        @DisplayName("should match TitleNormalizer on non-ASCII whitespace and case")
+        void shouldMatchJavaNormalizer() {
+            List<String> titles = List.of(
+                "  Linear   Algebra ",
+                "\u00A0Linear\u2003Algebra\u3000",
+                "Linear\t\n\u000B\f\rAlgebra",
+                "Linear\u0085\u1680\u2028\u2029\u202F\u205FAlgebra",
+                "\u200BZero Width\u200B",
+                "\u001FControl\u001F",
+                "\u00C4RGER mit Stra\u00DFe",
+                "\u0130STANBUL \u03A3\u038A\u03A3\u03A5\u03A6\u039F\u03A3");
+
+            for (String title : titles) {
+                Object sql = entityManager.createNativeQuery("SELECT normalize_competency_title(:title)")
+                    .setParameter("title", title)
+                    .getSingleResult();
+                assertThat(sql).as("normalized %s", title).isEqualTo(TitleNormalizer.normalize(title));
+            }
+            assertThat(TitleNormalizer.normalize("\u00A0Linear\u2003Algebra\u3000")).isEqualTo("linear algebra");
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package de.tum.cit.memo.repository;
+
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.CompetencyRelationshipVote;
+import de.tum.cit.memo.entity.SchedulingTask;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(statements = {
+    "DELETE FROM scheduling_tasks",
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class SchedulingTaskRepositoryTest extends AbstractRepositoryTest {
+
+    private static final long LEASE_SECONDS = 120;
+
+    @Autowired
+    private SchedulingTaskRepository taskRepository;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    @Autowired
+    private CompetencyRelationshipVoteRepository voteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String a;
+    private String b;
+    private String c;
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        a = createCompetency("A");
+        b = createCompetency("B");
+        c = createCompetency("C");
+        userId = userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .name("Test User")
+            .email("test@example.com")
+            .role(UserRole.USER)
+            .build()).getId();
+    }
+
+    private String createCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+
+    private int enqueue(String originId, String destinationId, String relationshipId, String pipeline,
+            double priority) {
+        return taskRepository.enqueueIfAbsent(IdGenerator.generateCuid(), originId, destinationId,
+            relationshipId, pipeline, priority);
+    }
+
+    @Nested
+    @DisplayName("enqueueIfAbsent")
+    class EnqueueIfAbsent {
+
+        @Test
+        @DisplayName("should ignore a pair that is already queued in either direction")
+        void ignoresDuplicatePair() {
+            assertThat(enqueue(a, b, null, "COVERAGE", 0)).isEqualTo(1);
+            assertThat(enqueue(a, b, null, "COVERAGE", 0)).isZero();
+            assertThat(enqueue(b, a, null, "COVERAGE", 0)).isZero();
+
+            assertThat(taskRepository.count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("dequeue")
+    class Dequeue {
+
+        @Test
+        @DisplayName("should lease the highest-priority task of the pipeline")
+        void leasesHighestPriority() {
+            enqueue(a, b, null, "COVERAGE", -1);
+            enqueue(a, c, null, "COVERAGE", 0);
+            enqueue(b, c, null, "CONSENSUS", 5);
+
+            Optional<SchedulingTask> task = taskRepository.dequeue(userId, "COVERAGE", LEASE_SECONDS);
+
+            assertThat(task).isPresent();
+            assertThat(task.get().getOriginId()).isEqualTo(a);
+            assertThat(task.get().getDestinationId()).isEqualTo(c);
+            assertThat(task.get().getLeasedBy()).isEqualTo(userId);
+            assertThat(task.get().getLeaseExpiresAt()).isAfter(Instant.now().minusSeconds(LEASE_SECONDS));
+        }
+
+        @Test
+        @DisplayName("should not hand out a task while its lease is active")
+        void skipsLeasedTasks() {
+            enqueue(a, b, null, "COVERAGE", 0);
+
+            assertThat(taskRepository.dequeue(userId, "COVERAGE", LEASE_SECONDS)).isPresent();
+            assertThat(taskRepository.dequeue(userId, "COVERAGE", LEASE_SECONDS)).isEmpty();
+            assertThat(taskRepository.countAvailable()).isZero();
+        }
+
+        @Test
+        @DisplayName("should hand out a task again once its lease expired")
+        void reusesExpiredLease() {
+            enqueue(a, b, null, "COVERAGE", 0);
+
+            assertThat(taskRepository.dequeue(userId, "COVERAGE", -1)).isPresent();
+
+            assertThat(taskRepository.dequeue(userId, "COVERAGE", LEASE_SECONDS)).isPresent();
+        }
+
+        @Test
+        @DisplayName("should skip relationships the user already voted on")
+        void skipsVotedRelationships() {
+            CompetencyRelationship rel = relationshipRepository.save(CompetencyRelationship.builder()
+                .id(IdGenerator.generateCuid())
+                .originId(a)
+                .destinationId(b)
+                .build());
+            voteRepository.save(CompetencyRelationshipVote.builder()
+                .id(IdGenerator.generateCuid())
+                .relationshipId(rel.getId())
+                .userId(userId)
+                .relationshipType(RelationshipType.ASSUMES)
+                .build());
+            relationshipRepository.flush();
+            enqueue(a, b, rel.getId(), "CONSENSUS", 1);
+
+            assertThat(taskRepository.dequeue(userId, "CONSENSUS", LEASE_SECONDS)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("deleteByPair")
+    class DeleteByPair {
+
+        @Test
+        @DisplayName("should delete the task regardless of direction")
+        void deletesReversedPair() {
+            enqueue(a, b, null, "COVERAGE", 0);
+            enqueue(a, c, null, "COVERAGE", 0);
+
+            assertThat(taskRepository.deleteByPair(b, a)).isEqualTo(1);
+
+            assertThat(taskRepository.findAll())
+                .extracting(SchedulingTask::getDestinationId)
+                .containsExactly(c);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.jdbc.Sql;
@@ -53,6 +54,24 @@ class SecurityConfigIntegrationTest extends AbstractIntegrationTest {
             mockMvc.perform(get("/actuator/health"))
                 .andExpect(status().isOk());
         }
+
+        @Test
+        @DisplayName("should restrict actuator metrics to admins")
+        void shouldForbidMetricsForNonAdmin() throws Exception {
+            mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/actuator/metrics")
+                    .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("should expose actuator metrics to admins")
+        void shouldPermitMetricsForAdmin() throws Exception {
+            mockMvc.perform(get("/actuator/metrics")
+                    .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isOk());
+        }
     }
 
     @Nested
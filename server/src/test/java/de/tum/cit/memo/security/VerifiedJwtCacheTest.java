@@ -0,0 +1,86 @@
+package de.tum.cit.memo.security;
+
+import de.tum.cit.memo.config.MemoProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerifiedJwtCacheTest {
+
+    private final AtomicInteger decodes = new AtomicInteger();
+    private JwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(new MemoProperties(), new OAuth2ResourceServerProperties(),
+            new SimpleMeterRegistry());
+        decoder = cache.wrap(token -> {
+            decodes.incrementAndGet();
+            return switch (token) {
+                case "valid" -> jwt(token, Instant.now().plusSeconds(300));
+                case "no-exp" -> jwt(token, null);
+                case "far-future" -> jwt(token, Instant.parse("2400-01-01T00:00:00Z"));
+                default -> throw new BadJwtException("Invalid signature");
+            };
+        });
+    }
+
+    @Test
+    @DisplayName("should verify a repeated token only once")
+    void shouldServeRepeatedTokenFromCache() {
+        Jwt first = decoder.decode("valid");
+        Jwt second = decoder.decode("valid");
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should not cache tokens without an expiry")
+    void shouldNotCacheTokenWithoutExpiry() {
+        decoder.decode("no-exp");
+        decoder.decode("no-exp");
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("should verify a rejected token again on every request")
+    void shouldNotCacheRejectedToken() {
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("should cache a token whose expiry is centuries away")
+    void shouldCacheFarFutureExpiry() {
+        Jwt first = decoder.decode("far-future");
+        Jwt second = decoder.decode("far-future");
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodes).hasValue(1);
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        Jwt.Builder builder = Jwt.withTokenValue(token)
+            .header("alg", "RS256")
+            .subject("user");
+        if (expiresAt != null) {
+            builder.expiresAt(expiresAt);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,100 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.CompetencyImportRow;
+import de.tum.cit.memo.dto.CreateCompetencyRequest;
+import de.tum.cit.memo.dto.DuplicateCluster;
+import de.tum.cit.memo.dto.ImportResult;
+import de.tum.cit.memo.entity.Competency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class CompetencyDuplicateIndexIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private CompetencyService competencyService;
+
+    @Autowired
+    private CompetencyDuplicateIndex duplicateIndex;
+
+    private Competency binarySearch;
+
+    @BeforeEach
+    void setUp() {
+        duplicateIndex.refresh();
+        binarySearch = competencyService.createCompetency(
+            new CreateCompetencyRequest("Apply binary search to sorted arrays", null));
+        competencyService.createCompetency(new CreateCompetencyRequest("Normalize relational database schemas", null));
+    }
+
+    @Test
+    @DisplayName("should find a reworded competency but not an unrelated one")
+    void shouldFindSimilarCompetency() {
+        assertThat(duplicateIndex.mostSimilar("Apply the binary search to a sorted array", null, 0.5))
+            .hasValueSatisfying(match -> assertThat(match.id()).isEqualTo(binarySearch.getId()));
+        assertThat(duplicateIndex.mostSimilar("Understand recursion", null, 0.5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should flag imported rows that resemble an existing competency")
+    void shouldReportPossibleDuplicatesOnImport() {
+        ImportResult result = competencyService.importCompetencies(List.of(
+            new CompetencyImportRow("Apply the binary search to a sorted array", null),
+            new CompetencyImportRow("Understand recursion", null)).iterator());
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.possibleDuplicates())
+            .singleElement()
+            .satisfies(duplicate -> {
+                assertThat(duplicate.title()).isEqualTo("Apply the binary search to a sorted array");
+                assertThat(duplicate.similarToId()).isEqualTo(binarySearch.getId());
+                assertThat(duplicate.similarity()).isGreaterThan(0.5);
+            });
+    }
+
+    @Test
+    @DisplayName("should cluster near-duplicates including imported ones")
+    void shouldListDuplicateClusters() {
+        competencyService.importCompetencies(List.of(
+            new CompetencyImportRow("Apply the binary search to a sorted array", null)).iterator());
+
+        List<DuplicateCluster> clusters = competencyService.getDuplicateClusters(0.5, 10);
+
+        assertThat(clusters).singleElement()
+            .satisfies(cluster -> assertThat(cluster.getCompetencies())
+                .extracting(Competency::getTitle)
+                .containsExactlyInAnyOrder(
+                    "Apply binary search to sorted arrays",
+                    "Apply the binary search to a sorted array"));
+    }
+
+    @Test
+    @DisplayName("should drop deleted competencies from clusters")
+    void shouldForgetDeletedCompetency() {
+        competencyService.createCompetency(new CreateCompetencyRequest("Apply the binary search to a sorted array", null));
+        assertThat(competencyService.getDuplicateClusters(0.5, 10)).hasSize(1);
+
+        competencyService.deleteCompetency(binarySearch.getId());
+
+        assertThat(competencyService.getDuplicateClusters(0.5, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,168 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.CompetencyImportRow;
+import de.tum.cit.memo.dto.ImportJobResponse;
+import de.tum.cit.memo.dto.ImportResult;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.enums.ImportJobStatus;
+import de.tum.cit.memo.exception.ResourceNotFoundException;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class CompetencyImportIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private CompetencyService competencyService;
+
+    @Autowired
+    private CompetencyImportJobs importJobs;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Test
+    @DisplayName("should skip blank titles and titles that repeat or exist ignoring case and spacing")
+    void shouldSkipDuplicatesAndInvalidRows() {
+        competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title("Existing")
+            .normalizedTitle("existing")
+            .build());
+
+        ImportResult result = competencyService.importCompetencies(List.of(
+            new CompetencyImportRow("Recursion", "Functions calling themselves"),
+            new CompetencyImportRow(" ", "No title"),
+            new CompetencyImportRow("Existing", "Already there"),
+            new CompetencyImportRow("Recursion", "Repeated"),
+            new CompetencyImportRow("Sorting", null),
+            new CompetencyImportRow("  RECURSION ", "Different case and spacing"),
+            new CompetencyImportRow("existing", "Different case")).iterator());
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.skipped()).isEqualTo(4);
+        assertThat(result.errors()).containsExactly("Row 2: title is required");
+        assertThat(competencyRepository.findAll())
+            .extracting(Competency::getTitle, Competency::getDescription)
+            .containsExactlyInAnyOrder(
+                tuple("Existing", null),
+                tuple("Recursion", "Functions calling themselves"),
+                tuple("Sorting", null));
+    }
+
+    @Test
+    @DisplayName("should copy CSV values with quotes, commas and line breaks unchanged")
+    void shouldImportCsvStream() throws Exception {
+        String csv = """
+            title,description
+            "Graphs, trees","Nodes and ""edges""
+            across lines"
+            Hashing,
+            """;
+
+        ImportResult result;
+        try (CompetencyImportReader reader = CompetencyImportReader.csv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            result = competencyService.importCompetencies(reader);
+        }
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(competencyRepository.findAll())
+            .extracting(Competency::getTitle, Competency::getDescription)
+            .containsExactlyInAnyOrder(
+                tuple("Graphs, trees", "Nodes and \"edges\"\nacross lines"),
+                tuple("Hashing", ""));
+    }
+
+    @Test
+    @DisplayName("should import more rows than fit in one chunk")
+    void shouldImportAcrossChunks() {
+        List<CompetencyImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(new CompetencyImportRow("Competency " + i, null));
+        }
+
+        ImportResult result = competencyService.importCompetencies(rows.iterator());
+
+        assertThat(result.imported()).isEqualTo(2500);
+        assertThat(result.skipped()).isZero();
+        assertThat(competencyRepository.count()).isEqualTo(2500);
+    }
+
+    @Test
+    @DisplayName("should import an uploaded file in the background and report progress")
+    void shouldRunImportJob() throws Exception {
+        StringBuilder csv = new StringBuilder("title,description\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Competency ").append(i).append(",\n");
+        }
+        csv.append(",Missing title\n").append("Competency 0,Repeated\n");
+
+        ImportJobResponse queued = importJobs.submit(
+            new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), true);
+        ImportJobResponse finished = awaitFinished(queued.getId());
+
+        assertThat(finished.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(finished.getRowsProcessed()).isEqualTo(2502);
+        assertThat(finished.getImported()).isEqualTo(2500);
+        assertThat(finished.getSkipped()).isEqualTo(1);
+        assertThat(finished.getInvalid()).isEqualTo(1);
+        assertThat(finished.getErrors()).containsExactly("Row 2501: title is required");
+        assertThat(competencyRepository.count()).isEqualTo(2500);
+    }
+
+    @Test
+    @DisplayName("should mark a job failed when the file cannot be read")
+    void shouldFailImportJobOnMalformedFile() throws Exception {
+        ImportJobResponse queued = importJobs.submit(
+            new ByteArrayInputStream("{\"title\": \"Not an array\"}".getBytes(StandardCharsets.UTF_8)), false);
+        ImportJobResponse finished = awaitFinished(queued.getId());
+
+        assertThat(finished.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(finished.getFailureReason()).isNotBlank();
+        assertThat(competencyRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should reject status requests for unknown jobs")
+    void shouldRejectUnknownJob() {
+        assertThatThrownBy(() -> importJobs.getStatus("unknown"))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ImportJobResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        ImportJobResponse job = importJobs.getStatus(jobId);
+        while ((job.getStatus() == ImportJobStatus.QUEUED || job.getStatus() == ImportJobStatus.RUNNING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = importJobs.getStatus(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,187 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.MergeCompetenciesRequest;
+import de.tum.cit.memo.dto.MergeResult;
+import de.tum.cit.memo.dto.VoteRequest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.CompetencyResourceLink;
+import de.tum.cit.memo.entity.LearningResource;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.ResourceMatchType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.exception.ResourceNotFoundException;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRelationshipVoteRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.CompetencyResourceLinkRepository;
+import de.tum.cit.memo.repository.LearningResourceRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM learning_resources",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class CompetencyMergeServiceIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private CompetencyMergeService mergeService;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    @Autowired
+    private CompetencyRelationshipVoteRepository voteRepository;
+
+    @Autowired
+    private CompetencyResourceLinkRepository resourceLinkRepository;
+
+    @Autowired
+    private LearningResourceRepository learningResourceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String survivor;
+    private String duplicate;
+    private String x;
+    private String y;
+    private String u1;
+    private String u2;
+    private String u3;
+
+    @BeforeEach
+    void setUp() {
+        survivor = saveCompetency("Binary search");
+        duplicate = saveCompetency("Binary searching");
+        x = saveCompetency("Sorting");
+        y = saveCompetency("Arrays");
+        u1 = saveUser();
+        u2 = saveUser();
+        u3 = saveUser();
+
+        // Only ASSUMES/EXTENDS, which are not mirrored onto the reverse pair
+        vote(u1, saveRelationship(survivor, x), RelationshipType.ASSUMES);
+        String duplicateToX = saveRelationship(duplicate, x);
+        vote(u1, duplicateToX, RelationshipType.EXTENDS);
+        vote(u2, duplicateToX, RelationshipType.EXTENDS);
+        vote(u3, saveRelationship(duplicate, y), RelationshipType.ASSUMES);
+        vote(u1, saveRelationship(survivor, duplicate), RelationshipType.EXTENDS);
+
+        LearningResource resource = learningResourceRepository.save(LearningResource.builder()
+            .id(IdGenerator.generateCuid())
+            .title("Binary search explained")
+            .url("https://example.com/binary-search")
+            .build());
+        resourceLinkRepository.save(CompetencyResourceLink.builder()
+            .id(IdGenerator.generateCuid())
+            .competencyId(duplicate)
+            .resourceId(resource.getId())
+            .userId(u1)
+            .matchType(ResourceMatchType.GOOD_FIT)
+            .build());
+    }
+
+    @Test
+    @DisplayName("should fold the duplicate's relationships, votes and links into the survivor")
+    void shouldMergeIntoSurvivor() {
+        MergeResult result = mergeService.merge(new MergeCompetenciesRequest(survivor, duplicate));
+
+        assertThat(result).isEqualTo(new MergeResult(survivor, 1, 1, 1, 1, 2, 1));
+        assertThat(competencyRepository.existsById(duplicate)).isFalse();
+
+        // u1 had already voted on survivor -> x, so only u2's vote moved over
+        CompetencyRelationship combined = relationshipRepository.findByOriginIdAndDestinationId(survivor, x).orElseThrow();
+        assertThat(combined.getVoteAssumes()).isEqualTo(1);
+        assertThat(combined.getVoteExtends()).isEqualTo(1);
+        assertThat(combined.getTotalVotes()).isEqualTo(2);
+        assertThat(combined.getEntropy()).isCloseTo(1.0, within(1e-9));
+        assertThat(voteRepository.findByRelationshipIdAndUserId(combined.getId(), u2)).isPresent();
+
+        CompetencyRelationship moved = relationshipRepository.findByOriginIdAndDestinationId(survivor, y).orElseThrow();
+        assertThat(moved.getVoteAssumes()).isEqualTo(1);
+        assertThat(voteRepository.findByRelationshipIdAndUserId(moved.getId(), u3)).isPresent();
+        assertThat(relationshipRepository.findByOriginIdAndDestinationId(survivor, duplicate)).isEmpty();
+
+        assertThat(competencyRepository.findById(survivor)).get().extracting(Competency::getDegree).isEqualTo(2);
+        assertThat(competencyRepository.findById(x)).get().extracting(Competency::getDegree).isEqualTo(1);
+        assertThat(competencyRepository.findById(y)).get().extracting(Competency::getDegree).isEqualTo(1);
+        assertThat(resourceLinkRepository.findAll())
+            .singleElement()
+            .extracting(CompetencyResourceLink::getCompetencyId)
+            .isEqualTo(survivor);
+    }
+
+    @Test
+    @DisplayName("should reject merging a competency into itself")
+    void shouldRejectSelfMerge() {
+        assertThatThrownBy(() -> mergeService.merge(new MergeCompetenciesRequest(survivor, survivor)))
+            .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should leave everything untouched when a competency does not exist")
+    void shouldRejectUnknownCompetency() {
+        assertThatThrownBy(() -> mergeService.merge(new MergeCompetenciesRequest(survivor, "missing")))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(relationshipRepository.count()).isEqualTo(4);
+    }
+
+    private String saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+
+    private String saveRelationship(String originId, String destinationId) {
+        return relationshipRepository.save(CompetencyRelationship.builder()
+            .id(IdGenerator.generateCuid())
+            .originId(originId)
+            .destinationId(destinationId)
+            .build()).getId();
+    }
+
+    private String saveUser() {
+        return userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+    }
+
+    private void vote(String userId, String relationshipId, RelationshipType type) {
+        schedulingService.submitVote(userId, VoteRequest.builder()
+            .relationshipId(relationshipId)
+            .relationshipType(type)
+            .build());
+    }
+}
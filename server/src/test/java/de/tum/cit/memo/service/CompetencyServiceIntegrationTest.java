@@ -0,0 +1,217 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.CreateCompetencyRequest;
+import de.tum.cit.memo.dto.CursorPage;
+import de.tum.cit.memo.dto.UpdateCompetencyRequest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.exception.ResourceAlreadyExistsException;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class CompetencyServiceIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private CompetencyService competencyService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
+    @Nested
+    @DisplayName("createCompetency")
+    class CreateCompetency {
+
+        @Test
+        @DisplayName("should store the normalized title")
+        void shouldStoreNormalizedTitle() {
+            Competency created = competencyService.createCompetency(
+                new CreateCompetencyRequest("  Linear\tAlgebra ", null));
+
+            assertThat(created.getTitle()).isEqualTo("  Linear\tAlgebra ");
+            assertThat(competencyRepository.findById(created.getId()))
+                .get()
+                .extracting(Competency::getNormalizedTitle)
+                .isEqualTo("linear algebra");
+        }
+
+        @Test
+        @DisplayName("should reject a title that differs only in case and spacing")
+        void shouldRejectNormalizedDuplicate() {
+            competencyService.createCompetency(new CreateCompetencyRequest("Linear Algebra", null));
+
+            assertThatThrownBy(() -> competencyService.createCompetency(
+                new CreateCompetencyRequest("linear  algebra ", null)))
+                .isInstanceOf(ResourceAlreadyExistsException.class);
+            assertThat(competencyRepository.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should enforce the normalized title in the database")
+        void shouldEnforceUniqueIndex() {
+            competencyService.createCompetency(new CreateCompetencyRequest("Linear Algebra", null));
+
+            assertThatThrownBy(() -> competencyRepository.saveAndFlush(Competency.builder()
+                .id(IdGenerator.generateCuid())
+                .title("LINEAR ALGEBRA")
+                .normalizedTitle("linear algebra")
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        }
+
+        @Test
+        @DisplayName("should report a conflict when the same title is created concurrently")
+        void shouldReportConcurrentDuplicateAsConflict() throws Exception {
+            int requests = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(requests);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Competency>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                String title = i % 2 == 0 ? "Linear Algebra" : "linear  algebra";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return competencyService.createCompetency(new CreateCompetencyRequest(title, null));
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<Competency> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            executor.shutdown();
+
+            assertThat(created).isEqualTo(1);
+            assertThat(failures).hasSize(requests - 1)
+                .allSatisfy(failure -> assertThat(failure).isInstanceOf(ResourceAlreadyExistsException.class));
+            assertThat(competencyRepository.count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("updateCompetency")
+    class UpdateCompetency {
+
+        @Test
+        @DisplayName("should allow changing only the case of the own title")
+        void shouldAllowRecasingOwnTitle() {
+            Competency created = competencyService.createCompetency(
+                new CreateCompetencyRequest("linear algebra", null));
+
+            Competency updated = competencyService.updateCompetency(created.getId(),
+                new UpdateCompetencyRequest("Linear Algebra", null));
+
+            assertThat(updated.getTitle()).isEqualTo("Linear Algebra");
+            assertThat(updated.getNormalizedTitle()).isEqualTo("linear algebra");
+        }
+
+        @Test
+        @DisplayName("should reject renaming to another competency's title")
+        void shouldRejectRenamingToExistingTitle() {
+            competencyService.createCompetency(new CreateCompetencyRequest("Linear Algebra", null));
+            Competency other = competencyService.createCompetency(new CreateCompetencyRequest("Analysis", null));
+
+            assertThatThrownBy(() -> competencyService.updateCompetency(other.getId(),
+                new UpdateCompetencyRequest("LINEAR ALGEBRA", null)))
+                .isInstanceOf(ResourceAlreadyExistsException.class);
+        }
+
+        @Test
+        @DisplayName("should give a colliding legacy competency a key once it is renamed")
+        void shouldResolveCollisionByRenaming() {
+            Competency legacy = competencyRepository.save(Competency.builder()
+                .id(IdGenerator.generateCuid())
+                .title("Linear Algebra ")
+                .build());
+            assertThat(competencyService.getTitleCollisions())
+                .extracting(Competency::getId)
+                .containsExactly(legacy.getId());
+
+            competencyService.updateCompetency(legacy.getId(),
+                new UpdateCompetencyRequest("Linear Algebra II", null));
+
+            assertThat(competencyService.getTitleCollisions()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("listing")
+    class Listing {
+
+        @Test
+        @DisplayName("should walk all competencies page by page in id order")
+        void shouldPaginateByCursor() {
+            for (int i = 0; i < 5; i++) {
+                competencyService.createCompetency(new CreateCompetencyRequest("Competency " + i, null));
+            }
+
+            List<String> seen = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                CursorPage<Competency> page = competencyService.getCompetencyPage(cursor, 2);
+                page.items().forEach(competency -> seen.add(competency.getId()));
+                cursor = page.nextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(3);
+            assertThat(seen).hasSize(5).isSorted().doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("should stream every competency as one JSON line")
+        void shouldStreamNdjson() throws IOException {
+            Competency first = competencyService.createCompetency(new CreateCompetencyRequest("Graphs", null));
+            Competency second = competencyService.createCompetency(new CreateCompetencyRequest("Trees", null));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ndjsonExporter.export(competencyService::streamCompetencies).writeTo(out);
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(String.join("", lines)).contains(first.getId(), second.getId());
+        }
+    }
+}
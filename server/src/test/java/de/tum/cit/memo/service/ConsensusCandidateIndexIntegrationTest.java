@@ -0,0 +1,163 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.VoteRequest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class ConsensusCandidateIndexIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private ConsensusCandidateIndex consensusIndex;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String relationshipId;
+    private final List<String> voters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        voters.clear();
+        String originId = saveCompetency("Origin");
+        String destinationId = saveCompetency("Destination");
+        relationshipId = relationshipRepository.save(CompetencyRelationship.builder()
+            .id(IdGenerator.generateCuid())
+            .originId(originId)
+            .destinationId(destinationId)
+            .build()).getId();
+
+        // Four split votes: one short of the consensus band
+        for (int i = 0; i < 4; i++) {
+            String userId = saveUser();
+            voters.add(userId);
+            schedulingService.submitVote(userId, VoteRequest.builder()
+                .relationshipId(relationshipId)
+                .relationshipType(i % 2 == 0 ? RelationshipType.ASSUMES : RelationshipType.EXTENDS)
+                .build());
+        }
+        consensusIndex.refresh();
+    }
+
+    @Test
+    @DisplayName("should add a relationship once a vote moves it into the consensus band")
+    void shouldAddCandidateEnteringBand() {
+        assertThat(consensusIndex.candidates(saveUser(), Set.of(), 10)).isEmpty();
+
+        String fifth = saveUser();
+        schedulingService.submitVote(fifth, VoteRequest.builder()
+            .relationshipId(relationshipId)
+            .relationshipType(RelationshipType.EXTENDS)
+            .build());
+
+        assertThat(consensusIndex.candidates(saveUser(), Set.of(), 10))
+            .extracting(CompetencyRelationship::getId)
+            .containsExactly(relationshipId);
+        assertThat(consensusIndex.candidates(fifth, Set.of(), 10)).isEmpty();
+        assertThat(consensusIndex.candidates(voters.get(0), Set.of(), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should drop a relationship once an unvote moves it out of the band")
+    void shouldRemoveCandidateLeavingBand() {
+        String fifth = saveUser();
+        schedulingService.submitVote(fifth, VoteRequest.builder()
+            .relationshipId(relationshipId)
+            .relationshipType(RelationshipType.EXTENDS)
+            .build());
+        assertThat(consensusIndex.size()).isEqualTo(1);
+
+        schedulingService.unvote(fifth, relationshipId);
+
+        assertThat(consensusIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should match the database after a rebuild")
+    void shouldRebuildFromDatabase() {
+        String fifth = saveUser();
+        schedulingService.submitVote(fifth, VoteRequest.builder()
+            .relationshipId(relationshipId)
+            .relationshipType(RelationshipType.EXTENDS)
+            .build());
+
+        consensusIndex.refresh();
+
+        assertThat(consensusIndex.candidates(fifth, Set.of(), 10)).isEmpty();
+        assertThat(consensusIndex.candidates(saveUser(), Set.of(relationshipId), 10)).isEmpty();
+        assertThat(consensusIndex.candidates(saveUser(), Set.of(), 10))
+            .singleElement()
+            .satisfies(rel -> assertThat(rel.getTotalVotes()).isEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("should sample distinct candidates the user has not voted on")
+    void shouldSampleEligibleCandidates() {
+        String fifth = saveUser();
+        schedulingService.submitVote(fifth, VoteRequest.builder()
+            .relationshipId(relationshipId)
+            .relationshipType(RelationshipType.EXTENDS)
+            .build());
+
+        assertThat(consensusIndex.sample(saveUser(), Set.of(), 5, new Random(42)))
+            .extracting(CompetencyRelationship::getId)
+            .containsExactly(relationshipId);
+        assertThat(consensusIndex.sample(fifth, Set.of(), 5, new Random(42))).isEmpty();
+        assertThat(consensusIndex.sample(saveUser(), Set.of(relationshipId), 5, new Random(42))).isEmpty();
+    }
+
+    private String saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+
+    private String saveUser() {
+        return userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+    }
+}
@@ -0,0 +1,142 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.LeaderboardEntry;
+import de.tum.cit.memo.dto.VoteRequest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.LeaderboardPeriod;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class ContributorLeaderboardIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private ContributorLeaderboard leaderboard;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<String> competencies = new ArrayList<>();
+    private String top;
+    private String second;
+    private String third;
+
+    @BeforeEach
+    void setUp() {
+        competencies.clear();
+        for (int i = 0; i < 5; i++) {
+            competencies.add(competencyRepository.save(Competency.builder()
+                .id(IdGenerator.generateCuid())
+                .title("C" + i)
+                .build()).getId());
+        }
+        top = saveUser();
+        second = saveUser();
+        third = saveUser();
+        vote(top, 1);
+        vote(top, 2);
+        vote(top, 3);
+        vote(second, 1);
+        vote(third, 2);
+
+        leaderboard.refresh();
+    }
+
+    @Test
+    @DisplayName("should rank contributors by votes, sharing ranks on ties")
+    void shouldRankByVotes() {
+        List<LeaderboardEntry> entries = leaderboard.top(LeaderboardPeriod.ALL_TIME, 10).getEntries();
+
+        assertThat(entries).extracting(LeaderboardEntry::getRank).containsExactly(1, 2, 2);
+        assertThat(entries.get(0).getUserId()).isEqualTo(top);
+        assertThat(entries.get(0).getVotes()).isEqualTo(3);
+        assertThat(leaderboard.top(LeaderboardPeriod.LAST_7_DAYS, 10).getTotalContributors()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should move a user up after a vote without a rebuild")
+    void shouldApplyVotesIncrementally() {
+        vote(third, 3);
+
+        assertThat(leaderboard.rank(third, LeaderboardPeriod.LAST_30_DAYS))
+            .get()
+            .satisfies(entry -> {
+                assertThat(entry.getRank()).isEqualTo(2);
+                assertThat(entry.getVotes()).isEqualTo(2);
+            });
+        assertThat(leaderboard.rank(second, LeaderboardPeriod.ALL_TIME))
+            .get()
+            .extracting(LeaderboardEntry::getRank)
+            .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should drop a user whose last vote is removed")
+    void shouldApplyUnvotes() {
+        String newcomer = saveUser();
+        String relationshipId = vote(newcomer, 4);
+        assertThat(leaderboard.rank(newcomer, LeaderboardPeriod.LAST_7_DAYS)).isPresent();
+
+        schedulingService.unvote(newcomer, relationshipId);
+
+        assertThat(leaderboard.rank(newcomer, LeaderboardPeriod.LAST_7_DAYS)).isEmpty();
+        assertThat(leaderboard.rank(newcomer, LeaderboardPeriod.ALL_TIME)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject limits outside 1-100")
+    void shouldRejectInvalidLimit() {
+        assertThatThrownBy(() -> leaderboard.top(LeaderboardPeriod.ALL_TIME, 0))
+            .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private String vote(String userId, int destination) {
+        return schedulingService.submitVote(userId, VoteRequest.builder()
+            .originId(competencies.get(0))
+            .destinationId(competencies.get(destination))
+            .relationshipType(RelationshipType.ASSUMES)
+            .build()).getRelationshipId();
+    }
+
+    private String saveUser() {
+        return userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+    }
+}
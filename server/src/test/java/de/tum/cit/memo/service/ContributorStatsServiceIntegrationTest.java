@@ -0,0 +1,109 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.VoteRequest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class ContributorStatsServiceIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private ContributorStatsService contributorStatsService;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String userId;
+    private String a;
+    private String b;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+        a = saveCompetency("A");
+        b = saveCompetency("B");
+    }
+
+    @Test
+    @DisplayName("should serve repeated reads from the cache")
+    void shouldCacheStats() {
+        double hitsBefore = cacheGets("hit");
+
+        contributorStatsService.getStats(userId);
+        contributorStatsService.getStats(userId);
+
+        assertThat(cacheGets("hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("should reflect a vote and its removal immediately")
+    void shouldInvalidateOnVoteChanges() {
+        assertThat(contributorStatsService.getStats(userId).getTotalVotes()).isZero();
+
+        String relationshipId = schedulingService.submitVote(userId, VoteRequest.builder()
+            .originId(a)
+            .destinationId(b)
+            .relationshipType(RelationshipType.ASSUMES)
+            .build()).getRelationshipId();
+
+        assertThat(contributorStatsService.getStats(userId).getTotalVotes()).isEqualTo(1);
+        assertThat(contributorStatsService.getStats(userId).getCurrentStreak()).isEqualTo(1);
+
+        schedulingService.unvote(userId, relationshipId);
+
+        assertThat(contributorStatsService.getStats(userId).getTotalVotes()).isZero();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", "contributor-stats")
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+
+    private String saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+}
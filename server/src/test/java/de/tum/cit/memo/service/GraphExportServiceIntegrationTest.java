@@ -0,0 +1,190 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.enums.ExportCompression;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class GraphExportServiceIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private GraphExportService graphExportService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    private String a;
+    private String b;
+    private String c;
+
+    @BeforeEach
+    void setUp() {
+        a = saveCompetency("Sorting");
+        b = saveCompetency("Arrays");
+        c = saveCompetency("Recursion");
+        saveCompetency("Isolated");
+        saveRelationship(a, b, 300, 0.5);
+        saveRelationship(a, c, 1, 0.0);
+        saveRelationship(c, a, 0, 1.25);
+    }
+
+    @Test
+    @DisplayName("should write nodes, row offsets and delta-encoded edges")
+    void shouldWriteCsrLayout() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        graphExportService.export(out, ExportCompression.NONE);
+
+        Graph graph = read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(graph.ids).hasSize(4).isSorted();
+        assertThat(graph.offsets).hasSize(5);
+        assertThat(graph.offsets.get(4)).isEqualTo(3);
+        assertThat(graph.edges).hasSize(3);
+        assertThat(edge(graph, a, b).voteAssumes).isEqualTo(300);
+        assertThat(edge(graph, a, b).entropy).isCloseTo(0.5f, within(1e-6f));
+        assertThat(edge(graph, a, c).voteAssumes).isEqualTo(1);
+        assertThat(edge(graph, c, a).entropy).isCloseTo(1.25f, within(1e-6f));
+        assertThat(outDegree(graph, a)).isEqualTo(2);
+        assertThat(outDegree(graph, b)).isZero();
+    }
+
+    @Test
+    @DisplayName("should produce the same graph through gzip")
+    void shouldRoundTripGzip() throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        graphExportService.export(plain, ExportCompression.NONE);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        graphExportService.export(gzip, ExportCompression.GZIP);
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.toByteArray());
+        }
+    }
+
+    private static Graph read(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(source);
+        byte[] magic = new byte[GraphExportService.MAGIC.length];
+        in.readFully(magic);
+        assertThat(magic).isEqualTo(GraphExportService.MAGIC);
+        int nodeCount = in.readInt();
+        int edgeCount = in.readInt();
+
+        Graph graph = new Graph();
+        for (int i = 0; i < nodeCount; i++) {
+            byte[] id = new byte[in.readUnsignedShort()];
+            in.readFully(id);
+            graph.ids.add(new String(id, StandardCharsets.UTF_8));
+        }
+        for (int i = 0; i <= nodeCount; i++) {
+            graph.offsets.add(in.readInt());
+        }
+        int origin = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            boolean rowStart = false;
+            while (graph.offsets.get(origin + 1) == e) {
+                origin++;
+                rowStart = true;
+            }
+            if (e == 0) {
+                rowStart = true;
+            }
+            int gap = readVarint(in);
+            int destination = rowStart ? gap : graph.edges.get(e - 1).destination + gap;
+            graph.edges.add(new Edge(origin, destination, readVarint(in), readVarint(in), readVarint(in),
+                readVarint(in), in.readFloat()));
+        }
+        assertThat(in.read()).isEqualTo(-1);
+        return graph;
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static Edge edge(Graph graph, String originId, String destinationId) {
+        int origin = graph.ids.indexOf(originId);
+        int destination = graph.ids.indexOf(destinationId);
+        return graph.edges.stream()
+            .filter(e -> e.origin == origin && e.destination == destination)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static int outDegree(Graph graph, String id) {
+        int node = graph.ids.indexOf(id);
+        return graph.offsets.get(node + 1) - graph.offsets.get(node);
+    }
+
+    private String saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+
+    private void saveRelationship(String originId, String destinationId, int assumes, double entropy) {
+        relationshipRepository.save(CompetencyRelationship.builder()
+            .id(IdGenerator.generateCuid())
+            .originId(originId)
+            .destinationId(destinationId)
+            .voteAssumes(assumes)
+            .totalVotes(assumes)
+            .entropy(entropy)
+            .build());
+    }
+
+    private static final class Graph {
+
+        private final List<String> ids = new ArrayList<>();
+        private final List<Integer> offsets = new ArrayList<>();
+        private final List<Edge> edges = new ArrayList<>();
+    }
+
+    private record Edge(int origin, int destination, int voteAssumes, int voteExtends, int voteMatches,
+                        int voteUnrelated, float entropy) {
+    }
+}
@@ -0,0 +1,129 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.ChangeFeedPage;
+import de.tum.cit.memo.dto.RelationshipChange;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM relationship_changes"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class RelationshipChangeFeedIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private RelationshipChangeFeed changeFeed;
+
+    @Autowired
+    private CompetencyRelationshipService relationshipService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    private String a;
+    private String b;
+    private String c;
+
+    @BeforeEach
+    void setUp() {
+        a = saveCompetency("Sorting");
+        b = saveCompetency("Arrays");
+        c = saveCompetency("Recursion");
+    }
+
+    @Test
+    @DisplayName("should report each changed relationship once with its current state")
+    void shouldCollapseChangesToCurrentState() {
+        String cursor = changeFeed.getChanges(null, 100).cursor();
+        CompetencyRelationship kept = relationshipService.createRelationship(a, b);
+        CompetencyRelationship removed = relationshipService.createRelationship(a, c);
+        kept.setVoteAssumes(3);
+        kept.setTotalVotes(3);
+        relationshipRepository.save(kept);
+        relationshipService.deleteRelationship(removed.getId());
+
+        ChangeFeedPage page = changeFeed.getChanges(cursor, 100);
+
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.changes()).extracting(RelationshipChange::relationshipId)
+            .containsExactly(kept.getId(), removed.getId());
+        assertThat(page.changes().get(0).deleted()).isFalse();
+        assertThat(page.changes().get(0).relationship().getVoteAssumes()).isEqualTo(3);
+        assertThat(page.changes().get(1).deleted()).isTrue();
+        assertThat(page.changes().get(1).relationship()).isNull();
+    }
+
+    @Test
+    @DisplayName("should page through the log and keep the cursor when nothing changed")
+    void shouldResumeFromCursor() {
+        String cursor = changeFeed.getChanges(null, 100).cursor();
+        String first = relationshipService.createRelationship(a, b).getId();
+        String second = relationshipService.createRelationship(b, c).getId();
+
+        ChangeFeedPage page = changeFeed.getChanges(cursor, 1);
+        assertThat(page.hasMore()).isTrue();
+        assertThat(page.changes()).extracting(RelationshipChange::relationshipId).containsExactly(first);
+
+        page = changeFeed.getChanges(page.cursor(), 1);
+        assertThat(page.changes()).extracting(RelationshipChange::relationshipId).containsExactly(second);
+
+        ChangeFeedPage caughtUp = changeFeed.getChanges(page.cursor(), 1);
+        assertThat(caughtUp.changes()).isEmpty();
+        assertThat(caughtUp.cursor()).isEqualTo(page.cursor());
+    }
+
+    @Test
+    @DisplayName("should reject cursors older than the pruned log")
+    void shouldRejectExpiredCursor() {
+        String cursor = changeFeed.getChanges(null, 100).cursor();
+        relationshipService.createRelationship(a, b);
+        relationshipService.createRelationship(b, c);
+
+        relationshipRepository.pruneChangesBefore(Instant.now().plusSeconds(60));
+
+        assertThatThrownBy(() -> changeFeed.getChanges(cursor, 100))
+            .isInstanceOf(InvalidOperationException.class);
+        assertThat(changeFeed.getChanges(null, 100).changes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject a malformed cursor")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> changeFeed.getChanges("not-a-cursor", 100))
+            .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private String saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+}
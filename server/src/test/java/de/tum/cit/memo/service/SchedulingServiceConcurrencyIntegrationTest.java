@@ -0,0 +1,161 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.VoteRequest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class SchedulingServiceConcurrencyIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int VOTERS = 24;
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("should not lose votes when many users vote on the same relationship concurrently")
+    void shouldNotLoseConcurrentVotes() throws Exception {
+        String originId = saveCompetency("Origin").getId();
+        String destinationId = saveCompetency("Destination").getId();
+        String relationshipId = relationshipRepository.save(CompetencyRelationship.builder()
+            .id(IdGenerator.generateCuid())
+            .originId(originId)
+            .destinationId(destinationId)
+            .build()).getId();
+
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            userIds.add(userRepository.save(User.builder()
+                .id(IdGenerator.generateCuid())
+                .role(UserRole.USER)
+                .build()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            String userId = userIds.get(i);
+            RelationshipType type = i % 3 == 0 ? RelationshipType.EXTENDS : RelationshipType.ASSUMES;
+            Callable<Object> vote = () -> {
+                start.await();
+                return schedulingService.submitVote(userId, VoteRequest.builder()
+                    .relationshipId(relationshipId)
+                    .relationshipType(type)
+                    .build());
+            };
+            futures.add(executor.submit(vote));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        CompetencyRelationship rel = relationshipRepository.findById(relationshipId).orElseThrow();
+        assertThat(rel.getTotalVotes()).isEqualTo(VOTERS);
+        assertThat(rel.getVoteExtends()).isEqualTo(VOTERS / 3);
+        assertThat(rel.getVoteAssumes()).isEqualTo(VOTERS - VOTERS / 3);
+
+        double storedEntropy = rel.getEntropy();
+        rel.recalculateEntropy();
+        assertThat(storedEntropy).isCloseTo(rel.getEntropy(), within(1e-9));
+    }
+
+    @Test
+    @DisplayName("should not deadlock when users vote symmetric types on A→B and B→A concurrently")
+    void shouldNotDeadlockOnMirroredVotes() throws Exception {
+        String a = saveCompetency("A").getId();
+        String b = saveCompetency("B").getId();
+        String forwardId = relationshipRepository.save(CompetencyRelationship.builder()
+            .id(IdGenerator.generateCuid())
+            .originId(a)
+            .destinationId(b)
+            .build()).getId();
+        String reverseId = relationshipRepository.save(CompetencyRelationship.builder()
+            .id(IdGenerator.generateCuid())
+            .originId(b)
+            .destinationId(a)
+            .build()).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            String userId = userRepository.save(User.builder()
+                .id(IdGenerator.generateCuid())
+                .role(UserRole.USER)
+                .build()).getId();
+            String relationshipId = i % 2 == 0 ? forwardId : reverseId;
+            Callable<Object> vote = () -> {
+                start.await();
+                return schedulingService.submitVote(userId, VoteRequest.builder()
+                    .relationshipId(relationshipId)
+                    .relationshipType(RelationshipType.MATCHES)
+                    .build());
+            };
+            futures.add(executor.submit(vote));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Every vote is mirrored, so both directions end up with all votes
+        assertThat(relationshipRepository.findById(forwardId).orElseThrow().getVoteMatches()).isEqualTo(VOTERS);
+        assertThat(relationshipRepository.findById(reverseId).orElseThrow().getVoteMatches()).isEqualTo(VOTERS);
+    }
+
+    private Competency saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build());
+    }
+}
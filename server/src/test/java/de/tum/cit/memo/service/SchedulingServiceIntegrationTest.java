@@ -0,0 +1,289 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.RelationshipTaskResponse;
+import de.tum.cit.memo.dto.VoteRequest;
+import de.tum.cit.memo.dto.VoteResponse;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.exception.InvalidOperationException;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRelationshipVoteRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM scheduling_skips",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class SchedulingServiceIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    @Autowired
+    private CompetencyRelationshipVoteRepository voteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompetencyGraphIndex graphIndex;
+
+    @Autowired
+    private ConsensusCandidateIndex consensusIndex;
+
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+    }
+
+    @Nested
+    @DisplayName("submitVotes")
+    class SubmitVotes {
+
+        private String a;
+        private String b;
+        private String c;
+        private String d;
+
+        @BeforeEach
+        void setUp() {
+            a = saveCompetency("A");
+            b = saveCompetency("B");
+            c = saveCompetency("C");
+            d = saveCompetency("D");
+        }
+
+        @Test
+        @DisplayName("should apply a mixed batch like sequential votes and fail only unresolvable items")
+        void shouldApplyMixedBatch() {
+            String existingId = schedulingService.submitVote(userId, pairVote(a, b, RelationshipType.ASSUMES))
+                .getRelationshipId();
+
+            List<VoteResponse> responses = schedulingService.submitVotes(userId, List.of(
+                // Already voted before the batch
+                VoteRequest.builder().relationshipId(existingId).relationshipType(RelationshipType.EXTENDS).build(),
+                // New pair, symmetric: also creates and votes C→A
+                pairVote(a, c, RelationshipType.MATCHES),
+                // Same pair again within the batch
+                pairVote(a, c, RelationshipType.ASSUMES),
+                // The mirror voted by the symmetric item above
+                pairVote(c, a, RelationshipType.UNRELATED),
+                VoteRequest.builder().relationshipId("missing").relationshipType(RelationshipType.ASSUMES).build(),
+                pairVote(d, d, RelationshipType.ASSUMES),
+                pairVote(a, "unknown-competency", RelationshipType.ASSUMES),
+                // New pair, not symmetric: no mirror
+                pairVote(b, d, RelationshipType.EXTENDS)));
+
+            CompetencyRelationship existing = relationshipRepository.findById(existingId).orElseThrow();
+            CompetencyRelationship forward = relationship(a, c);
+            CompetencyRelationship mirror = relationship(c, a);
+            CompetencyRelationship created = relationship(b, d);
+
+            assertThat(responses).hasSize(8);
+            assertThat(responses).extracting(VoteResponse::isSuccess)
+                .containsExactly(true, true, true, true, false, false, false, true);
+            assertThat(responses).extracting(VoteResponse::getRelationshipId)
+                .containsExactly(existingId, forward.getId(), forward.getId(), mirror.getId(), "missing", null, null,
+                    created.getId());
+            assertThat(responses.get(0).getUpdatedVotes().getAssumes()).isEqualTo(1);
+            assertThat(responses.get(0).getUpdatedVotes().getExtendsRelation()).isZero();
+            assertThat(responses.get(2).getUpdatedVotes().getMatches()).isEqualTo(1);
+            assertThat(responses.get(2).getUpdatedVotes().getAssumes()).isZero();
+            assertThat(responses.get(3).getUpdatedVotes().getMatches()).isEqualTo(1);
+            assertThat(responses.get(3).getUpdatedVotes().getUnrelated()).isZero();
+
+            assertThat(existing.getVoteAssumes()).isEqualTo(1);
+            assertThat(existing.getTotalVotes()).isEqualTo(1);
+            assertThat(forward.getVoteMatches()).isEqualTo(1);
+            assertThat(forward.getTotalVotes()).isEqualTo(1);
+            assertThat(mirror.getVoteMatches()).isEqualTo(1);
+            assertThat(mirror.getTotalVotes()).isEqualTo(1);
+            assertThat(created.getVoteExtends()).isEqualTo(1);
+            assertThat(relationshipRepository.findByOriginIdAndDestinationId(d, b)).isEmpty();
+            assertThat(voteRepository.countByUserId(userId)).isEqualTo(4);
+
+            // One degree per relationship endpoint: A→B, A→C, C→A, B→D
+            assertThat(degree(a)).isEqualTo(3);
+            assertThat(degree(b)).isEqualTo(2);
+            assertThat(degree(c)).isEqualTo(2);
+            assertThat(degree(d)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should ignore a replayed batch")
+        void shouldIgnoreReplayedBatch() {
+            List<VoteRequest> batch = List.of(pairVote(a, b, RelationshipType.UNRELATED),
+                pairVote(c, d, RelationshipType.ASSUMES));
+            schedulingService.submitVotes(userId, batch);
+
+            List<VoteResponse> replayed = schedulingService.submitVotes(userId, batch);
+
+            assertThat(replayed).allSatisfy(response -> assertThat(response.isSuccess()).isTrue());
+            assertThat(relationship(a, b).getVoteUnrelated()).isEqualTo(1);
+            assertThat(relationship(b, a).getVoteUnrelated()).isEqualTo(1);
+            assertThat(relationship(c, d).getVoteAssumes()).isEqualTo(1);
+            assertThat(voteRepository.countByUserId(userId)).isEqualTo(3);
+            assertThat(degree(a)).isEqualTo(2);
+            assertThat(degree(c)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("getNextTasks")
+    class GetNextTasks {
+
+        @Test
+        @DisplayName("should accept counts from 1 to 50 only")
+        void shouldValidateCount() {
+            saveCompetency("A");
+            saveCompetency("B");
+            graphIndex.refresh();
+
+            assertThatThrownBy(() -> schedulingService.getNextTasks(userId, null, 0))
+                .isInstanceOf(InvalidOperationException.class);
+            assertThatThrownBy(() -> schedulingService.getNextTasks(userId, null, 51))
+                .isInstanceOf(InvalidOperationException.class);
+            assertThat(schedulingService.getNextTasks(userId, null, 1)).hasSize(1);
+            assertThat(schedulingService.getNextTasks(userId, null, 50)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should not repeat an undirected pair across coverage and consensus slots")
+        void shouldNotRepeatPairsWithinBatch() {
+            String a = saveCompetency("A");
+            String b = saveCompetency("B");
+            String c = saveCompetency("C");
+            // Both directions of A-B are ambiguous enough for consensus
+            saveAmbiguousRelationship(a, b);
+            saveAmbiguousRelationship(b, a);
+            // Every pair is connected, so coverage falls back to unvoted relationships
+            saveRelationship(a, c);
+            saveRelationship(b, c);
+            graphIndex.refresh();
+            consensusIndex.refresh();
+
+            List<RelationshipTaskResponse> tasks = schedulingService.getNextTasks(userId, null, 50);
+
+            assertThat(tasks).hasSize(3);
+            assertThat(tasks).extracting(task -> undirected(task.getOrigin().getId(), task.getDestination().getId()))
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrder(undirected(a, b), undirected(a, c), undirected(b, c));
+            assertThat(tasks).extracting(RelationshipTaskResponse::getPipeline)
+                .contains("CONSENSUS", "COVERAGE");
+        }
+
+        @Test
+        @DisplayName("should behave like getNextTask for a count of 1")
+        void shouldMatchSingleTask() {
+            String a = saveCompetency("A");
+            String b = saveCompetency("B");
+            graphIndex.refresh();
+
+            List<RelationshipTaskResponse> batch = schedulingService.getNextTasks(userId, null, 1);
+            Optional<RelationshipTaskResponse> single = schedulingService.getNextTask(userId, null);
+
+            assertThat(batch).singleElement().satisfies(task -> {
+                assertThat(task.getPipeline()).isEqualTo("COVERAGE");
+                assertThat(task.getRelationshipId()).isNull();
+                assertThat(undirected(task.getOrigin().getId(), task.getDestination().getId()))
+                    .isEqualTo(undirected(a, b));
+            });
+            assertThat(single).hasValueSatisfying(task ->
+                assertThat(undirected(task.getOrigin().getId(), task.getDestination().getId()))
+                    .isEqualTo(undirected(a, b)));
+
+            // A symmetric vote covers both directions, leaving nothing to do
+            schedulingService.submitVote(userId, pairVote(a, b, RelationshipType.MATCHES));
+
+            assertThat(schedulingService.getNextTasks(userId, null, 1)).isEmpty();
+            assertThat(schedulingService.getNextTask(userId, null)).isEmpty();
+        }
+
+        private void saveAmbiguousRelationship(String originId, String destinationId) {
+            CompetencyRelationship rel = CompetencyRelationship.builder()
+                .id(IdGenerator.generateCuid())
+                .originId(originId)
+                .destinationId(destinationId)
+                .voteAssumes(2)
+                .voteExtends(2)
+                .voteMatches(2)
+                .build();
+            rel.recalculateEntropy();
+            relationshipRepository.save(rel);
+        }
+
+        private void saveRelationship(String originId, String destinationId) {
+            relationshipRepository.save(CompetencyRelationship.builder()
+                .id(IdGenerator.generateCuid())
+                .originId(originId)
+                .destinationId(destinationId)
+                .build());
+        }
+
+        private static String undirected(String x, String y) {
+            return x.compareTo(y) < 0 ? x + ':' + y : y + ':' + x;
+        }
+    }
+
+    private static VoteRequest pairVote(String originId, String destinationId, RelationshipType type) {
+        return VoteRequest.builder()
+            .originId(originId)
+            .destinationId(destinationId)
+            .relationshipType(type)
+            .build();
+    }
+
+    private CompetencyRelationship relationship(String originId, String destinationId) {
+        return relationshipRepository.findByOriginIdAndDestinationId(originId, destinationId).orElseThrow();
+    }
+
+    private int degree(String competencyId) {
+        return competencyRepository.findById(competencyId).orElseThrow().getDegree();
+    }
+
+    private String saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+}
@@ -0,0 +1,157 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.RelationshipTaskResponse;
+import de.tum.cit.memo.dto.SkipRequest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.exception.ResourceNotFoundException;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.SchedulingSkipRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM scheduling_skips",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class SkipTrackerIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private SkipTracker skipTracker;
+
+    @Autowired
+    private CompetencyGraphIndex graphIndex;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    @Autowired
+    private SchedulingSkipRepository skipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String userId;
+    private String a;
+    private String b;
+
+    @BeforeEach
+    void setUp() {
+        userId = saveUser();
+        // Two competencies leave exactly one pair to schedule
+        a = saveCompetency("A");
+        b = saveCompetency("B");
+        graphIndex.refresh();
+    }
+
+    @Test
+    @DisplayName("should not hand out a pair the user skipped")
+    void shouldExcludeSkippedPair() {
+        RelationshipTaskResponse task = schedulingService.getNextTask(userId, null).orElseThrow();
+
+        schedulingService.skip(userId, SkipRequest.builder()
+            .originId(task.getOrigin().getId())
+            .destinationId(task.getDestination().getId())
+            .build());
+
+        assertThat(skipTracker.skipped(userId))
+            .containsExactly(task.getOrigin().getId() + ':' + task.getDestination().getId());
+        assertThat(schedulingService.getNextTask(userId, null)).isEmpty();
+        assertThat(schedulingService.getNextTask(saveUser(), null)).isPresent();
+    }
+
+    @Test
+    @DisplayName("should not hand out an existing relationship skipped by its pair")
+    void shouldExcludeSkippedPairOfExistingRelationship() {
+        relationshipRepository.save(CompetencyRelationship.builder()
+            .id(IdGenerator.generateCuid())
+            .originId(a)
+            .destinationId(b)
+            .build());
+        graphIndex.refresh();
+        assertThat(schedulingService.getNextTask(userId, null)).isPresent();
+
+        schedulingService.skip(userId, SkipRequest.builder().originId(b).destinationId(a).build());
+
+        assertThat(schedulingService.getNextTask(userId, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject skips from unknown users")
+    void shouldRejectUnknownUser() {
+        SkipRequest request = SkipRequest.builder().relationshipId(IdGenerator.generateCuid()).build();
+
+        assertThatThrownBy(() -> schedulingService.skip("missing-user", request))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Nested
+    @DisplayName("with persisted skips")
+    @TestPropertySource(properties = "memo.scheduling.skips.persist=true")
+    class Persisted {
+
+        @Test
+        @DisplayName("should see a skip recorded by another instance while the user is active")
+        void shouldSeeSkipsFromOtherInstances() {
+            schedulingService.skip(userId, SkipRequest.builder().originId(a).destinationId(b).build());
+            assertThat(skipTracker.skipped(userId)).containsExactly(a + ':' + b);
+
+            // Another instance shares only the table
+            transactionTemplate.executeWithoutResult(status -> skipRepository.upsert(IdGenerator.generateCuid(),
+                userId, b + ':' + a, Instant.now().plus(1, ChronoUnit.HOURS)));
+
+            assertThat(skipTracker.skipped(userId)).containsExactlyInAnyOrder(a + ':' + b, b + ':' + a);
+        }
+    }
+
+    private String saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+
+    private String saveUser() {
+        return userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+    }
+}
@@ -0,0 +1,101 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.UpdateUserRequest;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class UserRoleCacheIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private UserRoleCache roleCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+    }
+
+    @Test
+    @DisplayName("should serve the cached role until the user is updated")
+    void shouldInvalidateOnUpdate() {
+        assertThat(roleCache.role(userId)).contains(UserRole.USER);
+        jdbcTemplate.update("UPDATE users SET role = 'ADMIN' WHERE id = ?", userId);
+        assertThat(roleCache.role(userId)).contains(UserRole.USER);
+
+        userService.updateUser(userId, UpdateUserRequest.builder().role(UserRole.ADMIN).build());
+
+        assertThat(roleCache.role(userId)).contains(UserRole.ADMIN);
+    }
+
+    @Test
+    @DisplayName("should forget deleted users and notice users created later")
+    void shouldTrackExistence() {
+        assertThat(roleCache.exists(userId)).isTrue();
+        userService.deleteUser(userId);
+        assertThat(roleCache.exists(userId)).isFalse();
+
+        String subject = IdGenerator.generateCuid();
+        assertThat(roleCache.exists(subject)).isFalse();
+        userService.findOrCreateBySubject(subject);
+        assertThat(roleCache.exists(subject)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should drop an entry when another instance announces a change")
+    void shouldInvalidateOnNotification() throws InterruptedException {
+        assertThat(roleCache.role(userId)).contains(UserRole.USER);
+
+        // What another instance's updateUser does in its transaction
+        jdbcTemplate.update("UPDATE users SET role = 'ADMIN' WHERE id = ?", userId);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", UserRoleCache.CHANNEL, userId);
+
+        assertThat(awaitRole(UserRole.ADMIN)).contains(UserRole.ADMIN);
+    }
+
+    private Optional<UserRole> awaitRole(UserRole expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Optional<UserRole> role = roleCache.role(userId);
+        while (!role.equals(Optional.of(expected)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            role = roleCache.role(userId);
+        }
+        return role;
+    }
+}
@@ -0,0 +1,124 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.VoteRequest;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@SuppressWarnings("null")
+class UserVoteFilterIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private UserVoteFilter voteFilter;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String userId;
+    private String votedId;
+    private String otherId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+        String a = saveCompetency("A");
+        String b = saveCompetency("B");
+        String c = saveCompetency("C");
+        votedId = saveRelationship(a, b);
+        otherId = saveRelationship(a, c);
+
+        schedulingService.submitVote(userId, VoteRequest.builder()
+            .relationshipId(votedId)
+            .relationshipType(RelationshipType.ASSUMES)
+            .build());
+    }
+
+    @Test
+    @DisplayName("should report exactly the relationships the user voted on")
+    void shouldReportVotedRelationships() {
+        assertThat(voteFilter.votedAmong(userId, List.of(votedId, otherId))).containsExactly(votedId);
+    }
+
+    @Test
+    @DisplayName("should pick up votes cast after the filter was built")
+    void shouldTrackNewVotes() {
+        assertThat(voteFilter.votedAmong(userId, List.of(otherId))).isEmpty();
+
+        schedulingService.submitVote(userId, VoteRequest.builder()
+            .relationshipId(otherId)
+            .relationshipType(RelationshipType.EXTENDS)
+            .build());
+
+        assertThat(voteFilter.votedAmong(userId, List.of(votedId, otherId)))
+            .containsExactlyInAnyOrder(votedId, otherId);
+    }
+
+    @Test
+    @DisplayName("should forget a vote after unvoting")
+    void shouldForgetRemovedVotes() {
+        schedulingService.submitVote(userId, VoteRequest.builder()
+            .relationshipId(otherId)
+            .relationshipType(RelationshipType.EXTENDS)
+            .build());
+        assertThat(voteFilter.votedAmong(userId, List.of(otherId))).containsExactly(otherId);
+
+        schedulingService.unvote(userId, otherId);
+
+        assertThat(voteFilter.votedAmong(userId, List.of(votedId, otherId))).containsExactly(votedId);
+    }
+
+    private String saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build()).getId();
+    }
+
+    private String saveRelationship(String originId, String destinationId) {
+        return relationshipRepository.save(CompetencyRelationship.builder()
+            .id(IdGenerator.generateCuid())
+            .originId(originId)
+            .destinationId(destinationId)
+            .build()).getId();
+    }
+}
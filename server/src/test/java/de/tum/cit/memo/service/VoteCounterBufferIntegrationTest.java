@@ -0,0 +1,166 @@
+package de.tum.cit.memo.service;
+
+import de.tum.cit.memo.AbstractIntegrationTest;
+import de.tum.cit.memo.dto.VoteRequest;
+import de.tum.cit.memo.dto.VoteResponse;
+import de.tum.cit.memo.entity.Competency;
+import de.tum.cit.memo.entity.CompetencyRelationship;
+import de.tum.cit.memo.entity.User;
+import de.tum.cit.memo.enums.RelationshipType;
+import de.tum.cit.memo.enums.UserRole;
+import de.tum.cit.memo.repository.CompetencyRelationshipRepository;
+import de.tum.cit.memo.repository.CompetencyRepository;
+import de.tum.cit.memo.repository.UserRepository;
+import de.tum.cit.memo.util.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@Sql(statements = {
+    "DELETE FROM competency_relationships_votes",
+    "DELETE FROM competency_resource_links",
+    "DELETE FROM competency_relationships",
+    "DELETE FROM competencies",
+    "DELETE FROM users"
+}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@TestPropertySource(properties = {
+    "memo.scheduling.write-behind.enabled=true",
+    // Flushed explicitly by the tests
+    "memo.scheduling.write-behind.flush-interval=PT1H"
+})
+@SuppressWarnings("null")
+class VoteCounterBufferIntegrationTest extends AbstractIntegrationTest {
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private VoteCounterBuffer counterBuffer;
+
+    @Autowired
+    private CompetencyRepository competencyRepository;
+
+    @Autowired
+    private CompetencyRelationshipRepository relationshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String originId;
+    private String destinationId;
+
+    @BeforeEach
+    void setUp() {
+        counterBuffer.flush();
+        originId = saveCompetency("Origin").getId();
+        destinationId = saveCompetency("Destination").getId();
+    }
+
+    @Test
+    @DisplayName("should report buffered counts and write them on flush")
+    void shouldMergePendingDeltasIntoResponse() {
+        VoteResponse first = schedulingService.submitVote(saveUser(), VoteRequest.builder()
+            .originId(originId)
+            .destinationId(destinationId)
+            .relationshipType(RelationshipType.ASSUMES)
+            .build());
+        VoteResponse second = schedulingService.submitVote(saveUser(), VoteRequest.builder()
+            .relationshipId(first.getRelationshipId())
+            .relationshipType(RelationshipType.EXTENDS)
+            .build());
+
+        assertThat(first.getUpdatedVotes().getAssumes()).isEqualTo(1);
+        assertThat(second.getUpdatedVotes().getAssumes()).isEqualTo(1);
+        assertThat(second.getUpdatedVotes().getExtendsRelation()).isEqualTo(1);
+        assertThat(second.getNewEntropy()).isEqualTo(1.0);
+        assertThat(relationshipRepository.findById(first.getRelationshipId()).orElseThrow().getTotalVotes())
+            .isZero();
+
+        counterBuffer.flush();
+
+        CompetencyRelationship rel = relationshipRepository.findById(first.getRelationshipId()).orElseThrow();
+        assertThat(rel.getVoteAssumes()).isEqualTo(1);
+        assertThat(rel.getVoteExtends()).isEqualTo(1);
+        assertThat(rel.getTotalVotes()).isEqualTo(2);
+        assertThat(rel.getEntropy()).isCloseTo(1.0, within(1e-9));
+        assertThat(competencyRepository.findById(originId).orElseThrow().getDegree()).isEqualTo(1);
+        assertThat(competencyRepository.findById(destinationId).orElseThrow().getDegree()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should report buffered counts for a duplicate vote")
+    void shouldMergePendingDeltasIntoDuplicateVoteResponse() {
+        String userId = saveUser();
+        VoteRequest request = VoteRequest.builder()
+            .originId(originId)
+            .destinationId(destinationId)
+            .relationshipType(RelationshipType.ASSUMES)
+            .build();
+        VoteResponse first = schedulingService.submitVote(userId, request);
+        schedulingService.submitVote(saveUser(), VoteRequest.builder()
+            .relationshipId(first.getRelationshipId())
+            .relationshipType(RelationshipType.EXTENDS)
+            .build());
+
+        VoteResponse duplicate = schedulingService.submitVote(userId, request);
+        VoteResponse batchDuplicate = schedulingService.submitVotes(userId, List.of(request)).get(0);
+
+        assertThat(relationshipRepository.findById(first.getRelationshipId()).orElseThrow().getTotalVotes())
+            .isZero();
+        for (VoteResponse response : List.of(duplicate, batchDuplicate)) {
+            assertThat(response.isSuccess()).isTrue();
+            assertThat(response.getRelationshipId()).isEqualTo(first.getRelationshipId());
+            assertThat(response.getUpdatedVotes().getAssumes()).isEqualTo(1);
+            assertThat(response.getUpdatedVotes().getExtendsRelation()).isEqualTo(1);
+            assertThat(response.getNewEntropy()).isCloseTo(1.0, within(1e-9));
+        }
+    }
+
+    @Test
+    @DisplayName("should delete a relationship left without votes on flush")
+    void shouldDeleteUnvotedRelationshipOnFlush() {
+        String userId = saveUser();
+        VoteResponse vote = schedulingService.submitVote(userId, VoteRequest.builder()
+            .originId(originId)
+            .destinationId(destinationId)
+            .relationshipType(RelationshipType.ASSUMES)
+            .build());
+        counterBuffer.flush();
+
+        schedulingService.unvote(userId, vote.getRelationshipId());
+        assertThat(relationshipRepository.existsById(vote.getRelationshipId())).isTrue();
+
+        counterBuffer.flush();
+
+        assertThat(relationshipRepository.existsById(vote.getRelationshipId())).isFalse();
+        assertThat(competencyRepository.findById(originId).orElseThrow().getDegree()).isZero();
+        assertThat(competencyRepository.findById(destinationId).orElseThrow().getDegree()).isZero();
+    }
+
+    private Competency saveCompetency(String title) {
+        return competencyRepository.save(Competency.builder()
+            .id(IdGenerator.generateCuid())
+            .title(title)
+            .build());
+    }
+
+    private String saveUser() {
+        return userRepository.save(User.builder()
+            .id(IdGenerator.generateCuid())
+            .role(UserRole.USER)
+            .build()).getId();
+    }
+}
@@ -0,0 +1,120 @@
+package de.tum.cit.memo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityCalendarTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+    private static final LocalDate SINCE = TODAY.minusDays(365);
+
+    private static ActivityCalendar calendarWith(LocalDate... days) {
+        ActivityCalendar calendar = new ActivityCalendar(SINCE, TODAY);
+        for (LocalDate day : days) {
+            calendar.markActive(day);
+        }
+        return calendar;
+    }
+
+    @Nested
+    @DisplayName("currentStreak")
+    class CurrentStreak {
+
+        @Test
+        @DisplayName("should count back from today when today is active")
+        void shouldCountFromToday() {
+            ActivityCalendar calendar = calendarWith(TODAY, TODAY.minusDays(1), TODAY.minusDays(2),
+                TODAY.minusDays(4));
+
+            assertThat(calendar.currentStreak(TODAY)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should keep yesterday's streak while today has no activity")
+        void shouldCountFromYesterday() {
+            ActivityCalendar calendar = calendarWith(TODAY.minusDays(1), TODAY.minusDays(2));
+
+            assertThat(calendar.currentStreak(TODAY)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should be zero once a full day was missed")
+        void shouldResetAfterMissedDay() {
+            ActivityCalendar calendar = calendarWith(TODAY.minusDays(2));
+
+            assertThat(calendar.currentStreak(TODAY)).isZero();
+        }
+
+        @Test
+        @DisplayName("should stop at the start of the range")
+        void shouldStopAtRangeStart() {
+            ActivityCalendar calendar = new ActivityCalendar(TODAY.minusDays(2), TODAY);
+            calendar.markActive(TODAY.minusDays(3));
+            calendar.markActive(TODAY.minusDays(2));
+            calendar.markActive(TODAY.minusDays(1));
+            calendar.markActive(TODAY);
+
+            assertThat(calendar.currentStreak(TODAY)).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("longestStreak")
+    class LongestStreak {
+
+        @Test
+        @DisplayName("should find the longest run of active days")
+        void shouldFindLongestRun() {
+            ActivityCalendar calendar = calendarWith(SINCE, SINCE.plusDays(1),
+                SINCE.plusDays(100), SINCE.plusDays(101), SINCE.plusDays(102), TODAY);
+
+            assertThat(calendar.longestStreak(SINCE, TODAY)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should cut runs at the window edges")
+        void shouldClipToWindow() {
+            ActivityCalendar calendar = calendarWith(SINCE.plusDays(10), SINCE.plusDays(11), SINCE.plusDays(12));
+
+            assertThat(calendar.longestStreak(SINCE.plusDays(11), TODAY)).isEqualTo(2);
+            assertThat(calendar.longestStreak(SINCE, SINCE.plusDays(10))).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should handle multi-year ranges spanning every day")
+        void shouldHandleFullRange() {
+            LocalDate first = TODAY.minusYears(5);
+            ActivityCalendar calendar = new ActivityCalendar(first, TODAY);
+            for (LocalDate d = first; !d.isAfter(TODAY); d = d.plusDays(1)) {
+                calendar.markActive(d);
+            }
+
+            int days = (int) (TODAY.toEpochDay() - first.toEpochDay() + 1);
+            assertThat(calendar.longestStreak(first, TODAY)).isEqualTo(days);
+            assertThat(calendar.currentStreak(TODAY)).isEqualTo(days);
+            assertThat(calendar.activeDays()).isEqualTo(days);
+        }
+    }
+
+    @Test
+    @DisplayName("should ignore days outside the range")
+    void shouldIgnoreDaysOutsideRange() {
+        ActivityCalendar calendar = calendarWith(SINCE.minusDays(1), TODAY.plusDays(1));
+
+        assertThat(calendar.activeDays()).isZero();
+        assertThat(calendar.isActive(TODAY.plusDays(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject a range that ends before it starts")
+    void shouldRejectInvertedRange() {
+        assertThatThrownBy(() -> new ActivityCalendar(TODAY, SINCE))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package de.tum.cit.memo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class AliasTableTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    @DisplayName("should sample indexes in proportion to their weights and never pick zero weights")
+    void shouldSampleProportionally() {
+        // Consensus weights are entropy / (totalVotes + 1)
+        double[] weights = {
+            1.5 / 6,
+            2.0 / 11,
+            0.0,
+            0.8 / 6,
+            1.9 / 21,
+            0.0
+        };
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+
+        double[] frequencies = frequencies(new AliasTable(weights), new Random(42));
+
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] == 0) {
+                assertThat(frequencies[i]).as("index %d", i).isZero();
+            } else {
+                assertThat(frequencies[i]).as("index %d", i).isCloseTo(weights[i] / total, within(0.005));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should sample uniformly when all weights are zero")
+    void shouldSampleUniformlyWithoutWeight() {
+        double[] frequencies = frequencies(new AliasTable(new double[4]), new Random(7));
+
+        for (double frequency : frequencies) {
+            assertThat(frequency).isCloseTo(0.25, within(0.005));
+        }
+    }
+
+    @Test
+    @DisplayName("should always return the only positive weight")
+    void shouldReturnSinglePositiveWeight() {
+        AliasTable table = new AliasTable(new double[] {0.0, 0.0, 3.0});
+        Random random = new Random(1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(table.sample(random)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("should refuse to sample from an empty table")
+    void shouldRejectSamplingEmptyTable() {
+        AliasTable table = new AliasTable(new double[0]);
+
+        assertThat(table.size()).isZero();
+        assertThatThrownBy(() -> table.sample(new Random(0)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should reject negative and NaN weights")
+    void shouldRejectInvalidWeights() {
+        assertThatThrownBy(() -> new AliasTable(new double[] {1.0, -0.5}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[] {Double.NaN}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static double[] frequencies(AliasTable table, Random random) {
+        int[] counts = new int[table.size()];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[table.sample(random)]++;
+        }
+        double[] frequencies = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            frequencies[i] = (double) counts[i] / SAMPLES;
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,76 @@
+package de.tum.cit.memo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    private static final int CAPACITY = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int PROBES = 100_000;
+
+    @Test
+    @DisplayName("should contain every added value")
+    void shouldHaveNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(CAPACITY, FALSE_POSITIVE_RATE);
+        List<String> added = ids(CAPACITY);
+        added.forEach(filter::put);
+
+        assertThat(added).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("should keep the false-positive rate near the target when filled to capacity")
+    void shouldKeepFalsePositiveRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(CAPACITY, FALSE_POSITIVE_RATE);
+        Set<String> added = new HashSet<>(ids(CAPACITY));
+        added.forEach(filter::put);
+
+        int falsePositives = 0;
+        int probes = 0;
+        for (String id : ids(PROBES)) {
+            if (!added.contains(id)) {
+                probes++;
+                if (filter.mightContain(id)) {
+                    falsePositives++;
+                }
+            }
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(FALSE_POSITIVE_RATE * 1.5);
+    }
+
+    @Test
+    @DisplayName("should report nothing for an empty filter")
+    void shouldBeEmptyInitially() {
+        BloomFilter filter = new BloomFilter(CAPACITY, FALSE_POSITIVE_RATE);
+
+        assertThat(ids(1000)).noneMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("should reject false-positive rates outside (0, 1)")
+    void shouldRejectInvalidRate() {
+        assertThatThrownBy(() -> new BloomFilter(CAPACITY, 0.0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(CAPACITY, 1.0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Relationship ids are CUIDs, so probe with the same shape. */
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(IdGenerator.generateCuid());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,86 @@
+package de.tum.cit.memo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedMinHeapTest {
+
+    private static final int OPERATIONS = 20_000;
+    private static final int HANDLES = 500;
+
+    @Test
+    @DisplayName("should match a PriorityQueue under random inserts, updates and removes")
+    void shouldMatchPriorityQueue() {
+        IndexedMinHeap heap = new IndexedMinHeap(16);
+        Map<Integer, Integer> priorities = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            // Handles beyond the initial capacity exercise growth
+            int handle = random.nextInt(HANDLES);
+            int priority = random.nextInt(100);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    heap.remove(handle);
+                    priorities.remove(handle);
+                }
+                case 1 -> {
+                    heap.update(handle, priority);
+                    priorities.computeIfPresent(handle, (h, old) -> priority);
+                }
+                default -> {
+                    heap.insert(handle, priority);
+                    priorities.put(handle, priority);
+                }
+            }
+            assertThat(heap.size()).isEqualTo(priorities.size());
+            assertThat(heap.contains(handle)).isEqualTo(priorities.containsKey(handle));
+            if (priorities.containsKey(handle)) {
+                assertThat(heap.priority(handle)).isEqualTo(priorities.get(handle));
+            }
+
+            int k = random.nextInt(30);
+            assertThat(heap.smallest(k)).as("smallest(%d) after %d operations", k, i)
+                .containsExactly(smallest(priorities, k));
+        }
+
+        assertThat(heap.smallest(HANDLES)).containsExactly(smallest(priorities, HANDLES));
+    }
+
+    @Test
+    @DisplayName("should leave the heap unchanged when reading the smallest handles")
+    void shouldReadSmallestWithoutRemoving() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(0, 5);
+        heap.insert(1, 2);
+        heap.insert(2, 2);
+        heap.insert(3, 9);
+
+        assertThat(heap.smallest(3)).containsExactly(1, 2, 0);
+        assertThat(heap.smallest(10)).containsExactly(1, 2, 0, 3);
+        assertThat(heap.size()).isEqualTo(4);
+        assertThat(heap.smallest(0)).isEmpty();
+    }
+
+    /** Reference answer: ascending by priority, ties broken by handle. */
+    private static int[] smallest(Map<Integer, Integer> priorities, int k) {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Comparator
+            .comparingInt((Integer handle) -> priorities.get(handle))
+            .thenComparingInt(handle -> handle));
+        queue.addAll(priorities.keySet());
+        int[] result = new int[Math.min(k, queue.size())];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = queue.poll();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package de.tum.cit.memo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashSetTest {
+
+    private static final int OPERATIONS = 200_000;
+
+    @Test
+    @DisplayName("should match a HashSet under random adds and removes")
+    void shouldMatchHashSet() {
+        LongHashSet set = new LongHashSet(16);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            // Pair keys: two 32-bit ordinals, from a small range so keys repeat
+            long key = ((long) random.nextInt(300) << 32) | random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(key)).as("remove %d", key).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(set.add(key)).as("add %d", key).isEqualTo(expected.add(key));
+            }
+            assertThat(set.size()).isEqualTo(expected.size());
+        }
+
+        for (int origin = 0; origin < 300; origin++) {
+            for (int destination = 0; destination < 300; destination++) {
+                long key = ((long) origin << 32) | destination;
+                assertThat(set.contains(key)).as("contains %d", key).isEqualTo(expected.contains(key));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should stay usable when adds and removes churn through tombstones")
+    void shouldReuseRemovedSlots() {
+        LongHashSet set = new LongHashSet(16);
+
+        for (long key = 1; key <= 100_000; key++) {
+            assertThat(set.add(key)).isTrue();
+            assertThat(set.remove(key - 1)).isEqualTo(key > 1);
+        }
+
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.contains(100_000)).isTrue();
+        assertThat(set.contains(99_999)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject the reserved sentinel keys")
+    void shouldRejectReservedKeys() {
+        LongHashSet set = new LongHashSet(16);
+
+        assertThatThrownBy(() -> set.add(Long.MIN_VALUE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> set.contains(Long.MIN_VALUE + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
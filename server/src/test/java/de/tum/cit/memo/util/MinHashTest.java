@@ -0,0 +1,47 @@
+package de.tum.cit.memo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashTest {
+
+    @Test
+    @DisplayName("should estimate identity for texts that differ only in case and spacing")
+    void shouldIgnoreCaseAndSpacing() {
+        assertThat(MinHash.similarity(
+            MinHash.signature("Understand  Recursion "),
+            MinHash.signature("understand recursion"))).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should rate reworded texts as similar and share a band")
+    void shouldMatchRewordedTexts() {
+        int[] a = MinHash.signature("Apply binary search to sorted arrays");
+        int[] b = MinHash.signature("Apply the binary search to a sorted array");
+
+        assertThat(MinHash.similarity(a, b)).isGreaterThan(0.6);
+        assertThat(IntStream.range(0, MinHash.BANDS)
+            .anyMatch(band -> MinHash.bandKey(a, band) == MinHash.bandKey(b, band))).isTrue();
+    }
+
+    @Test
+    @DisplayName("should rate unrelated texts as dissimilar without sharing a band")
+    void shouldSeparateUnrelatedTexts() {
+        int[] a = MinHash.signature("Understand recursion");
+        int[] b = MinHash.signature("Normalize relational database schemas");
+
+        assertThat(MinHash.similarity(a, b)).isLessThan(0.2);
+        assertThat(IntStream.range(0, MinHash.BANDS)
+            .noneMatch(band -> MinHash.bandKey(a, band) == MinHash.bandKey(b, band))).isTrue();
+    }
+
+    @Test
+    @DisplayName("should produce the same signature on every call")
+    void shouldBeDeterministic() {
+        assertThat(MinHash.signature("Graph traversal")).containsExactly(MinHash.signature("Graph traversal"));
+    }
+}
@@ -0,0 +1,88 @@
+package de.tum.cit.memo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatisticTreeTest {
+
+    private static final int OPERATIONS = 20_000;
+    private static final int KEY_RANGE = 2_000;
+
+    @Test
+    @DisplayName("should match a TreeSet under random adds and removes")
+    void shouldMatchTreeSet() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int key = random.nextInt(KEY_RANGE);
+            if (random.nextInt(3) == 0) {
+                assertThat(tree.remove(key)).as("remove %d", key).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(tree.add(key)).as("add %d", key).isEqualTo(expected.add(key));
+            }
+            assertThat(tree.size()).isEqualTo(expected.size());
+
+            int probe = random.nextInt(KEY_RANGE + 2) - 1;
+            assertThat(tree.contains(probe)).as("contains %d", probe).isEqualTo(expected.contains(probe));
+            assertThat(tree.countLess(probe)).as("countLess %d", probe).isEqualTo(expected.headSet(probe).size());
+
+            if (i % 100 == 0) {
+                int from = random.nextInt(expected.size() + 2);
+                int count = random.nextInt(50);
+                assertThat(tree.range(from, count)).as("range(%d, %d)", from, count)
+                    .isEqualTo(range(expected, from, count));
+            }
+        }
+
+        assertThat(tree.range(0, expected.size())).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("should order by the comparator, e.g. descending scores")
+    void shouldUseComparator() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.<Integer>naturalOrder().reversed());
+        for (int key : new int[] {5, 1, 9, 3, 7}) {
+            tree.add(key);
+        }
+
+        assertThat(tree.range(0, 10)).containsExactly(9, 7, 5, 3, 1);
+        assertThat(tree.countLess(5)).isEqualTo(2);
+        assertThat(tree.countLess(10)).isZero();
+        assertThat(tree.countLess(0)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("should be empty after clear and out-of-range slices")
+    void shouldHandleEmptyRanges() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        tree.add(1);
+        tree.add(2);
+
+        assertThat(tree.range(2, 5)).isEmpty();
+        assertThat(tree.range(0, 0)).isEmpty();
+
+        tree.clear();
+
+        assertThat(tree.size()).isZero();
+        assertThat(tree.range(0, 5)).isEmpty();
+        assertThat(tree.countLess(3)).isZero();
+    }
+
+    private static List<Integer> range(TreeSet<Integer> set, int from, int count) {
+        List<Integer> all = new ArrayList<>(set);
+        if (from >= all.size()) {
+            return List.of();
+        }
+        return all.subList(from, Math.min(all.size(), from + count));
+    }
+}
@@ -1,5 +1,7 @@
 import { apiClient } from './client';
-import type { ImportResult } from './types';
+import type { ImportJob, ImportResult, MergeResult } from './types';
+
+const IMPORT_POLL_INTERVAL_MS = 1000;
 
 export interface CompetencyImportRow {
   title: string;
@@ -17,14 +19,48 @@ export const adminApi = {
     return response.data;
   },
 
-  importCompetenciesFile: async (file: File): Promise<ImportResult> => {
+  startCompetencyFileImport: async (file: File): Promise<ImportJob> => {
     const form = new FormData();
     form.append('file', file);
-    const response = await apiClient.post<ImportResult>(
+    const response = await apiClient.post<ImportJob>(
       '/api/admin/competencies/import/file',
       form,
       { headers: { 'Content-Type': 'multipart/form-data' } }
     );
     return response.data;
   },
+
+  getImportJob: async (id: string): Promise<ImportJob> => {
+    const response = await apiClient.get<ImportJob>(
+      `/api/admin/competencies/import/jobs/${id}`
+    );
+    return response.data;
+  },
+
+  /** Uploads the file and resolves once the background import has finished. */
+  importCompetenciesFile: async (file: File): Promise<ImportResult> => {
+    let job = await adminApi.startCompetencyFileImport(file);
+    while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+      await new Promise(resolve =>
+        setTimeout(resolve, IMPORT_POLL_INTERVAL_MS)
+      );
+      job = await adminApi.getImportJob(job.id);
+    }
+    if (job.status === 'FAILED') {
+      throw new Error(job.failureReason ?? 'Import failed');
+    }
+    return job;
+  },
+
+  /** Moves the duplicate's relationships, votes and links to the survivor. */
+  mergeCompetencies: async (
+    survivorId: string,
+    duplicateId: string
+  ): Promise<MergeResult> => {
+    const response = await apiClient.post<MergeResult>(
+      '/api/admin/competencies/merge',
+      { survivorId, duplicateId }
+    );
+    return response.data;
+  },
 };
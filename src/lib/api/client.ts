@@ -1,5 +1,8 @@
 import axios from 'axios';
 import { keycloak } from '../auth/keycloak';
+import type { CursorPage } from './types';
+
+const ALL_PAGES_LIMIT = 1000;
 
 export const apiClient = axios.create({
   baseURL: import.meta.env.VITE_API_URL || 'http://localhost:8080',
@@ -44,3 +47,26 @@ apiClient.interceptors.response.use(
     throw error;
   }
 );
+
+export const fetchPage = async <T>(
+  url: string,
+  after?: string,
+  limit?: number
+): Promise<CursorPage<T>> => {
+  const response = await apiClient.get<CursorPage<T>>(url, {
+    params: { after, limit },
+  });
+  return response.data;
+};
+
+/** Follows nextCursor through a keyset-paginated listing. */
+export const fetchAllPages = async <T>(url: string): Promise<T[]> => {
+  const items: T[] = [];
+  let after: string | undefined;
+  do {
+    const page = await fetchPage<T>(url, after, ALL_PAGES_LIMIT);
+    items.push(...page.items);
+    after = page.nextCursor ?? undefined;
+  } while (after);
+  return items;
+};
@@ -1,8 +1,9 @@
-import { apiClient } from './client';
+import { apiClient, fetchAllPages, fetchPage } from './client';
 import type {
   Competency,
   CreateCompetencyRequest,
   UpdateCompetencyRequest,
+  CursorPage,
 } from './types';
 
 export const competenciesApi = {
@@ -19,10 +20,11 @@ export const competenciesApi = {
     return response.data;
   },
 
-  getAll: async (): Promise<Competency[]> => {
-    const response = await apiClient.get<Competency[]>('/api/competencies');
-    return response.data;
-  },
+  getPage: (after?: string, limit?: number): Promise<CursorPage<Competency>> =>
+    fetchPage<Competency>('/api/competencies', after, limit),
+
+  getAll: (): Promise<Competency[]> =>
+    fetchAllPages<Competency>('/api/competencies'),
 
   getRandom: async (count: number = 2): Promise<Competency[]> => {
     const response = await apiClient.get<Competency[]>(
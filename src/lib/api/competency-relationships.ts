@@ -1,5 +1,9 @@
-import { apiClient } from './client';
-import type { CompetencyRelationship } from './types';
+import { apiClient, fetchAllPages, fetchPage } from './client';
+import type {
+  ChangeFeedPage,
+  CompetencyRelationship,
+  CursorPage,
+} from './types';
 
 export const competencyRelationshipsApi = {
   getById: async (id: string): Promise<CompetencyRelationship> => {
@@ -9,9 +13,26 @@ export const competencyRelationshipsApi = {
     return response.data;
   },
 
-  getAll: async (): Promise<CompetencyRelationship[]> => {
-    const response = await apiClient.get<CompetencyRelationship[]>(
-      '/api/competency-relationships'
+  getPage: (
+    after?: string,
+    limit?: number
+  ): Promise<CursorPage<CompetencyRelationship>> =>
+    fetchPage<CompetencyRelationship>(
+      '/api/competency-relationships',
+      after,
+      limit
+    ),
+
+  getAll: (): Promise<CompetencyRelationship[]> =>
+    fetchAllPages<CompetencyRelationship>('/api/competency-relationships'),
+
+  getChanges: async (
+    since?: string,
+    limit?: number
+  ): Promise<ChangeFeedPage> => {
+    const response = await apiClient.get<ChangeFeedPage>(
+      '/api/competency-relationships/changes',
+      { params: { since, limit } }
     );
     return response.data;
   },
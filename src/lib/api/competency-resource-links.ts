@@ -1,7 +1,8 @@
-import { apiClient } from './client';
+import { apiClient, fetchAllPages, fetchPage } from './client';
 import type {
   CompetencyResourceLink,
   CreateCompetencyResourceLinkRequest,
+  CursorPage,
 } from './types';
 
 export const competencyResourceLinksApi = {
@@ -22,12 +23,18 @@ export const competencyResourceLinksApi = {
     return response.data;
   },
 
-  getAll: async (): Promise<CompetencyResourceLink[]> => {
-    const response = await apiClient.get<CompetencyResourceLink[]>(
-      '/api/competency-resource-links'
-    );
-    return response.data;
-  },
+  getPage: (
+    after?: string,
+    limit?: number
+  ): Promise<CursorPage<CompetencyResourceLink>> =>
+    fetchPage<CompetencyResourceLink>(
+      '/api/competency-resource-links',
+      after,
+      limit
+    ),
+
+  getAll: (): Promise<CompetencyResourceLink[]> =>
+    fetchAllPages<CompetencyResourceLink>('/api/competency-resource-links'),
 
   delete: async (id: string): Promise<void> => {
     await apiClient.delete(`/api/competency-resource-links/${id}`);
@@ -1,9 +1,10 @@
 import axios from 'axios';
-import { apiClient } from './client';
+import { apiClient, fetchAllPages, fetchPage } from './client';
 import type {
   LearningResource,
   CreateLearningResourceRequest,
   UpdateLearningResourceRequest,
+  CursorPage,
 } from './types';
 
 export const learningResourcesApi = {
@@ -41,12 +42,14 @@ export const learningResourcesApi = {
     }
   },
 
-  getAll: async (): Promise<LearningResource[]> => {
-    const response = await apiClient.get<LearningResource[]>(
-      '/api/learning-resources'
-    );
-    return response.data;
-  },
+  getPage: (
+    after?: string,
+    limit?: number
+  ): Promise<CursorPage<LearningResource>> =>
+    fetchPage<LearningResource>('/api/learning-resources', after, limit),
+
+  getAll: (): Promise<LearningResource[]> =>
+    fetchAllPages<LearningResource>('/api/learning-resources'),
 
   getRandom: async (count: number = 1): Promise<LearningResource[]> => {
     const response = await apiClient.get<LearningResource[]>(
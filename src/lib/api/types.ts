@@ -7,6 +7,24 @@ export interface User {
   createdAt: string;
 }
 
+/** One page of a listing ordered by ID; nextCursor is null on the last page. */
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+export interface RelationshipChange {
+  relationshipId: string;
+  deleted: boolean;
+  relationship: CompetencyRelationship | null;
+}
+
+export interface ChangeFeedPage {
+  changes: RelationshipChange[];
+  cursor: string;
+  hasMore: boolean;
+}
+
 export interface Competency {
   id: string;
   title: string;
@@ -15,10 +33,39 @@ export interface Competency {
   createdAt: string;
 }
 
+export interface PossibleDuplicate {
+  title: string;
+  similarToId: string;
+  similarToTitle: string;
+  similarity: number;
+}
+
 export interface ImportResult {
   imported: number;
   skipped: number;
   errors: string[];
+  possibleDuplicates: PossibleDuplicate[];
+}
+
+export interface ImportJob extends ImportResult {
+  id: string;
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+  rowsProcessed: number;
+  invalid: number;
+  failureReason: string | null;
+  createdAt: string;
+  startedAt: string | null;
+  finishedAt: string | null;
+}
+
+export interface MergeResult {
+  survivorId: string;
+  relationshipsMoved: number;
+  relationshipsCombined: number;
+  relationshipsDropped: number;
+  votesMoved: number;
+  votesDropped: number;
+  resourceLinksMoved: number;
 }
 
 export interface LearningResource {
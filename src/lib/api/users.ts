@@ -1,5 +1,10 @@
-import { apiClient } from './client';
-import type { User, CreateUserRequest, UpdateUserRequest } from './types';
+import { apiClient, fetchAllPages, fetchPage } from './client';
+import type {
+  User,
+  CreateUserRequest,
+  UpdateUserRequest,
+  CursorPage,
+} from './types';
 
 export const usersApi = {
   create: async (data: CreateUserRequest): Promise<User> => {
@@ -31,10 +36,10 @@ export const usersApi = {
     }
   },
 
-  getAll: async (): Promise<User[]> => {
-    const response = await apiClient.get<User[]>('/api/users');
-    return response.data;
-  },
+  getPage: (after?: string, limit?: number): Promise<CursorPage<User>> =>
+    fetchPage<User>('/api/users', after, limit),
+
+  getAll: (): Promise<User[]> => fetchAllPages<User>('/api/users'),
 
   update: async (id: string, data: UpdateUserRequest): Promise<User> => {
     const response = await apiClient.put<User>(`/api/users/${id}`, data);